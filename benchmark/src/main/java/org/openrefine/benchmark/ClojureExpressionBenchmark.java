@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (C) 2020, OpenRefine contributors
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+
+package org.openrefine.benchmark;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.refine.expr.ClojureParser;
+import com.google.refine.expr.Evaluable;
+import com.google.refine.expr.ParsingException;
+import com.google.refine.grel.Parser;
+
+/**
+ * Compares the evaluation of the same expression written in Clojure and in GREL, as well as the cost of parsing a
+ * Clojure expression which was already compiled.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class ClojureExpressionBenchmark {
+
+    static final String CLOJURE_EXPRESSION = "(+ (* value 2) 1)";
+    static final String GREL_EXPRESSION = "value * 2 + 1";
+
+    @State(Scope.Thread)
+    public static class ExecutionPlan {
+
+        public Evaluable clojure;
+        public Evaluable grel;
+        public Properties bindings;
+        public int rowIndex;
+
+        @Setup(Level.Trial)
+        public void setUp() throws ParsingException {
+            clojure = new ClojureParser().parse(CLOJURE_EXPRESSION, "clojure");
+            grel = Parser.grelParser.parse(GREL_EXPRESSION, "grel");
+            bindings = new Properties();
+        }
+
+        Properties nextRow() {
+            rowIndex = (rowIndex + 1) % 1000;
+            bindings.put("rowIndex", rowIndex);
+            bindings.put("value", (long) rowIndex);
+            return bindings;
+        }
+    }
+
+    @Benchmark
+    public void evaluateClojure(ExecutionPlan plan, Blackhole blackhole) {
+        blackhole.consume(plan.clojure.evaluate(plan.nextRow()));
+    }
+
+    @Benchmark
+    public void evaluateGrel(ExecutionPlan plan, Blackhole blackhole) {
+        blackhole.consume(plan.grel.evaluate(plan.nextRow()));
+    }
+
+    @Benchmark
+    public void parseCompiledClojure(Blackhole blackhole) throws ParsingException {
+        blackhole.consume(new ClojureParser().parse(CLOJURE_EXPRESSION, "clojure"));
+    }
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (C) 2020, OpenRefine contributors
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package org.openrefine.benchmark;
+
+import java.io.Serializable;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.base.CharMatcher;
+
+import com.google.refine.importers.ImporterUtilities;
+
+/**
+ * Compares the type guessing of cell values during import with the previous implementation, which relied on the
+ * exceptions thrown by {@link Long#parseLong(String)} and {@link Double#parseDouble(String)}.
+ */
+public class ParseCellValueBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ExecutionPlan {
+
+        @Param({ "1000", "10000" })
+        public int size;
+
+        /**
+         * Percentage of the values which are numbers.
+         */
+        @Param({ "10", "50", "90" })
+        public int numbers;
+
+        String[] values;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random rnd = new Random(42);
+            String[] words = { "Paris", "N/A", "2021-03-04", "12 monkeys", "", "true", "1,234", "john@example.com" };
+            values = new String[size];
+            for (int i = 0; i < size; i++) {
+                if (rnd.nextInt(100) < numbers) {
+                    switch (rnd.nextInt(3)) {
+                        case 0:
+                            values[i] = Long.toString(rnd.nextInt(1000000));
+                            break;
+                        case 1:
+                            values[i] = String.format("%.2f", rnd.nextDouble() * 1000);
+                            break;
+                        default:
+                            values[i] = Double.toString(rnd.nextGaussian() * 1e6);
+                    }
+                } else {
+                    values[i] = words[rnd.nextInt(words.length)];
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+    @Fork(1)
+    public void parseCellValueOld(ExecutionPlan plan, Blackhole blackhole) {
+        for (String value : plan.values) {
+            blackhole.consume(parseCellValueWithExceptions(value));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+    @Fork(1)
+    public void parseCellValueNew(ExecutionPlan plan, Blackhole blackhole) {
+        for (String value : plan.values) {
+            blackhole.consume(ImporterUtilities.parseCellValue(value));
+        }
+    }
+
+    /**
+     * The previous implementation of {@link ImporterUtilities#parseCellValue(String)}.
+     */
+    static Serializable parseCellValueWithExceptions(String text) {
+        if (text.length() > 0) {
+            String text2 = CharMatcher.whitespace().trimFrom(text);
+            if (text2.length() > 0) {
+                try {
+                    return Long.parseLong(text2);
+                } catch (NumberFormatException e) {
+                }
+
+                try {
+                    double d = Double.parseDouble(text2);
+                    if (!Double.isInfinite(d) && !Double.isNaN(d)) {
+                        return d;
+                    }
+                } catch (NumberFormatException e) {
+                }
+            }
+        }
+        return text;
+    }
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (C) 2020, OpenRefine contributors
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package org.openrefine.benchmark;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.refine.expr.functions.ToDate;
+
+/**
+ * Measures toDate() on the date formats commonly found in imported data.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class ToDateBenchmark {
+
+    static Properties bindings = new Properties();
+
+    @State(Scope.Thread)
+    public static class ExecutionPlan {
+
+        public ToDate f;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            f = new ToDate();
+        }
+    }
+
+    @Benchmark
+    public void isoDateTime(ExecutionPlan plan, Blackhole blackhole) {
+        blackhole.consume(plan.f.call(bindings, new Object[] { "2013-06-01T13:12:11Z" }));
+    }
+
+    @Benchmark
+    public void isoLocalDateTime(ExecutionPlan plan, Blackhole blackhole) {
+        blackhole.consume(plan.f.call(bindings, new Object[] { "2013-06-01T13:12:11" }));
+    }
+
+    @Benchmark
+    public void isoDate(ExecutionPlan plan, Blackhole blackhole) {
+        blackhole.consume(plan.f.call(bindings, new Object[] { "2013-06-01" }));
+    }
+
+    @Benchmark
+    public void monthFirstDate(ExecutionPlan plan, Blackhole blackhole) {
+        blackhole.consume(plan.f.call(bindings, new Object[] { "06/01/2013", true }));
+    }
+
+    @Benchmark
+    public void explicitFormat(ExecutionPlan plan, Blackhole blackhole) {
+        blackhole.consume(plan.f.call(bindings, new Object[] { "01-Jun-2013", "dd-MMM-yyyy" }));
+    }
+
+    @Benchmark
+    public void explicitFormatWithLocale(ExecutionPlan plan, Blackhole blackhole) {
+        blackhole.consume(plan.f.call(bindings, new Object[] { "01-juin-2013", "fr", "dd-MMM-yyyy" }));
+    }
+
+    @Benchmark
+    public void notADate(ExecutionPlan plan, Blackhole blackhole) {
+        blackhole.consume(plan.f.call(bindings, new Object[] { "not a date" }));
+    }
+}
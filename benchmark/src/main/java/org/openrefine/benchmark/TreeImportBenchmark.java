@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (C) 2020, OpenRefine contributors
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ ******************************************************************************/
+
+package org.openrefine.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.refine.ProjectMetadata;
+import com.google.refine.importers.JsonImporter;
+import com.google.refine.importers.XmlImporter;
+import com.google.refine.importers.tree.ImportColumnGroup;
+import com.google.refine.importers.tree.TreeImportingParserBase;
+import com.google.refine.importing.ImportingJob;
+import com.google.refine.model.Project;
+import com.google.refine.util.JSONUtilities;
+import com.google.refine.util.ParsingUtilities;
+
+/**
+ * Measures the import of synthetic JSON Lines and XML files by the tree importers, either in full or limited to the
+ * first rows as when previewing an import.
+ */
+public class TreeImportBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ExecutionPlan {
+
+        @Param({ "10000", "100000" })
+        public int records;
+
+        /**
+         * Maximum number of records to import, -1 to import all of them.
+         */
+        @Param({ "-1", "100" })
+        public int limit;
+
+        byte[] jsonLines;
+        byte[] xml;
+        ImportingJob job;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            String[] countries = { "FR", "DE", "US", "IN", "BR" };
+            StringBuilder json = new StringBuilder();
+            StringBuilder xmlBuilder = new StringBuilder("<?xml version=\"1.0\"?><library>");
+            for (int i = 0; i < records; i++) {
+                String country = countries[i % countries.length];
+                json.append("{\"id\": ").append(i)
+                        .append(", \"title\": \"Book title ").append(i)
+                        .append("\", \"country\": \"").append(country)
+                        .append("\", \"authors\": [{\"name\": \"Author ").append(i)
+                        .append("\"}, {\"name\": \"Author ").append(i + 1)
+                        .append("\"}], \"price\": ").append(i % 100).append(".5}\n");
+                xmlBuilder.append("<book id=\"").append(i).append("\">")
+                        .append("<title>Book title ").append(i).append("</title>")
+                        .append("<country>").append(country).append("</country>")
+                        .append("<authors><name>Author ").append(i).append("</name>")
+                        .append("<name>Author ").append(i + 1).append("</name></authors>")
+                        .append("<price>").append(i % 100).append(".5</price>")
+                        .append("</book>");
+            }
+            xmlBuilder.append("</library>");
+            jsonLines = json.toString().getBytes(StandardCharsets.UTF_8);
+            xml = xmlBuilder.toString().getBytes(StandardCharsets.UTF_8);
+
+            File dir = Files.createTempDirectory("tree-import-benchmark").toFile();
+            dir.deleteOnExit();
+            job = new ImportingJob(1, dir);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+    @Fork(1)
+    public Project importJsonLines(ExecutionPlan plan) {
+        return runImport(new JsonImporter(), plan.jsonLines, plan, JsonImporter.ANONYMOUS);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+    @Fork(1)
+    public Project importXml(ExecutionPlan plan) {
+        return runImport(new XmlImporter(), plan.xml, plan, "library", "book");
+    }
+
+    static Project runImport(TreeImportingParserBase importer, byte[] input, ExecutionPlan plan, String... recordPath) {
+        ObjectNode options = ParsingUtilities.mapper.createObjectNode();
+        ArrayNode path = ParsingUtilities.mapper.createArrayNode();
+        for (String segment : recordPath) {
+            JSONUtilities.append(path, segment);
+        }
+        JSONUtilities.safePut(options, "recordPath", path);
+        JSONUtilities.safePut(options, "trimStrings", false);
+        JSONUtilities.safePut(options, "storeEmptyStrings", true);
+        JSONUtilities.safePut(options, "guessCellValueTypes", false);
+
+        Project project = new Project();
+        ImportColumnGroup rootColumnGroup = new ImportColumnGroup();
+        List<Exception> exceptions = new ArrayList<>();
+        importer.parseOneFile(project, new ProjectMetadata(), plan.job, "benchmark", new ByteArrayInputStream(input),
+                rootColumnGroup, plan.limit, options, exceptions);
+        if (!exceptions.isEmpty()) {
+            throw new IllegalStateException(exceptions.get(0));
+        }
+        return project;
+    }
+}
@@ -41,7 +41,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.python.core.CompileMode;
+import org.python.core.CompilerFlags;
 import org.python.core.Py;
+import org.python.core.PyCode;
 import org.python.core.PyException;
 import org.python.core.PyFloat;
 import org.python.core.PyFunction;
@@ -80,11 +85,33 @@ public class JythonEvaluable implements Evaluable {
         };
     }
 
+    /**
+     * Maximum number of compiled expressions kept.
+     */
+    static final int MAX_COMPILED_EXPRESSIONS = 256;
+
     private final String s_functionName;
     private final String s_originalSource;
     private final String s_languagePrefix;
 
-    private static PythonInterpreter _engine;
+    // the definitions of the functions of the expressions, compiled once whatever the number of evaluables and
+    // threads using them
+    private static final Cache<String, PyCode> s_compiledFunctions = CacheBuilder.newBuilder()
+            .maximumSize(MAX_COMPILED_EXPRESSIONS)
+            .build();
+
+    // interpreters are not thread-safe, so each thread evaluating expressions gets its own
+    private static final ThreadLocal<PythonInterpreter> s_engines = ThreadLocal.withInitial(() -> {
+        // TODO: This could potentially be done in the background, after startup, but before the user needs it
+        logger.debug("Invoking constructor for PythonInterpreter()");
+        PythonInterpreter engine = new PythonInterpreter();
+        logger.debug("Done constructor for PythonInterpreter()");
+        return engine;
+    });
+
+    private final PyCode _code;
+    // the function defined in the interpreter of each thread
+    private final ThreadLocal<BoundFunction> _functions = ThreadLocal.withInitial(this::bind);
 
     // FIXME(SM): this initialization logic depends on the fact that the JVM's
     // current working directory is the root of the OpenRefine distributions
@@ -119,14 +146,20 @@ public class JythonEvaluable implements Evaluable {
     public JythonEvaluable(String source, String languagePrefix) {
         s_originalSource = source;
         s_languagePrefix = languagePrefix;
-        if (_engine == null) {
-            // TODO: This could potentially be done in the background, after startup, but before the user needs it
-            logger.debug("Invoking constructor for PythonInterpreter()");
-            _engine = new PythonInterpreter();
-            logger.debug("Done constructor for PythonInterpreter()");
-        }
         this.s_functionName = String.format("__temp_%d__", Math.abs(source.hashCode()));
 
+        PyCode code = s_compiledFunctions.getIfPresent(source);
+        if (code == null) {
+            code = compile(source);
+            s_compiledFunctions.put(source, code);
+        }
+        _code = code;
+    }
+
+    private PyCode compile(String source) {
+        // makes sure Jython is initialized before compiling
+        s_engines.get();
+
         // indent and create a function out of the code
         String[] lines = source.split("\r\n|\r|\n");
 
@@ -139,20 +172,30 @@ public class JythonEvaluable implements Evaluable {
             sb.append(line);
         }
 
-        _engine.exec(sb.toString());
+        return Py.compile_flags(sb.toString(), "<string>", CompileMode.exec, new CompilerFlags());
+    }
+
+    /**
+     * Defines the function in the interpreter of the current thread.
+     */
+    private BoundFunction bind() {
+        PythonInterpreter engine = s_engines.get();
+        engine.exec(_code);
+        return new BoundFunction((PyFunction) engine.get(s_functionName));
     }
 
     @Override
     public Object evaluate(Properties bindings) {
         try {
-            // call the temporary PyFunction directly
-            Object result = ((PyFunction) _engine.get(s_functionName)).__call__(
+            BoundFunction function = _functions.get();
+            // call the PyFunction directly
+            Object result = function.function.__call__(
 
                     new PyObject[] {
                             getValue("value", bindings),
-                            getObject("cell", bindings),
-                            getObject("cells", bindings),
-                            getObject("row", bindings),
+                            getObject(function.cell, "cell", bindings),
+                            getObject(function.cells, "cells", bindings),
+                            getObject(function.row, "row", bindings),
                             getValue("rowIndex", bindings),
                             getValue("value1", bindings),
                             getValue("value2", bindings)
@@ -164,8 +207,9 @@ public class JythonEvaluable implements Evaluable {
         }
     }
 
-    private JythonHasFieldsWrapper getObject(String key, Properties bindings) {
-        return new JythonHasFieldsWrapper((HasFields) bindings.get(key), bindings);
+    private JythonHasFieldsWrapper getObject(JythonHasFieldsWrapper wrapper, String key, Properties bindings) {
+        wrapper.wrap((HasFields) bindings.get(key), bindings);
+        return wrapper;
     }
 
     private PyObject getValue(String key, Properties bindings) {
@@ -239,4 +283,20 @@ public class JythonEvaluable implements Evaluable {
     public String getLanguagePrefix() {
         return s_languagePrefix;
     }
+
+    /**
+     * The function of an expression in the interpreter of a thread, with the wrappers of the objects passed to it,
+     * which are reused from one row to the next.
+     */
+    private static class BoundFunction {
+
+        final PyFunction function;
+        final JythonHasFieldsWrapper cell = new JythonHasFieldsWrapper(null, null);
+        final JythonHasFieldsWrapper cells = new JythonHasFieldsWrapper(null, null);
+        final JythonHasFieldsWrapper row = new JythonHasFieldsWrapper(null, null);
+
+        BoundFunction(PyFunction function) {
+            this.function = function;
+        }
+    }
 }
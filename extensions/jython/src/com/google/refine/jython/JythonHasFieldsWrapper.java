@@ -53,6 +53,14 @@ public class JythonHasFieldsWrapper extends PyObject {
         _bindings = bindings;
     }
 
+    /**
+     * Makes this wrapper expose another object, so that it can be reused for each row an expression is evaluated on.
+     */
+    void wrap(HasFields obj, Properties bindings) {
+        _obj = obj;
+        _bindings = bindings;
+    }
+
     @Override
     public PyObject __finditem__(PyObject key) {
         String k = (String) key.__tojava__(String.class);
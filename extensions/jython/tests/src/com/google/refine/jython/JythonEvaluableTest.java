@@ -6,7 +6,12 @@ import static org.testng.Assert.assertTrue;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.python.core.PyObject;
 import org.testng.Assert;
@@ -72,6 +77,40 @@ public class JythonEvaluableTest {
         Assert.assertEquals(value1, value2);
     }
 
+    @Test
+    public void testJythonInParallel() throws Exception {
+        Evaluable eval = new JythonEvaluable("a = value * 2\nreturn a + 1");
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                final long value = i;
+                results.add(executor.submit(() -> {
+                    Properties bindings = createBindings();
+                    bindings.put("value", value);
+                    return eval.evaluate(bindings);
+                }));
+            }
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals(results.get(i).get(), 2L * i + 1);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testJythonSameSourceTwice() {
+        Properties props = createBindings();
+
+        Evaluable eval1 = new JythonEvaluable("return value + 1");
+        Evaluable eval2 = new JythonEvaluable("return value + 1");
+
+        Assert.assertEquals(eval1.evaluate(props), 2L);
+        Assert.assertEquals(eval2.evaluate(props), 2L);
+    }
+
     @Test
     public void testJythonDate() {
         Properties bindings = createBindings();
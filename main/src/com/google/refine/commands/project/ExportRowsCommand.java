@@ -33,6 +33,7 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package com.google.refine.commands.project;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
@@ -40,6 +41,7 @@ import java.io.Writer;
 import java.util.Enumeration;
 import java.util.Map;
 import java.util.Properties;
+import java.util.zip.GZIPOutputStream;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -66,6 +68,11 @@ public class ExportRowsCommand extends Command {
 
     private static final Logger logger = LoggerFactory.getLogger("ExportRowsCommand");
 
+    /**
+     * Size of the buffers between the exporters and the response, so that it is written in large chunks.
+     */
+    static final int BUFFER_SIZE = 64 * 1024;
+
     /**
      * This command uses POST but is left CSRF-unprotected as it does not incur a state change. TODO: add CSRF
      * protection anyway, as it does not cost much and could still have prevented an XSS vulnerability
@@ -100,13 +107,20 @@ public class ExportRowsCommand extends Command {
             Engine engine = getEngine(request, project);
             Map<String, String> params = getParameters(request);
 
+            String compression = params.get("compression");
+            boolean gzip = "gzip".equals(compression);
+            if (compression != null && !compression.isEmpty() && !gzip) {
+                response.sendError(HttpStatus.SC_BAD_REQUEST, "Unsupported compression: " + compression);
+                return;
+            }
+
             String format = params.get("format");
             Exporter exporter = ExporterRegistry.getExporter(format);
             if (exporter == null) {
                 exporter = new CsvExporter('\t');
             }
 
-            response.setHeader("Content-Type", exporter.getContentType());
+            response.setHeader("Content-Type", gzip ? "application/gzip" : exporter.getContentType());
             // in case the content-type is text/html, to avoid XSS attacks
             response.setHeader("Content-Security-Policy", "script-src 'none'; connect-src 'none'");
 
@@ -114,6 +128,9 @@ public class ExportRowsCommand extends Command {
             if (!"true".equals(preview)) {
                 String path = request.getPathInfo();
                 String filename = path.substring(path.lastIndexOf('/') + 1);
+                if (gzip && !filename.endsWith(".gz")) {
+                    filename += ".gz";
+                }
                 String userAgent = request.getHeader("User-Agent");
                 if (userAgent != null && userAgent.contains("Safari/") && !userAgent.contains("Chrome/")
                         && !userAgent.contains("Chromium/")) {
@@ -136,15 +153,27 @@ public class ExportRowsCommand extends Command {
             if (exporter instanceof WriterExporter) {
                 String encoding = params.get("encoding");
 
-                response.setCharacterEncoding(encoding != null ? encoding : "UTF-8");
-                Writer writer = encoding == null ? response.getWriter() : new OutputStreamWriter(response.getOutputStream(), encoding);
+                Writer writer;
+                if (gzip) {
+                    writer = new OutputStreamWriter(new GZIPOutputStream(response.getOutputStream(), BUFFER_SIZE),
+                            encoding != null ? encoding : "UTF-8");
+                } else {
+                    response.setCharacterEncoding(encoding != null ? encoding : "UTF-8");
+                    writer = encoding == null ? response.getWriter()
+                            : new OutputStreamWriter(response.getOutputStream(), encoding);
+                }
+                writer = new BufferedWriter(writer, BUFFER_SIZE);
 
                 ((WriterExporter) exporter).export(project, params, engine, writer);
                 writer.close();
             } else if (exporter instanceof StreamExporter) {
-                response.setCharacterEncoding("UTF-8");
-
-                OutputStream stream = response.getOutputStream();
+                OutputStream stream;
+                if (gzip) {
+                    stream = new GZIPOutputStream(response.getOutputStream(), BUFFER_SIZE);
+                } else {
+                    response.setCharacterEncoding("UTF-8");
+                    stream = response.getOutputStream();
+                }
                 ((StreamExporter) exporter).export(project, params, engine, stream);
                 stream.close();
             } else {
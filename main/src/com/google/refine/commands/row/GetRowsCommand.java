@@ -34,8 +34,15 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package com.google.refine.commands.row;
 
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -45,14 +52,19 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 import com.google.refine.browsing.Engine;
 import com.google.refine.browsing.Engine.Mode;
-import com.google.refine.browsing.FilteredRecords;
-import com.google.refine.browsing.FilteredRows;
+import com.google.refine.browsing.EngineConfig;
 import com.google.refine.browsing.RecordVisitor;
 import com.google.refine.browsing.RowVisitor;
 import com.google.refine.commands.Command;
+import com.google.refine.history.HistoryEntry;
 import com.google.refine.importing.ImportingJob;
 import com.google.refine.importing.ImportingManager;
 import com.google.refine.model.Cell;
@@ -60,8 +72,8 @@ import com.google.refine.model.Project;
 import com.google.refine.model.Record;
 import com.google.refine.model.Row;
 import com.google.refine.sorting.SortingConfig;
-import com.google.refine.sorting.SortingRecordVisitor;
-import com.google.refine.sorting.SortingRowVisitor;
+import com.google.refine.sorting.SortingPermutation;
+import com.google.refine.util.ParsingUtilities;
 import com.google.refine.util.Pool;
 
 /**
@@ -102,74 +114,6 @@ public class GetRowsCommand extends Command {
         }
     }
 
-    protected static class JsonResult {
-
-        /**
-         * Mode of the engine (row or record based)
-         */
-        @JsonProperty("mode")
-        protected final Mode mode;
-        /**
-         * Rows in the view
-         */
-        @JsonProperty("rows")
-        protected final List<WrappedRow> rows;
-        /**
-         * Number of rows selected by the current filter
-         */
-        @JsonProperty("filtered")
-        protected final int filtered;
-        /**
-         * Total number of rows/records in the unfiltered grid
-         */
-        @JsonProperty("total")
-        protected final int totalCount;
-        /**
-         * Total number of rows in the unfiltered grid (needed to provide a link to the last page)
-         */
-        @JsonProperty("totalRows")
-        protected final int totalRows;
-
-        @JsonProperty("start")
-        @JsonInclude(Include.NON_NULL)
-        protected final Integer start;
-        @JsonProperty("end")
-        @JsonInclude(Include.NON_NULL)
-        protected final Integer end;
-        @JsonProperty("limit")
-        protected final int limit;
-        @JsonProperty("pool")
-        protected final Pool pool;
-
-        /**
-         * The value to use as 'end' when fetching the page before this one. Can be null if there is no such page.
-         */
-        @JsonProperty("previousPageEnd")
-        @JsonInclude(Include.NON_NULL)
-        protected final Integer previousPageEnd;
-        /**
-         * The value to use as 'start' when fetching the page after this one. Can be null if there is no such page.
-         */
-        @JsonProperty("nextPageStart")
-        @JsonInclude(Include.NON_NULL)
-        protected final Integer nextPageStart;
-
-        protected JsonResult(Mode mode, List<WrappedRow> rows, int filtered,
-                int totalCount, int totalRows, int start, int end, int limit, Pool pool, Integer previousPageEnd, Integer nextPageStart) {
-            this.mode = mode;
-            this.rows = rows;
-            this.filtered = filtered;
-            this.totalCount = totalCount;
-            this.totalRows = totalRows;
-            this.start = start == -1 ? null : start;
-            this.end = end == -1 ? null : end;
-            this.limit = limit;
-            this.pool = pool;
-            this.previousPageEnd = previousPageEnd;
-            this.nextPageStart = nextPageStart;
-        }
-    }
-
     /**
      * This command accepts both POST and GET. It is not CSRF-protected as it does not incur any state change.
      */
@@ -188,6 +132,7 @@ public class GetRowsCommand extends Command {
     protected void internalRespond(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
 
+        JsonGenerator generator = null;
         try {
             checkJSONP(request); // We used to support JSONP, but don't anymore
             Project project = null;
@@ -216,10 +161,6 @@ public class GetRowsCommand extends Command {
                 return;
             }
 
-            Pool pool = new Pool();
-
-            RowWritingVisitor rwv = new RowWritingVisitor(start, end, limit);
-
             SortingConfig sortingConfig = null;
             try {
                 String sortingJson = request.getParameter("sorting");
@@ -231,44 +172,34 @@ public class GetRowsCommand extends Command {
                 return;
             }
 
-            if (engine.getMode() == Mode.RowBased) {
-                FilteredRows filteredRows = engine.getAllFilteredRows();
-                RowVisitor visitor = rwv;
-
-                if (sortingConfig != null) {
-                    SortingRowVisitor srv = new SortingRowVisitor(visitor);
-
-                    srv.initializeFromConfig(project, sortingConfig);
-                    if (srv.hasCriteria()) {
-                        visitor = srv;
-                    }
-                }
-                filteredRows.accept(project, visitor);
-            } else {
-                FilteredRecords filteredRecords = engine.getFilteredRecords();
-                RecordVisitor visitor = rwv;
-
-                if (sortingConfig != null) {
-                    SortingRecordVisitor srv = new SortingRecordVisitor(visitor);
-
-                    srv.initializeFromConfig(project, sortingConfig);
-                    if (srv.hasCriteria()) {
-                        visitor = srv;
-                    }
-                }
-                filteredRecords.accept(project, visitor);
+            SortingPermutation permutation = null;
+            if (sortingConfig != null) {
+                permutation = getSortingPermutation(project, engine, getEngineConfig(request), sortingConfig, start, end,
+                        limit);
             }
 
-            // Pool all the recons occurring in the rows seen
-            for (WrappedRow wr : rwv.results) {
-                for (Cell c : wr.row.cells) {
-                    if (c != null && c.recon != null) {
-                        pool.pool(c.recon);
-                    }
-                }
+            response.setCharacterEncoding("UTF-8");
+            response.setHeader("Content-Type", "application/json");
+            Writer w = response.getWriter();
+            generator = jsonWriter.createGenerator(w);
+
+            // Fields are written in the order in which Jackson used to serialize the whole response
+            generator.writeStartObject();
+            generator.writeFieldName("mode");
+            jsonWriter.writeValue(generator, engine.getMode());
+            generator.writeFieldName("rows");
+            generator.writeStartArray();
+
+            RowWritingVisitor rwv = new RowWritingVisitor(start, end, limit, generator);
+            if (permutation != null) {
+                visitSortedRange(project, engine.getMode(), permutation, rwv, start, end, limit);
+            } else if (engine.getMode() == Mode.RowBased) {
+                engine.getAllFilteredRows().accept(project, rwv);
+            } else {
+                engine.getFilteredRecords().accept(project, rwv);
             }
-
-            List<WrappedRow> wrappedRows = rwv.results;
+            rwv.writeBufferedRows();
+            generator.writeEndArray();
 
             // Compute the indices of the previous and next pages
             Integer previousPageEnd = null;
@@ -277,12 +208,12 @@ public class GetRowsCommand extends Command {
                 if (start > 0) {
                     previousPageEnd = start;
                 }
-                if (!wrappedRows.isEmpty() && ((wrappedRows.size() >= limit))) {
-                    nextPageStart = wrappedRows.get(wrappedRows.size() - 1).paginationIndex + 1;
+                if (rwv.resultSize > 0 && rwv.resultSize >= limit) {
+                    nextPageStart = rwv.lastPaginationIndex + 1;
                 }
             } else {
-                if (!wrappedRows.isEmpty() && wrappedRows.get(0).paginationIndex > 0) {
-                    previousPageEnd = wrappedRows.get(0).paginationIndex;
+                if (rwv.resultSize > 0 && rwv.firstPaginationIndex > 0) {
+                    previousPageEnd = rwv.firstPaginationIndex;
                 }
                 nextPageStart = end;
             }
@@ -290,35 +221,219 @@ public class GetRowsCommand extends Command {
                 nextPageStart = null;
             }
 
-            JsonResult result = new JsonResult(engine.getMode(),
-                    rwv.results, rwv.total,
-                    engine.getMode() == Mode.RowBased ? project.rows.size() : project.recordModel.getRecordCount(),
-                    project.rows.size(), start, end, limit, pool, previousPageEnd, nextPageStart);
-
-            respondJSON(response, result);
+            generator.writeNumberField("filtered", rwv.total);
+            generator.writeNumberField("total",
+                    engine.getMode() == Mode.RowBased ? project.rows.size() : project.recordModel.getRecordCount());
+            generator.writeNumberField("totalRows", project.rows.size());
+            if (start != -1) {
+                generator.writeNumberField("start", start);
+            }
+            if (end != -1) {
+                generator.writeNumberField("end", end);
+            }
+            generator.writeNumberField("limit", limit);
+            TokenBuffer pool = serialize(rwv.pool);
+            generator.writeFieldName("pool");
+            pool.serialize(generator);
+            if (previousPageEnd != null) {
+                generator.writeNumberField("previousPageEnd", previousPageEnd);
+            }
+            if (nextPageStart != null) {
+                generator.writeNumberField("nextPageStart", nextPageStart);
+            }
+            generator.writeEndObject();
+            generator.flush();
+            generator.close();
+            w.close();
         } catch (IllegalJsonpException e2) {
             respondNoJsonpException(request, response);
         } catch (Exception e) {
-            respondException(response, e);
+            if (generator == null) {
+                respondException(response, e);
+            } else {
+                respondExceptionInResponse(generator, e);
+            }
+        }
+    }
+
+    /**
+     * Ends a response which has already been partly written with the error, as fields of the same JSON object, since
+     * the client could not parse a second JSON document appended to it. The fields are the same as those written by
+     * {@link #respondException(HttpServletResponse, Exception)}.
+     */
+    protected static void respondExceptionInResponse(JsonGenerator generator, Exception e) throws IOException {
+        logger.warn("Exception caught while writing rows", e);
+        try (StringWriter sw = new StringWriter();
+                PrintWriter pw = new PrintWriter(sw)) {
+            e.printStackTrace(pw);
+            pw.flush();
+            // rows and the pool are written in one go, so the response can only be left in the rows array
+            if (generator.getOutputContext().inArray()) {
+                generator.writeEndArray();
+            }
+            generator.writeStringField("code", "error");
+            generator.writeStringField("message", e.toString());
+            generator.writeStringField("stack", sw.toString());
+            generator.writeEndObject();
+            generator.flush();
+        } finally {
+            generator.close();
         }
     }
 
+    /**
+     * Serializes a value in memory, so that a failure while serializing it does not leave a partly written value in
+     * the response.
+     */
+    protected static TokenBuffer serialize(Object value) throws IOException {
+        TokenBuffer tokens = new TokenBuffer(null, false);
+        jsonWriter.writeValue(tokens, value);
+        return tokens;
+    }
+
+    /**
+     * Retrieves the sorted view of the filtered rows or records, reusing the one computed by a previous request if the
+     * grid, the filters and the sorting criteria have not changed since then. The sorted view might only cover its
+     * first {@link #PARTIAL_SORT_LIMIT} rows (or records), in which case it is replaced by a complete one when a page
+     * beyond them is requested.
+     *
+     * @return the sorted view, or null if the sorting config does not have any criterion
+     */
+    protected static SortingPermutation getSortingPermutation(Project project, Engine engine, EngineConfig engineConfig,
+            SortingConfig sortingConfig, int start, int end, int limit) throws JsonProcessingException {
+        List<HistoryEntry> lastEntries = project.history.getLastPastEntries(1);
+        String key = String.join("\n",
+                Engine.modeToString(engine.getMode()),
+                engineConfig == null ? "" : ParsingUtilities.mapper.writeValueAsString(engineConfig),
+                ParsingUtilities.mapper.writeValueAsString(sortingConfig),
+                Long.toString(lastEntries.isEmpty() ? 0L : lastEntries.get(0).id),
+                Integer.toString(project.rows.size()));
+
+        // Each record spans at least one row, so the number of rows (or records) needed to display the page is at
+        // most the pagination index of its end
+        long needed = start != -1 ? (long) start + limit : end;
+        CachedPermutation cached = sortingPermutations.get(project);
+        int sortLimit;
+        if (cached != null && cached.key.equals(key)) {
+            if (cached.permutation.isComplete() || needed <= cached.permutation.size()) {
+                return cached.permutation;
+            }
+            // the user is browsing further pages with this sort: sort everything once
+            sortLimit = Integer.MAX_VALUE;
+        } else {
+            // first pages are obtained by partial sorting, which is much cheaper than a full sort. The prefix always
+            // has the same length, so that it serves all pages within it rather than only the requested one.
+            sortLimit = needed <= PARTIAL_SORT_LIMIT ? PARTIAL_SORT_LIMIT : Integer.MAX_VALUE;
+        }
+        SortingPermutation permutation = engine.getMode() == Mode.RowBased
+                ? SortingPermutation.ofRows(project, engine.getAllFilteredRows(), sortingConfig, sortLimit)
+                : SortingPermutation.ofRecords(project, engine.getFilteredRecords(), sortingConfig, sortLimit);
+        if (permutation != null) {
+            sortingPermutations.put(project, new CachedPermutation(key, permutation));
+        }
+        return permutation;
+    }
+
+    /**
+     * Visits the requested page of a sorted view, only going through the rows or records in that page.
+     */
+    protected static void visitSortedRange(Project project, Mode mode, SortingPermutation permutation,
+            RowWritingVisitor rwv, int start, int end, int limit) {
+        int from;
+        int to;
+        if (start != -1) {
+            from = permutation.getPosition(start);
+            to = (int) Math.min(permutation.size(), (long) from + limit);
+        } else {
+            to = permutation.getPosition(end);
+            from = Math.max(0, to - limit);
+            // only the rows of the requested page are visited, so none of them needs to be buffered
+            rwv.setExactRange();
+        }
+        if (mode == Mode.RowBased) {
+            permutation.accept(project, (RowVisitor) rwv, from, to);
+        } else {
+            permutation.accept(project, (RecordVisitor) rwv, from, to);
+        }
+        rwv.total = permutation.getTotal();
+        rwv.totalRows = permutation.getRowCount();
+    }
+
+    /**
+     * Writes the parts of the response. Flushing is left to the servlet container, which buffers the output.
+     */
+    static final ObjectWriter jsonWriter = ParsingUtilities.defaultWriter
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    /**
+     * Number of rows (or records) sorted when the requested page is near the beginning of the sorted view. Views with
+     * more rows are only partially sorted until a page beyond this prefix is requested.
+     */
+    static final int PARTIAL_SORT_LIMIT = 10000;
+
+    /**
+     * The latest sorted view computed for each project, along with a key identifying the state of the grid, the
+     * filters and the sorting criteria it was computed from.
+     */
+    static final Map<Project, CachedPermutation> sortingPermutations = Collections.synchronizedMap(new WeakHashMap<>());
+
+    protected static class CachedPermutation {
+
+        final String key;
+        final SortingPermutation permutation;
+
+        CachedPermutation(String key, SortingPermutation permutation) {
+            this.key = key;
+            this.permutation = permutation;
+        }
+    }
+
+    /**
+     * Writes the rows of the requested page as they are visited, along with the recons they reference. When the page
+     * is requested by its end without a sorted view to seek into, rows are buffered until all of them have been visited
+     * since the first ones might still be dropped.
+     */
     static protected class RowWritingVisitor implements RowVisitor, RecordVisitor {
 
         final int start;
         final int end;
         final int limit;
-        public LinkedList<WrappedRow> results;
+        final JsonGenerator generator;
+        protected final LinkedList<WrappedRow> buffer;
+        /**
+         * Whether only the rows of the requested page are visited, in which case they are written as they are visited
+         * even if the page is requested by its end
+         */
+        protected boolean exactRange = false;
+        /**
+         * The recons referenced by the rows written so far
+         */
+        public final Pool pool;
+        /**
+         * Number of rows in the page (written or buffered)
+         */
+        public int resultSize;
         public int resultRecordSize;
+        public int firstPaginationIndex = -1;
+        public int lastPaginationIndex = -1;
 
         public int total;
         public int totalRows;
 
-        public RowWritingVisitor(int start, int end, int limit) {
+        public RowWritingVisitor(int start, int end, int limit, JsonGenerator generator) {
             this.start = start;
             this.end = end;
             this.limit = limit;
-            this.results = new LinkedList<>();
+            this.generator = generator;
+            this.buffer = new LinkedList<>();
+            this.pool = new Pool();
+        }
+
+        /**
+         * Indicates that only the rows of the requested page will be visited.
+         */
+        public void setExactRange() {
+            exactRange = true;
         }
 
         @Override
@@ -338,10 +453,11 @@ public class GetRowsCommand extends Command {
 
         @Override
         public boolean visit(Project project, int rowIndex, int sortedRowIndex, Row row) {
-            if ((start != -1 && sortedRowIndex >= start && results.size() < limit) ||
+            if ((start != -1 && sortedRowIndex >= start && resultSize < limit) ||
                     (end != -1 && sortedRowIndex < end)) {
-                if (results.size() >= limit) {
-                    results.removeFirst();
+                if (resultSize >= limit) {
+                    buffer.removeFirst();
+                    resultSize--;
                 }
                 internalVisit(project, rowIndex, row, sortedRowIndex);
             }
@@ -362,9 +478,11 @@ public class GetRowsCommand extends Command {
                     (end != -1 && sortedStartRowIndex < end)) {
                 if (resultRecordSize >= limit) {
                     // remove the oldest record in the results
-                    results.removeFirst();
-                    while (results.size() > 0 && results.get(0).recordIndex == null) {
-                        results.removeFirst();
+                    buffer.removeFirst();
+                    resultSize--;
+                    while (buffer.size() > 0 && buffer.getFirst().recordIndex == null) {
+                        buffer.removeFirst();
+                        resultSize--;
                     }
                     resultRecordSize--;
                 }
@@ -378,17 +496,52 @@ public class GetRowsCommand extends Command {
         }
 
         protected boolean internalVisit(Project project, int rowIndex, Row row, int paginationIndex) {
-            results.add(new WrappedRow(row, rowIndex, null, paginationIndex));
+            addRow(new WrappedRow(row, rowIndex, null, paginationIndex));
             return false;
         }
 
         protected boolean internalVisit(Project project, Record record, int sortedStartRowIndex) {
             for (int r = record.fromRowIndex; r < record.toRowIndex; r++) {
                 Row row = project.rows.get(r);
-                results.add(new WrappedRow(row, r, r == record.fromRowIndex ? record.recordIndex : null,
+                addRow(new WrappedRow(row, r, r == record.fromRowIndex ? record.recordIndex : null,
                         sortedStartRowIndex + r - record.fromRowIndex));
             }
             return false;
         }
+
+        protected void addRow(WrappedRow wrappedRow) {
+            resultSize++;
+            if (end != -1 && !exactRange) {
+                buffer.add(wrappedRow);
+            } else {
+                writeRow(wrappedRow);
+            }
+        }
+
+        protected void writeRow(WrappedRow wrappedRow) {
+            for (Cell c : wrappedRow.row.cells) {
+                if (c != null && c.recon != null) {
+                    pool.pool(c.recon);
+                }
+            }
+            if (firstPaginationIndex == -1) {
+                firstPaginationIndex = wrappedRow.paginationIndex;
+            }
+            lastPaginationIndex = wrappedRow.paginationIndex;
+            try {
+                serialize(wrappedRow).serialize(generator);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Writes the rows which were kept until all rows were visited.
+         */
+        public void writeBufferedRows() {
+            while (!buffer.isEmpty()) {
+                writeRow(buffer.removeFirst());
+            }
+        }
     }
 }
@@ -35,110 +35,66 @@ package com.google.refine.exporters;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.time.OffsetDateTime;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Properties;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import org.odftoolkit.odfdom.doc.OdfSpreadsheetDocument;
-import org.odftoolkit.odfdom.doc.table.OdfTable;
-import org.odftoolkit.odfdom.doc.table.OdfTableCell;
-import org.odftoolkit.odfdom.doc.table.OdfTableRow;
 
 import com.google.refine.ProjectManager;
 import com.google.refine.browsing.Engine;
 import com.google.refine.model.Project;
-import com.google.refine.util.ParsingUtilities;
 
 public class OdsExporter implements StreamExporter {
 
     @Override
     public String getContentType() {
-        return "application/vnd.oasis.opendocument.spreadsheet";
+        return OdsWriter.MIME_TYPE;
     }
 
     @Override
     public void export(final Project project, Properties params, Engine engine,
             OutputStream outputStream) throws IOException {
 
-        final OdfSpreadsheetDocument odfDoc;
-        try {
-            odfDoc = OdfSpreadsheetDocument.newSpreadsheetDocument();
-        } catch (Exception e) {
-            throw new IOException("Failed to create spreadsheet", e);
-        }
+        // rows are written as they are visited, rather than building the whole document first
+        final OdsWriter writer = new OdsWriter(outputStream);
 
         TabularSerializer serializer = new TabularSerializer() {
 
-            OdfTable table;
-            // int rowCount = 0;
-            int rowBeforeHeader = 0;
-
             @Override
             public void startFile(JsonNode options) {
-                table = OdfTable.newTable(odfDoc);
                 String tableName = ProjectManager.singleton.getProjectMetadata(project.id).getName();
-
-                // the ODF document might already contain some other tables
                 try {
-                    table.setTableName(tableName);
-                } catch (IllegalArgumentException e) {
-                    // there is already a table with that name
-                    table = odfDoc.getTableByName(tableName);
+                    writer.startTable(tableName);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
-                // delete any other table which has another name
-                odfDoc.getTableList().stream()
-                        .filter(table -> !table.getTableName().equals(tableName))
-                        .forEach(OdfTable::remove);
-                rowBeforeHeader = table.getRowCount();
             }
 
             @Override
             public void endFile() {
+                try {
+                    writer.endTable();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
             }
 
             @Override
             public void addRow(List<CellData> cells, boolean isHeader) {
-                OdfTableRow r = table.appendRow();
-                // rowCount++;
-
-                for (int i = 0; i < cells.size(); i++) {
-                    OdfTableCell c = r.getCellByIndex(i); // implicitly creates cell
-                    CellData cellData = cells.get(i);
-
-                    if (cellData != null && cellData.text != null && cellData.value != null) {
-                        Object v = cellData.value;
-                        if (v instanceof Number) {
-                            c.setDoubleValue(((Number) v).doubleValue());
-                        } else if (v instanceof Boolean) {
-                            c.setBooleanValue(((Boolean) v).booleanValue());
-                        } else if (v instanceof OffsetDateTime) {
-                            OffsetDateTime odt = (OffsetDateTime) v;
-                            c.setDateValue(ParsingUtilities.offsetDateTimeToCalendar(odt));
-                        } else {
-                            c.setStringValue(cellData.text);
-                        }
-
-                        if (cellData.link != null) {
-                            // TODO: How do we do output hyperlinks?
-                        }
-                    }
-                }
-                if (rowBeforeHeader != 0) { // avoid the api change the default values again
-                    int nowRows = table.getRowCount();
-                    table.removeRowsByIndex(0, rowBeforeHeader);
-                    rowBeforeHeader -= nowRows - table.getRowCount();
+                try {
+                    writer.addRow(cells);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
             }
         };
 
-        CustomizableTabularExporterUtilities.exportRows(
-                project, engine, params, serializer);
-
         try {
-            odfDoc.save(outputStream);
-        } catch (Exception e) {
-            throw new IOException("Error saving spreadsheet", e);
+            CustomizableTabularExporterUtilities.exportRows(
+                    project, engine, params, serializer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
         outputStream.flush();
     }
@@ -0,0 +1,311 @@
+package com.google.refine.exporters;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.google.refine.exporters.TabularSerializer.CellData;
+
+/**
+ * Writes a spreadsheet with a single table in the OpenDocument format, row by row.
+ * <p>
+ * Unlike a document built with ODFDOM, which keeps a DOM node for each cell until it is saved, the rows are written to
+ * the zip stream as soon as they are added, so that the memory used does not depend on the number of rows.
+ */
+class OdsWriter {
+
+    static final String MIME_TYPE = "application/vnd.oasis.opendocument.spreadsheet";
+
+    static final String OFFICE_NS = "urn:oasis:names:tc:opendocument:xmlns:office:1.0";
+    static final String TABLE_NS = "urn:oasis:names:tc:opendocument:xmlns:table:1.0";
+    static final String TEXT_NS = "urn:oasis:names:tc:opendocument:xmlns:text:1.0";
+    static final String META_NS = "urn:oasis:names:tc:opendocument:xmlns:meta:1.0";
+    static final String MANIFEST_NS = "urn:oasis:names:tc:opendocument:xmlns:manifest:1.0";
+    static final String ODF_VERSION = "1.2";
+
+    private static final XMLOutputFactory factory = XMLOutputFactory.newInstance();
+
+    private final ZipOutputStream zip;
+    private XMLStreamWriter content;
+    private boolean columnsWritten = false;
+
+    OdsWriter(OutputStream outputStream) {
+        this.zip = new ZipOutputStream(outputStream, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the files preceding the rows, and starts the table.
+     */
+    void startTable(String tableName) throws IOException {
+        writeMimeType();
+        writeManifest();
+        writeMeta();
+        writeStyles();
+
+        zip.putNextEntry(new ZipEntry("content.xml"));
+        try {
+            content = createWriter();
+            content.writeStartDocument("UTF-8", "1.0");
+            content.writeStartElement("office", "document-content", OFFICE_NS);
+            content.writeNamespace("office", OFFICE_NS);
+            content.writeNamespace("table", TABLE_NS);
+            content.writeNamespace("text", TEXT_NS);
+            content.writeAttribute("office", OFFICE_NS, "version", ODF_VERSION);
+            content.writeStartElement("office", "body", OFFICE_NS);
+            content.writeStartElement("office", "spreadsheet", OFFICE_NS);
+            content.writeStartElement("table", "table", TABLE_NS);
+            content.writeAttribute("table", TABLE_NS, "name", tableName != null ? cleanText(tableName) : "Sheet1");
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    void addRow(List<CellData> cells) throws IOException {
+        try {
+            writeColumns(cells.size());
+            content.writeStartElement("table", "table-row", TABLE_NS);
+            for (CellData cellData : cells) {
+                writeCell(cellData);
+            }
+            if (cells.isEmpty()) {
+                content.writeEmptyElement("table", "table-cell", TABLE_NS);
+            }
+            content.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Ends the table and the zip file. The underlying stream is not closed.
+     */
+    void endTable() throws IOException {
+        try {
+            if (!columnsWritten) {
+                // a table has at least one column and one row
+                addRow(List.of());
+            }
+            content.writeEndDocument();
+            content.flush();
+            content.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+        zip.closeEntry();
+        zip.finish();
+    }
+
+    private void writeColumns(int count) throws XMLStreamException {
+        if (!columnsWritten) {
+            content.writeEmptyElement("table", "table-column", TABLE_NS);
+            content.writeAttribute("table", TABLE_NS, "number-columns-repeated", Integer.toString(Math.max(count, 1)));
+            columnsWritten = true;
+        }
+    }
+
+    private void writeCell(CellData cellData) throws XMLStreamException {
+        if (cellData == null || cellData.text == null || cellData.value == null) {
+            content.writeEmptyElement("table", "table-cell", TABLE_NS);
+            return;
+        }
+
+        content.writeStartElement("table", "table-cell", TABLE_NS);
+        Object v = cellData.value;
+        if (v instanceof Number && Double.isFinite(((Number) v).doubleValue())) {
+            content.writeAttribute("office", OFFICE_NS, "value-type", "float");
+            content.writeAttribute("office", OFFICE_NS, "value", Double.toString(((Number) v).doubleValue()));
+        } else if (v instanceof Boolean) {
+            content.writeAttribute("office", OFFICE_NS, "value-type", "boolean");
+            content.writeAttribute("office", OFFICE_NS, "boolean-value", v.toString());
+        } else if (v instanceof OffsetDateTime) {
+            String date = ((OffsetDateTime) v).withOffsetSameInstant(ZoneOffset.UTC)
+                    .toLocalDateTime()
+                    .truncatedTo(ChronoUnit.SECONDS)
+                    .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            content.writeAttribute("office", OFFICE_NS, "value-type", "date");
+            content.writeAttribute("office", OFFICE_NS, "date-value", date);
+        } else {
+            content.writeAttribute("office", OFFICE_NS, "value-type", "string");
+        }
+        // TODO: How do we do output hyperlinks?
+
+        content.writeStartElement("text", "p", TEXT_NS);
+        writeParagraphText(cleanText(cellData.text));
+        content.writeEndElement();
+        content.writeEndElement();
+    }
+
+    /**
+     * Writes the text of a paragraph so that readers, which collapse white space in paragraphs, read it unchanged, as
+     * ODFDOM's OdfWhitespaceProcessor did: spaces which do not separate two words are written as text:s elements,
+     * tabs as text:tab and line breaks as text:line-break. Carriage returns are dropped.
+     */
+    private void writeParagraphText(String text) throws XMLStreamException {
+        int written = 0;
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == ' ') {
+                int runEnd = i;
+                while (runEnd < text.length() && text.charAt(runEnd) == ' ') {
+                    runEnd++;
+                }
+                boolean betweenWords = i > 0 && !isWhiteSpace(text.charAt(i - 1))
+                        && runEnd < text.length() && !isWhiteSpace(text.charAt(runEnd));
+                int spaces = runEnd - i;
+                if (!betweenWords || spaces > 1) {
+                    // a single space between two words is kept as is, other spaces would be collapsed
+                    int kept = betweenWords ? 1 : 0;
+                    writeCharacters(text, written, i + kept);
+                    content.writeEmptyElement("text", "s", TEXT_NS);
+                    if (spaces - kept > 1) {
+                        content.writeAttribute("text", TEXT_NS, "c", Integer.toString(spaces - kept));
+                    }
+                    written = runEnd;
+                }
+                i = runEnd;
+            } else if (c == '\n' || c == '\t' || c == '\r') {
+                writeCharacters(text, written, i);
+                if (c == '\n') {
+                    content.writeEmptyElement("text", "line-break", TEXT_NS);
+                } else if (c == '\t') {
+                    content.writeEmptyElement("text", "tab", TEXT_NS);
+                }
+                i++;
+                written = i;
+            } else {
+                i++;
+            }
+        }
+        writeCharacters(text, written, text.length());
+    }
+
+    private void writeCharacters(String text, int start, int end) throws XMLStreamException {
+        if (start < end) {
+            content.writeCharacters(text.substring(start, end));
+        }
+    }
+
+    private static boolean isWhiteSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    private void writeMimeType() throws IOException {
+        // the mimetype must be the first entry of the file, and be stored uncompressed
+        byte[] bytes = MIME_TYPE.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        ZipEntry entry = new ZipEntry("mimetype");
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(bytes.length);
+        entry.setCompressedSize(bytes.length);
+        entry.setCrc(crc.getValue());
+        zip.putNextEntry(entry);
+        zip.write(bytes);
+        zip.closeEntry();
+    }
+
+    private void writeManifest() throws IOException {
+        zip.putNextEntry(new ZipEntry("META-INF/manifest.xml"));
+        try {
+            XMLStreamWriter writer = createWriter();
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement("manifest", "manifest", MANIFEST_NS);
+            writer.writeNamespace("manifest", MANIFEST_NS);
+            writer.writeAttribute("manifest", MANIFEST_NS, "version", ODF_VERSION);
+            writeManifestEntry(writer, "/", MIME_TYPE);
+            writeManifestEntry(writer, "content.xml", "text/xml");
+            writeManifestEntry(writer, "styles.xml", "text/xml");
+            writeManifestEntry(writer, "meta.xml", "text/xml");
+            writer.writeEndDocument();
+            writer.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+        zip.closeEntry();
+    }
+
+    private void writeManifestEntry(XMLStreamWriter writer, String path, String mediaType) throws XMLStreamException {
+        writer.writeEmptyElement("manifest", "file-entry", MANIFEST_NS);
+        writer.writeAttribute("manifest", MANIFEST_NS, "full-path", path);
+        if ("/".equals(path)) {
+            writer.writeAttribute("manifest", MANIFEST_NS, "version", ODF_VERSION);
+        }
+        writer.writeAttribute("manifest", MANIFEST_NS, "media-type", mediaType);
+    }
+
+    private void writeMeta() throws IOException {
+        zip.putNextEntry(new ZipEntry("meta.xml"));
+        try {
+            XMLStreamWriter writer = createWriter();
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement("office", "document-meta", OFFICE_NS);
+            writer.writeNamespace("office", OFFICE_NS);
+            writer.writeNamespace("meta", META_NS);
+            writer.writeAttribute("office", OFFICE_NS, "version", ODF_VERSION);
+            writer.writeStartElement("office", "meta", OFFICE_NS);
+            writer.writeStartElement("meta", "generator", META_NS);
+            writer.writeCharacters("OpenRefine");
+            writer.writeEndDocument();
+            writer.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+        zip.closeEntry();
+    }
+
+    private void writeStyles() throws IOException {
+        zip.putNextEntry(new ZipEntry("styles.xml"));
+        try {
+            XMLStreamWriter writer = createWriter();
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement("office", "document-styles", OFFICE_NS);
+            writer.writeNamespace("office", OFFICE_NS);
+            writer.writeAttribute("office", OFFICE_NS, "version", ODF_VERSION);
+            writer.writeEndDocument();
+            writer.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+        zip.closeEntry();
+    }
+
+    /**
+     * Creates a writer to the current zip entry. Closing it does not close the zip stream.
+     */
+    private XMLStreamWriter createWriter() throws XMLStreamException {
+        return factory.createXMLStreamWriter(new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Removes the characters which are not allowed in XML 1.0 documents.
+     */
+    static String cleanText(String text) {
+        StringBuilder sb = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean allowed = c >= 0x20 ? c != 0xFFFE && c != 0xFFFF : c == '\t' || c == '\n' || c == '\r';
+            if (!allowed && sb == null) {
+                sb = new StringBuilder(text.length());
+                sb.append(text, 0, i);
+            } else if (allowed && sb != null) {
+                sb.append(c);
+            }
+        }
+        return sb == null ? text : sb.toString();
+    }
+}
@@ -30,6 +30,7 @@
 package com.google.refine.exporters.sql;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
@@ -57,8 +58,13 @@ public class SqlExporter implements WriterExporter {
     public static final String JSON_INCLUDE_CONTENT = "includeContent";
     public static final String JSON_TABLE_NAME = "tableName";
 
+    public static final String JSON_INSERT_BATCH_SIZE = "insertBatchSize";
+    /**
+     * Default number of rows inserted by each INSERT statement.
+     */
+    public static final int DEFAULT_INSERT_BATCH_SIZE = 1000;
+
     private List<String> columnNames = new ArrayList<String>();
-    private List<ArrayList<SqlData>> sqlDataList = new ArrayList<ArrayList<SqlData>>();
     private JsonNode sqlOptions;
 
     @Override
@@ -73,8 +79,15 @@ public class SqlExporter implements WriterExporter {
             logger.debug("export sql with params: {}", params);
         }
 
+        // statements are written as rows are visited, so that the script is never held in memory
         TabularSerializer serializer = new TabularSerializer() {
 
+            SqlInsertBuilder insertBuilder;
+            int batchSize;
+            StringBuilder batch = new StringBuilder();
+            int rowsInBatch = 0;
+            boolean failed = false;
+
             @Override
             public void startFile(JsonNode options) {
                 sqlOptions = options;
@@ -83,6 +96,9 @@ public class SqlExporter implements WriterExporter {
 
             @Override
             public void endFile() {
+                if (failed) {
+                    return;
+                }
                 try {
                     if (columnNames.isEmpty()) {
                         logger.error("No Columns Selected!!");
@@ -94,40 +110,13 @@ public class SqlExporter implements WriterExporter {
                         throw new SqlExporterException(NO_OPTIONS_PRESENT_ERROR);
 
                     }
-                    String tableName = ProjectManager.singleton.getProjectMetadata(project.id).getName();
-
-                    String tableNameManual = JSONUtilities.getString(sqlOptions, JSON_TABLE_NAME, null);
-
-                    if (tableNameManual != null) {
-                        tableName = tableNameManual;
-                    }
-
-                    SqlCreateBuilder createBuilder = new SqlCreateBuilder(tableName, columnNames, sqlOptions);
-                    SqlInsertBuilder insertBuilder = new SqlInsertBuilder(tableName, columnNames, sqlDataList,
-                            sqlOptions);
-
-                    final boolean includeStructure = sqlOptions == null ? true
-                            : JSONUtilities.getBoolean(sqlOptions, JSON_INCLUDE_STRUCTURE, true);
-
-                    final boolean includeContent = sqlOptions == null ? true
-                            : JSONUtilities.getBoolean(sqlOptions, JSON_INCLUDE_CONTENT, true);
-
-                    if (includeStructure) {
-                        String sqlCreateStr = createBuilder.getCreateSQL();
-                        writer.write(sqlCreateStr);
-                    }
-
-                    if (includeContent) {
-                        String sqlInsertStr = insertBuilder.getInsertSQL();
-                        writer.write(sqlInsertStr);
-                    }
+                    writeBatch();
 
                     if (logger.isDebugEnabled()) {
                         logger.debug("sqlOptions::{}", sqlOptions);
                     }
 
                     columnNames = new ArrayList<String>();
-                    sqlDataList = new ArrayList<ArrayList<SqlData>>();
 
                 } catch (IOException e) {
                     e.printStackTrace();
@@ -136,33 +125,97 @@ public class SqlExporter implements WriterExporter {
 
             @Override
             public void addRow(List<CellData> cells, boolean isHeader) {
+                try {
+                    if (isHeader) {
+                        for (CellData cellData : cells) {
+                            columnNames.add(cellData.text);
+                        }
+                        writeStructure();
 
-                if (isHeader) {
-                    for (CellData cellData : cells) {
-                        columnNames.add(cellData.text);
-                    }
+                    } else if (insertBuilder != null) {
+                        ArrayList<SqlData> values = new ArrayList<>(cells.size());
+                        for (CellData cellData : cells) {
+
+                            if (cellData != null) {
+                                if (cellData.text == null || cellData.text.isEmpty()) {
+                                    values.add(new SqlData(cellData.columnName, "", ""));
+                                } else {
+                                    values.add(new SqlData(cellData.columnName, cellData.value, cellData.text));
+                                }
 
-                } else {
-                    ArrayList<SqlData> values = new ArrayList<>();
-                    for (CellData cellData : cells) {
-
-                        if (cellData != null) {
-                            if (cellData.text == null || cellData.text.isEmpty()) {
-                                values.add(new SqlData(cellData.columnName, "", ""));
-                            } else {
-                                values.add(new SqlData(cellData.columnName, cellData.value, cellData.text));
                             }
 
                         }
-
+                        addValues(values);
                     }
-                    sqlDataList.add(values);
+                } catch (IOException e) {
+                    failed = true;
+                    throw new UncheckedIOException(e);
+                } catch (RuntimeException e) {
+                    failed = true;
+                    throw e;
+                }
+            }
+
+            /**
+             * Writes the CREATE statement if needed, and prepares the INSERT statements once the columns are known.
+             */
+            private void writeStructure() throws IOException {
+                if (columnNames.isEmpty() || sqlOptions == null) {
+                    // reported at the end of the export
+                    return;
+                }
+                String tableName = ProjectManager.singleton.getProjectMetadata(project.id).getName();
+
+                String tableNameManual = JSONUtilities.getString(sqlOptions, JSON_TABLE_NAME, null);
+
+                if (tableNameManual != null) {
+                    tableName = tableNameManual;
+                }
+
+                final boolean includeStructure = JSONUtilities.getBoolean(sqlOptions, JSON_INCLUDE_STRUCTURE, true);
+
+                final boolean includeContent = JSONUtilities.getBoolean(sqlOptions, JSON_INCLUDE_CONTENT, true);
+
+                if (includeStructure) {
+                    SqlCreateBuilder createBuilder = new SqlCreateBuilder(tableName, columnNames, sqlOptions);
+                    writer.write(createBuilder.getCreateSQL());
                 }
 
+                if (includeContent) {
+                    insertBuilder = new SqlInsertBuilder(tableName, columnNames, sqlOptions);
+                    batchSize = JSONUtilities.getInt(sqlOptions, JSON_INSERT_BATCH_SIZE, DEFAULT_INSERT_BATCH_SIZE);
+                }
+            }
+
+            private void addValues(List<SqlData> values) throws IOException {
+                if (rowsInBatch == 0) {
+                    batch.append(insertBuilder.getInsertStatementStart());
+                } else {
+                    batch.append(",\n");
+                }
+                insertBuilder.appendRowValues(values, batch);
+                rowsInBatch++;
+                if (batchSize > 0 && rowsInBatch >= batchSize) {
+                    writeBatch();
+                }
+            }
+
+            private void writeBatch() throws IOException {
+                if (rowsInBatch > 0) {
+                    batch.append(";\n");
+                    writer.append(batch);
+                    batch.setLength(0);
+                    rowsInBatch = 0;
+                }
             }
         };
 
-        CustomizableTabularExporterUtilities.exportRows(project, engine, params, serializer);
+        try {
+            CustomizableTabularExporterUtilities.exportRows(project, engine, params, serializer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
     }
 
 }
@@ -54,6 +54,10 @@ public class SqlInsertBuilder {
 
     private JsonNode options;
 
+    private Map<String, ColumnFormat> columnFormats = new HashMap<>();
+
+    private boolean nullValueNull;
+
     /**
      *
      * @param table
@@ -62,146 +66,170 @@ public class SqlInsertBuilder {
      * @param sqlOptions
      */
     public SqlInsertBuilder(String table, List<String> columns, List<ArrayList<SqlData>> rows, JsonNode sqlOptions) {
+        this(table, columns, sqlOptions);
+        this.sqlDataList = rows;
+    }
+
+    /**
+     * Creates a builder for rows which are passed one at a time to {@link #appendRowValues(List, StringBuilder)}.
+     *
+     * @param table
+     * @param columns
+     * @param sqlOptions
+     */
+    public SqlInsertBuilder(String table, List<String> columns, JsonNode sqlOptions) {
         this.table = table;
         this.columns = columns;
-        this.sqlDataList = rows;
+        this.sqlDataList = new ArrayList<>();
         this.options = sqlOptions;
-        // logger.info("Column Size:{}", columns.size());
 
+        // the options of each column are looked up once rather than for each value
+        List<JsonNode> colOptionArray = options == null ? null : JSONUtilities.getArray(options, "columns");
+        if (colOptionArray != null) {
+            colOptionArray.forEach(json -> {
+                columnFormats.put(JSONUtilities.getString(json, "name", null), new ColumnFormat(json));
+            });
+        }
+        nullValueNull = options == null ? true : JSONUtilities.getBoolean(options, "convertNulltoEmptyString", true);
     }
 
     /**
      * Get Insert Sql
      *
-     * @return
+     * @return a single INSERT statement for all the rows, terminated by a semicolon
      */
     public String getInsertSQL() {
         if (logger.isDebugEnabled()) {
             logger.debug("Insert SQL with columns: {}", columns);
         }
 
-        List<JsonNode> colOptionArray = options == null ? null : JSONUtilities.getArray(options, "columns");
-        Map<String, JsonNode> colOptionsMap = new HashMap<>();
-        if (colOptionArray != null) {
-            colOptionArray.forEach(json -> {
-                colOptionsMap.put(JSONUtilities.getString(json, "name", null), json);
-            });
+        StringBuilder sql = new StringBuilder(getInsertStatementStart());
+        for (int i = 0; i < sqlDataList.size(); i++) {
+            if (i > 0) {
+                sql.append(",\n");
+            }
+            appendRowValues(sqlDataList.get(i), sql);
         }
+        sql.append(";\n");
 
-        boolean nullValueNull = options == null ? true : JSONUtilities.getBoolean(options, "convertNulltoEmptyString", true);
-
-        StringBuffer values = new StringBuffer();
-
-        int idx = 0;
-        for (ArrayList<SqlData> sqlRow : sqlDataList) {
-            StringBuilder rowValue = new StringBuilder();
-
-            // int fieldCount = 0;
-            for (SqlData val : sqlRow) {
+        String sqlString = sql.toString();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Insert Statement Generated Successfully...{}", sqlString);
+        }
+        return sqlString;
+    }
 
-                JsonNode jsonOb = colOptionsMap.get(val.getColumnName());
-                String type = JSONUtilities.getString(jsonOb, "type", null);
+    /**
+     * @return the start of an INSERT statement, up to the list of values
+     */
+    public String getInsertStatementStart() {
+        boolean trimColNames = options == null ? false : JSONUtilities.getBoolean(options, "trimColumnNames", false);
+        String colNamesWithSep;
+        if (trimColNames) {
+            colNamesWithSep = columns.stream()
+                    .map(col -> SqlCreateBuilder.addQuotes(col.replaceAll("[^a-zA-Z0-9_]", "_")))
+                    .collect(Collectors.joining(","));
+        } else {
+            colNamesWithSep = columns.stream().map(col -> SqlCreateBuilder.addQuotes(col))
+                    .collect(Collectors.joining(","));
+        }
 
-                String defaultValue = JSONUtilities.getString(jsonOb, "defaultValue", null);
+        return "INSERT INTO " + table + " (" + colNamesWithSep + ") VALUES \n";
+    }
 
-                boolean allowNullChkBox = JSONUtilities.getBoolean(jsonOb, "defaultValue", true);
-                ;
-                if (type == null) {
-                    type = SqlData.SQL_TYPE_VARCHAR;
-                }
-                // Character Types
-                if (type.equals(SqlData.SQL_TYPE_VARCHAR) || type.equals(SqlData.SQL_TYPE_CHAR) || type.equals(SqlData.SQL_TYPE_TEXT)) {
+    /**
+     * Appends the values of a row, as a parenthesized tuple, to an INSERT statement.
+     *
+     * @param sqlRow
+     * @param sql
+     */
+    public void appendRowValues(List<SqlData> sqlRow, StringBuilder sql) {
+        sql.append("( ");
+        boolean first = true;
+        for (SqlData val : sqlRow) {
+            if (!first) {
+                sql.append(",");
+            }
+            first = false;
 
-                    if ((val.getText() == null || val.getText().isEmpty())) {
+            ColumnFormat format = columnFormats.getOrDefault(val.getColumnName(), ColumnFormat.DEFAULT);
+            String type = format.type;
+            String defaultValue = format.defaultValue;
+            boolean allowNullChkBox = format.allowNull;
+            String text = val.getText();
 
-                        handleNullField(allowNullChkBox, defaultValue, nullValueNull, val.getColumnName(), rowValue, true);
+            // Character Types
+            if (type.equals(SqlData.SQL_TYPE_VARCHAR) || type.equals(SqlData.SQL_TYPE_CHAR)
+                    || type.equals(SqlData.SQL_TYPE_TEXT)) {
 
-                    } else {
-                        rowValue.append("'" + val.getText().replace("'", "''") + "'");
+                if ((text == null || text.isEmpty())) {
 
-                    }
+                    handleNullField(allowNullChkBox, defaultValue, nullValueNull, val.getColumnName(), sql, true);
 
-                } else if (type.equals(SqlData.SQL_TYPE_INT) || type.equals(SqlData.SQL_TYPE_INTEGER)
-                        || type.equals(SqlData.SQL_TYPE_NUMERIC)) {// Numeric Types : INT, NUMERIC
+                } else {
+                    sql.append('\'').append(text.replace("'", "''")).append('\'');
 
-                    if ((val.getText() == null || val.getText().isEmpty())) {
+                }
 
-                        handleNullField(allowNullChkBox, defaultValue, nullValueNull, val.getColumnName(), rowValue, false);
+            } else if (type.equals(SqlData.SQL_TYPE_INT) || type.equals(SqlData.SQL_TYPE_INTEGER)
+                    || type.equals(SqlData.SQL_TYPE_NUMERIC)) {// Numeric Types : INT, NUMERIC
 
-                    } else {// value not null
+                if ((text == null || text.isEmpty())) {
 
-                        if (type.equals(SqlData.SQL_TYPE_NUMERIC)) {// test if number is numeric (decimal(p,s) number is
-                            // valid)
+                    handleNullField(allowNullChkBox, defaultValue, nullValueNull, val.getColumnName(), sql, false);
 
-                            if (!NumberUtils.isCreatable(val.getText())) {
-                                throw new SqlExporterException(
-                                        val.getText() + " is not compatible with column type :" + type);
-                            }
-                        } else {
+                } else {// value not null
 
-                            try { // number should be an integer
-                                Integer.parseInt(val.getText());
-                            } catch (NumberFormatException nfe) {
-                                throw new SqlExporterException(
-                                        val.getText() + " is not compatible with column type :" + type);
-                            }
+                    if (type.equals(SqlData.SQL_TYPE_NUMERIC)) {// test if number is numeric (decimal(p,s) number is
+                        // valid)
 
+                        if (!NumberUtils.isCreatable(text)) {
+                            throw new SqlExporterException(
+                                    text + " is not compatible with column type :" + type);
                         }
+                    } else {
 
-                        rowValue.append(val.getText());
-
-                    }
+                        try { // number should be an integer
+                            Integer.parseInt(text);
+                        } catch (NumberFormatException nfe) {
+                            throw new SqlExporterException(
+                                    text + " is not compatible with column type :" + type);
+                        }
 
-                } else if (type.equals(SqlData.SQL_TYPE_DATE) || type.equals(SqlData.SQL_TYPE_TIMESTAMP)) {
-                    if ((val.getText() == null || val.getText().isEmpty())) {
-                        handleNullField(allowNullChkBox, defaultValue, nullValueNull, val.getColumnName(), rowValue, true);
-                    } else {
-                        rowValue.append("'" + val.getText() + "'");
                     }
-                }
-
-                rowValue.append(",");
 
-            }
+                    sql.append(text);
 
-            idx++;
-            String rowValString = rowValue.toString();
-//            logger.info("rowValString::" + rowValString);
-            rowValString = rowValString.substring(0, rowValString.length() - 1);
+                }
 
-            values.append("( ");
-            values.append(rowValString);
-            values.append(" )");
-            if (idx < sqlDataList.size()) {
-                values.append(",");
+            } else if (type.equals(SqlData.SQL_TYPE_DATE) || type.equals(SqlData.SQL_TYPE_TIMESTAMP)) {
+                if ((text == null || text.isEmpty())) {
+                    handleNullField(allowNullChkBox, defaultValue, nullValueNull, val.getColumnName(), sql, true);
+                } else {
+                    sql.append('\'').append(text).append('\'');
+                }
             }
-            values.append("\n");
-
-        }
-
-        boolean trimColNames = options == null ? false : JSONUtilities.getBoolean(options, "trimColumnNames", false);
-        String colNamesWithSep = columns.stream().map(col -> SqlCreateBuilder.addQuotes(col.replaceAll("[^a-zA-Z0-9_]", "_")))
-                .collect(Collectors.joining(","));
-        if (!trimColNames) {
-            colNamesWithSep = columns.stream().map(col -> SqlCreateBuilder.addQuotes(col)).collect(Collectors.joining(","));
         }
+        sql.append(" )");
+    }
 
-        String valuesString = values.toString();
-        valuesString = valuesString.substring(0, Integer.max(0, valuesString.length() - 1));
+    /**
+     * The options of a column which determine how its values are written.
+     */
+    private static class ColumnFormat {
 
-        StringBuffer sql = new StringBuffer();
+        static final ColumnFormat DEFAULT = new ColumnFormat(null);
 
-        sql.append("INSERT INTO ").append(table);
-        sql.append(" (");
-        sql.append(colNamesWithSep);
-        sql.append(") VALUES ").append("\n");
-        sql.append(valuesString);
+        final String type;
+        final String defaultValue;
+        final boolean allowNull;
 
-        String sqlString = sql.toString();
-        if (logger.isDebugEnabled()) {
-            logger.debug("Insert Statement Generated Successfully...{}", sqlString);
+        ColumnFormat(JsonNode jsonOb) {
+            String type = jsonOb == null ? null : JSONUtilities.getString(jsonOb, "type", null);
+            this.type = type == null ? SqlData.SQL_TYPE_VARCHAR : type;
+            this.defaultValue = jsonOb == null ? null : JSONUtilities.getString(jsonOb, "defaultValue", null);
+            this.allowNull = jsonOb == null ? true : JSONUtilities.getBoolean(jsonOb, "defaultValue", true);
         }
-        return sqlString;
     }
 
     /**
@@ -224,7 +252,7 @@ public class SqlInsertBuilder {
         if (allowNullChkBox) {// cell nullable
             if (defaultValue != null && !defaultValue.isEmpty()) {
                 if (quote) {
-                    rowValue.append("'" + defaultValue + "'");
+                    rowValue.append('\'').append(defaultValue).append('\'');
                 } else {
                     rowValue.append(defaultValue);
                 }
@@ -242,7 +270,7 @@ public class SqlInsertBuilder {
         } else {
             if (defaultValue != null && !defaultValue.isEmpty()) {
                 if (quote) {
-                    rowValue.append("'" + defaultValue + "'");
+                    rowValue.append('\'').append(defaultValue).append('\'');
                 } else {
                     rowValue.append(defaultValue);
                 }
@@ -38,18 +38,39 @@ import java.util.Properties;
 
 import clojure.lang.IFn;
 import clojure.lang.RT;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 /**
  * A parser for expressions written in Clojure.
+ * <p>
+ * Each expression is compiled once into a Clojure function, which is kept in a cache keyed by the source of the
+ * expression, so that parsing the same expression again (for a facet, a preview, or each evaluation of an operation)
+ * does not go through the Clojure compiler again. Compiled functions are thread-safe and can be shared.
  */
 public class ClojureParser implements LanguageSpecificParser {
 
+    static final int MAX_COMPILED_EXPRESSIONS = 256;
+
+    static private final Cache<String, IFn> s_compiledFunctions = CacheBuilder.newBuilder()
+            .maximumSize(MAX_COMPILED_EXPRESSIONS)
+            .build();
+
     @Override
     public Evaluable parse(String source, String languagePrefix) throws ParsingException {
+        IFn fn = s_compiledFunctions.getIfPresent(source);
+        if (fn == null) {
+            fn = compile(source);
+            s_compiledFunctions.put(source, fn);
+        }
+        return new ClojureEvaluable(fn, source, languagePrefix);
+    }
+
+    static private IFn compile(String source) throws ParsingException {
         try {
 //                    RT.load("clojure/core"); // Make sure RT is initialized
             Object foo = RT.CURRENT_NS; // Make sure RT is initialized
-            IFn fn = (IFn) clojure.lang.Compiler.load(new StringReader(
+            return (IFn) clojure.lang.Compiler.load(new StringReader(
                     "(fn [value cell cells row rowIndex value1 value2] " + source + ")"));
 
             // TODO: We should to switch from using Compiler.load
@@ -57,44 +78,48 @@ public class ClojureParser implements LanguageSpecificParser {
 //                    Object code = CLOJURE_READ_STRING.invoke(
 //                            "(fn [value cell cells row rowIndex] " + s + ")"
 //                            );
-
-            return new Evaluable() {
-
-                private IFn _fn;
-
-                public Evaluable init(IFn fn) {
-                    _fn = fn;
-                    return this;
-                }
-
-                @Override
-                public Object evaluate(Properties bindings) {
-                    try {
-                        return _fn.invoke(
-                                bindings.get("value"),
-                                bindings.get("cell"),
-                                bindings.get("cells"),
-                                bindings.get("row"),
-                                bindings.get("rowIndex"),
-                                bindings.get("value1"),
-                                bindings.get("value2"));
-                    } catch (Exception e) {
-                        return new EvalError(e.getMessage());
-                    }
-                }
-
-                @Override
-                public String getSource() {
-                    return source;
-                }
-
-                @Override
-                public String getLanguagePrefix() {
-                    return languagePrefix;
-                }
-            }.init(fn);
         } catch (Exception e) {
             throw new ParsingException(e.getMessage());
         }
     }
+
+    static private class ClojureEvaluable implements Evaluable {
+
+        private final IFn _fn;
+        private final String _source;
+        private final String _languagePrefix;
+
+        ClojureEvaluable(IFn fn, String source, String languagePrefix) {
+            _fn = fn;
+            _source = source;
+            _languagePrefix = languagePrefix;
+        }
+
+        @Override
+        public Object evaluate(Properties bindings) {
+            try {
+                // the fixed arity avoids building an argument array or sequence for each row
+                return _fn.invoke(
+                        bindings.get("value"),
+                        bindings.get("cell"),
+                        bindings.get("cells"),
+                        bindings.get("row"),
+                        bindings.get("rowIndex"),
+                        bindings.get("value1"),
+                        bindings.get("value2"));
+            } catch (Exception e) {
+                return new EvalError(e.getMessage());
+            }
+        }
+
+        @Override
+        public String getSource() {
+            return _source;
+        }
+
+        @Override
+        public String getLanguagePrefix() {
+            return _languagePrefix;
+        }
+    }
 }
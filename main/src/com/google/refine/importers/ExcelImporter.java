@@ -38,15 +38,17 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ooxml.POIXMLException;
-import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.formula.ConditionalFormattingEvaluator;
@@ -94,9 +96,21 @@ public class ExcelImporter extends TabularImportingParserBase {
                 ObjectNode fileRecord = fileRecords.get(index);
                 File file = ImportingUtilities.getFile(job, fileRecord);
 
+                if (FileMagic.valueOf(file) == FileMagic.OOXML) {
+                    // stream the sheets instead of loading the workbook, which can be larger than the heap
+                    try (XlsxStreamingReader workbook = new XlsxStreamingReader(file)) {
+                        List<String> sheetNames = workbook.getSheetNames();
+                        for (int i = 0; i < sheetNames.size(); i++) {
+                            JSONUtilities.append(sheetRecords,
+                                    createSheetRecord(file, i, sheetNames.get(i), workbook.countRows(i)));
+                        }
+                    }
+                    continue;
+                }
+
                 Workbook wb = null;
                 try {
-                    wb = FileMagic.valueOf(file) == FileMagic.OOXML ? new XSSFWorkbook(file) : new HSSFWorkbook(new POIFSFileSystem(file));
+                    wb = new HSSFWorkbook(new POIFSFileSystem(file));
                     // TODO: Implement support for conditional formatting so that cells are rendered the same as in
                     // Excel
 //                    cfEvaluator = new ConditionalFormattingEvaluator(wb,)
@@ -104,17 +118,7 @@ public class ExcelImporter extends TabularImportingParserBase {
                     for (int i = 0; i < sheetCount; i++) {
                         Sheet sheet = wb.getSheetAt(i);
                         int rows = sheet.getLastRowNum() - sheet.getFirstRowNum() + 1;
-
-                        ObjectNode sheetRecord = ParsingUtilities.mapper.createObjectNode();
-                        JSONUtilities.safePut(sheetRecord, "name", file.getName() + "#" + sheet.getSheetName());
-                        JSONUtilities.safePut(sheetRecord, "fileNameAndSheetIndex", file.getName() + "#" + i);
-                        JSONUtilities.safePut(sheetRecord, "rows", rows);
-                        if (rows > 1) {
-                            JSONUtilities.safePut(sheetRecord, "selected", true);
-                        } else {
-                            JSONUtilities.safePut(sheetRecord, "selected", false);
-                        }
-                        JSONUtilities.append(sheetRecords, sheetRecord);
+                        JSONUtilities.append(sheetRecords, createSheetRecord(file, i, sheet.getSheetName(), rows));
                     }
                 } finally {
                     if (wb != null) {
@@ -128,7 +132,7 @@ public class ExcelImporter extends TabularImportingParserBase {
         } catch (IllegalArgumentException e) {
             JSONUtilities.safePut(options, "error", e.toString());
             logger.error("Error generating parser UI initialization data for Excel file (only Excel 97 & later supported)", e);
-        } catch (POIXMLException | InvalidFormatException e) {
+        } catch (POIXMLException e) {
             JSONUtilities.safePut(options, "error", e.toString());
             logger.error("Error generating parser UI initialization data for Excel file - invalid XML", e);
         }
@@ -136,6 +140,19 @@ public class ExcelImporter extends TabularImportingParserBase {
         return options;
     }
 
+    private static ObjectNode createSheetRecord(File file, int index, String sheetName, int rows) {
+        ObjectNode sheetRecord = ParsingUtilities.mapper.createObjectNode();
+        JSONUtilities.safePut(sheetRecord, "name", file.getName() + "#" + sheetName);
+        JSONUtilities.safePut(sheetRecord, "fileNameAndSheetIndex", file.getName() + "#" + index);
+        JSONUtilities.safePut(sheetRecord, "rows", rows);
+        if (rows > 1) {
+            JSONUtilities.safePut(sheetRecord, "selected", true);
+        } else {
+            JSONUtilities.safePut(sheetRecord, "selected", false);
+        }
+        return sheetRecord;
+    }
+
     @Override
     public void parseOneFile(
             Project project,
@@ -151,9 +168,21 @@ public class ExcelImporter extends TabularImportingParserBase {
             inputStream = new BufferedInputStream(inputStream);
         }
 
+        final boolean forceText;
+        if (options.get("forceText") != null) {
+            forceText = options.get("forceText").asBoolean(false);
+        } else {
+            forceText = false;
+        }
+
         try {
-            wb = FileMagic.valueOf(inputStream) == FileMagic.OOXML ? new XSSFWorkbook(inputStream)
-                    : new HSSFWorkbook(new POIFSFileSystem(inputStream));
+            boolean ooxml = FileMagic.valueOf(inputStream) == FileMagic.OOXML;
+            // forcing cells to text renders formula cells as their formula, which needs the whole workbook
+            if (ooxml && !forceText) {
+                parseXlsx(project, metadata, job, fileSource, inputStream, limit, options, exceptions);
+                return;
+            }
+            wb = ooxml ? new XSSFWorkbook(inputStream) : new HSSFWorkbook(new POIFSFileSystem(inputStream));
         } catch (IOException e) {
             exceptions.add(new ImportException(
                     "Attempted to parse as an Excel file but failed. " +
@@ -183,12 +212,6 @@ public class ExcelImporter extends TabularImportingParserBase {
             return;
         }
 
-        final boolean forceText;
-        if (options.get("forceText") != null) {
-            forceText = options.get("forceText").asBoolean(false);
-        } else {
-            forceText = false;
-        }
         ArrayNode sheets = (ArrayNode) options.get("sheets");
 
         for (int i = 0; i < sheets.size(); i++) {
@@ -245,6 +268,76 @@ public class ExcelImporter extends TabularImportingParserBase {
         }
     }
 
+    /**
+     * Reads the selected sheets of an XLSX file as streams, so that only the rows being imported are held in memory,
+     * and only the rows needed are read when the number of rows is limited. The workbook is read from the file of the
+     * job when it can be found, without copying it.
+     */
+    private void parseXlsx(
+            Project project,
+            ProjectMetadata metadata,
+            ImportingJob job,
+            String fileSource,
+            InputStream inputStream,
+            int limit,
+            ObjectNode options,
+            List<Exception> exceptions) throws IOException {
+        // The parts of the workbook are decompressed as they are read from a file, rather than all upfront
+        File file = getRawDataFile(job, fileSource);
+        File tempFile = null;
+        if (file == null) {
+            // not a file of the job: spool the stream to a temporary file
+            tempFile = File.createTempFile("excel-import", ".xlsx", job.getRawDataDir());
+            Files.copy(inputStream, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            file = tempFile;
+        }
+        try (XlsxStreamingReader workbook = new XlsxStreamingReader(file)) {
+            ArrayNode sheets = (ArrayNode) options.get("sheets");
+            for (int i = 0; i < sheets.size(); i++) {
+                ObjectNode sheetObj = (ObjectNode) sheets.get(i);
+                // value is fileName#sheetIndex
+                String[] fileNameAndSheetIndex = sheetObj.get("fileNameAndSheetIndex").asText().split("#");
+                if (!fileNameAndSheetIndex[0].equals(fileSource)) {
+                    continue;
+                }
+
+                try (XlsxStreamingReader.SheetReader dataReader = workbook
+                        .openSheet(Integer.parseInt(fileNameAndSheetIndex[1]))) {
+                    TabularImportingParserBase.readTable(
+                            project,
+                            metadata,
+                            job,
+                            dataReader,
+                            fileSource + "#" + dataReader.getSheetName(),
+                            limit,
+                            options,
+                            exceptions);
+                }
+            }
+        } finally {
+            if (tempFile != null) {
+                tempFile.delete();
+            }
+        }
+    }
+
+    /**
+     * @return the file of the job which is parsed under the given name, or null if there is not exactly one such file
+     */
+    private static File getRawDataFile(ImportingJob job, String fileName) {
+        File result = null;
+        for (ObjectNode fileRecord : job.getSelectedFileRecords()) {
+            if (fileName.equals(ImportingUtilities.getFileName(fileRecord))) {
+                File file = ImportingUtilities.getFile(job, fileRecord);
+                if (result != null || !file.isFile()) {
+                    return null;
+                }
+                result = file;
+            }
+        }
+        return result;
+    }
+
     static protected Cell extractCell(org.apache.poi.ss.usermodel.Cell cell, boolean forceText) {
         if (forceText) {
             return new Cell(dataFormatter.formatCellValue(cell), null);
@@ -267,36 +360,9 @@ public class ExcelImporter extends TabularImportingParserBase {
         if (cellType.equals(CellType.BOOLEAN)) {
             value = cell.getBooleanCellValue();
         } else if (cellType.equals(CellType.NUMERIC)) {
-            double d = cell.getNumericCellValue();
-            ExcelNumberFormat nf = ExcelNumberFormat.from(cell, null);
-            if (DateUtil.isCellDateFormatted(cell)) { // This checks range as well as format, so is more comprehensive
-                // Excel supports dates, times, intervals (via format strings), but we only have a datetime type
-                // all unsupported types (ie if it doesn't have both date & time components in the format string)
-                // are rendered to text and imported as strings
-                if (!isDatetimeFormat(nf)) {
-                    value = dataFormatter.formatCellValue(cell);
-                } else {
-                    value = ParsingUtilities.toDate(DateUtil.getJavaDate(d));
-                }
-            } else {
-                String format = nf.getFormat();
-                if ("General".equals(format)) {
-                    if (d % 1.0 == 0) {
-                        value = (long) d;
-                    } else {
-                        value = d;
-                    }
-                } else if (isNumberFormat(nf)) {
-                    if (format.contains(".")) { // if it's formatted with a decimal separator, always import as float
-                        value = d;
-                    } else {
-                        value = (long) d; // we could be losing a fractional piece here, but it's not visible in Excel
-                    }
-                } else {
-                    // Anything except a pure number (e.g. telephone #, postal code, SSN, etc) gets imported as string
-                    value = dataFormatter.formatCellValue(cell);
-                }
-            }
+            // This checks range as well as format, so is more comprehensive
+            value = convertNumericValue(cell.getNumericCellValue(), ExcelNumberFormat.from(cell, null),
+                    DateUtil.isCellDateFormatted(cell), () -> dataFormatter.formatCellValue(cell));
         } else {
             String text = cell.getStringCellValue();
             if (text.length() > 0) {
@@ -307,6 +373,47 @@ public class ExcelImporter extends TabularImportingParserBase {
         return new Cell(value, null);
     }
 
+    /**
+     * Converts the value of a numeric cell according to its number format.
+     *
+     * @param nf
+     *            the number format of the cell, or null if it has none
+     * @param dateFormatted
+     *            whether the cell has a date format and a value in the range of Excel dates
+     * @param formatter
+     *            renders the cell as text, for the formats which are not imported as numbers
+     */
+    static protected Serializable convertNumericValue(double d, ExcelNumberFormat nf, boolean dateFormatted,
+            Supplier<String> formatter) {
+        if (dateFormatted) {
+            // Excel supports dates, times, intervals (via format strings), but we only have a datetime type
+            // all unsupported types (ie if it doesn't have both date & time components in the format string)
+            // are rendered to text and imported as strings
+            if (!isDatetimeFormat(nf)) {
+                return formatter.get();
+            } else {
+                return ParsingUtilities.toDate(DateUtil.getJavaDate(d));
+            }
+        }
+        String format = nf == null ? "General" : nf.getFormat();
+        if ("General".equals(format)) {
+            if (d % 1.0 == 0) {
+                return (long) d;
+            } else {
+                return d;
+            }
+        } else if (isNumberFormat(nf)) {
+            if (format.contains(".")) { // if it's formatted with a decimal separator, always import as float
+                return d;
+            } else {
+                return (long) d; // we could be losing a fractional piece here, but it's not visible in Excel
+            }
+        } else {
+            // Anything except a pure number (e.g. telephone #, postal code, SSN, etc) gets imported as string
+            return formatter.get();
+        }
+    }
+
     /**
      * Checks whether a cell format is a datetime format compatible with Refine.
      *
@@ -30,7 +30,6 @@ package com.google.refine.importers;
 import static com.google.refine.importing.ImportingUtilities.getInputStreamReader;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.LineNumberReader;
@@ -44,6 +43,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.CharMatcher;
 
 import com.google.refine.ProjectMetadata;
+import com.google.refine.importing.FileSample;
 import com.google.refine.importing.ImportingJob;
 import com.google.refine.importing.ImportingUtilities;
 import com.google.refine.model.Project;
@@ -184,7 +184,7 @@ public class FixedWidthImporter extends TabularImportingParserBase {
 
     static public int[] guessColumnWidths(File file, String encoding) {
         try {
-            InputStream is = new FileInputStream(file);
+            InputStream is = FileSample.of(file).openStream();
             Reader reader = getInputStreamReader(is, encoding);
             LineNumberReader lineNumberReader = new LineNumberReader(reader);
 
@@ -210,7 +210,11 @@ public class JsonImporter extends TreeImportingParserBase {
 
         final static Logger logger = LoggerFactory.getLogger("JsonParser");
 
-        JsonFactory factory = new JsonFactory();
+        /**
+         * Shared by all readers, so that the field names of the records are canonicalized once rather than for each
+         * file.
+         */
+        final static JsonFactory factory = new JsonFactory();
         JsonParser parser = null;
 
         private JsonToken current = null;
@@ -305,15 +309,17 @@ public class JsonImporter extends TreeImportingParserBase {
                     case VALUE_STRING:
                         return parser.getText();
                     case VALUE_NUMBER_INT:
-                        if (parser.getNumberType() == NumberType.INT || parser.getNumberType() == NumberType.LONG) {
+                        NumberType intType = parser.getNumberType();
+                        if (intType == NumberType.INT || intType == NumberType.LONG) {
                             return Long.valueOf(parser.getLongValue());
                         } else {
                             return parser.getNumberValue();
                         }
                     case VALUE_NUMBER_FLOAT:
-                        if (parser.getNumberType() == NumberType.FLOAT) {
+                        NumberType floatType = parser.getNumberType();
+                        if (floatType == NumberType.FLOAT) {
                             return Float.valueOf(parser.getFloatValue());
-                        } else if (parser.getNumberType() == NumberType.DOUBLE) {
+                        } else if (floatType == NumberType.DOUBLE) {
                             return Double.valueOf(parser.getDoubleValue());
                         } else {
                             return parser.getNumberValue();
@@ -0,0 +1,363 @@
+package com.google.refine.importers;
+
+import java.io.CharArrayReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import com.univocity.parsers.common.AbstractParser;
+import org.apache.commons.io.input.SequenceReader;
+
+import com.google.refine.importers.TabularImportingParserBase.TableDataReader;
+
+/**
+ * Reads the records of a CSV or TSV file with several threads.
+ * <p>
+ * The input is read in large chunks, which are split at record boundaries: line separators which are not part of a
+ * quoted value. Each chunk is then parsed by its own parser in a worker thread, which also converts the cell values
+ * (see {@link TabularImportingParserBase#prepareRow(Object[], boolean, boolean)}). Records are returned in the order of
+ * the input.
+ * <p>
+ * Record boundaries can only be found reliably in well-formed input. As soon as the input contains something which
+ * could be parsed differently depending on where parsing starts (a quote in the middle of an unquoted value, a quoted
+ * value followed by other characters, mixed line separators...), the rest of the input is parsed sequentially with a
+ * single parser. Small inputs, which fit in a single chunk, are also parsed sequentially.
+ */
+public class ParallelSeparatorReader implements TableDataReader, Closeable {
+
+    static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private final Reader reader;
+    private final Supplier<AbstractParser> parserFactory;
+    private final char delimiter;
+    private final char quote;
+    private final boolean processQuotes;
+    private final char comment;
+    private final boolean trimStrings;
+    private final boolean guessCellValueTypes;
+    private final int threads;
+
+    private char[] buffer;
+    private int length = 0;
+    private boolean endOfInput = false;
+    private boolean startOfInput = true;
+    private boolean sequential = false;
+    /**
+     * The line separator used in the input so far, if any: "\n" or "\r\n".
+     */
+    private String lineSeparator = null;
+
+    private ExecutorService executor = null;
+    private final Deque<Future<Chunk>> inFlight = new ArrayDeque<>();
+    private Chunk currentChunk = null;
+    private Iterator<List<Object>> currentRows = null;
+    private AbstractParser sequentialParser = null;
+
+    /**
+     * @param reader
+     *            the input to parse
+     * @param parserFactory
+     *            creates a parser configured for the input, which is used on a single chunk
+     * @param delimiter
+     *            the character separating values
+     * @param quote
+     *            the character quoting values, which must also be the one escaping quotes in quoted values
+     * @param processQuotes
+     *            whether values can be quoted (false for TSV files)
+     * @param comment
+     *            the character starting comment lines
+     * @param threads
+     *            the number of threads parsing chunks
+     */
+    public ParallelSeparatorReader(Reader reader, Supplier<AbstractParser> parserFactory, char delimiter, char quote,
+            boolean processQuotes, char comment, boolean trimStrings, boolean guessCellValueTypes, int threads) {
+        this(reader, parserFactory, delimiter, quote, processQuotes, comment, trimStrings, guessCellValueTypes, threads,
+                DEFAULT_CHUNK_SIZE);
+    }
+
+    ParallelSeparatorReader(Reader reader, Supplier<AbstractParser> parserFactory, char delimiter, char quote,
+            boolean processQuotes, char comment, boolean trimStrings, boolean guessCellValueTypes, int threads,
+            int chunkSize) {
+        this.reader = reader;
+        this.parserFactory = parserFactory;
+        this.delimiter = delimiter;
+        this.quote = quote;
+        this.processQuotes = processQuotes;
+        this.comment = comment;
+        this.trimStrings = trimStrings;
+        this.guessCellValueTypes = guessCellValueTypes;
+        this.threads = Math.max(1, threads);
+        this.buffer = new char[chunkSize];
+    }
+
+    @Override
+    public List<Object> getNextRowOfCells() throws IOException {
+        while (true) {
+            if (currentRows != null && currentRows.hasNext()) {
+                return currentRows.next();
+            }
+            if (currentChunk != null && currentChunk.error != null) {
+                // the rows preceding the error were returned, as they would be by a single parser
+                RuntimeException error = currentChunk.error;
+                close();
+                throw error;
+            }
+            currentChunk = null;
+            currentRows = null;
+
+            submitChunks();
+            if (!inFlight.isEmpty()) {
+                currentChunk = waitFor(inFlight.poll());
+                currentRows = currentChunk.rows.iterator();
+                continue;
+            }
+
+            if (sequentialParser != null) {
+                String[] values = sequentialParser.parseNext();
+                return values == null ? null : Arrays.asList((Object[]) values);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Reads the input and submits its chunks to the worker threads, until enough of them are being parsed.
+     */
+    private void submitChunks() throws IOException {
+        while (!sequential && inFlight.size() < threads + 1) {
+            String chunk = readChunk();
+            if (chunk == null) {
+                return;
+            }
+            if (executor == null) {
+                executor = Executors.newFixedThreadPool(threads);
+            }
+            inFlight.add(executor.submit(() -> parse(chunk)));
+        }
+    }
+
+    /**
+     * @return the next chunk of complete records to parse in parallel, or null if there is none. When the input cannot
+     *         be split any further (or fits in a single chunk), the rest of it is handed to {@link #sequentialParser}.
+     */
+    private String readChunk() throws IOException {
+        while (true) {
+            while (!endOfInput && length < buffer.length) {
+                int read = reader.read(buffer, length, buffer.length - length);
+                if (read < 0) {
+                    endOfInput = true;
+                } else {
+                    length += read;
+                }
+            }
+            if (length == 0) {
+                return null;
+            }
+
+            int boundary = findLastRecordBoundary();
+            if (sequential) {
+                if (executor == null || boundary <= 0) {
+                    // parse the rest of the input after the chunks submitted so far
+                    int from = executor == null ? 0 : Math.max(boundary, 0);
+                    startSequentialParsing(from);
+                    return null;
+                }
+                String chunk = new String(buffer, 0, boundary);
+                startSequentialParsing(boundary);
+                return chunk;
+            }
+            if (endOfInput) {
+                if (executor == null) {
+                    // the input fits in a single chunk
+                    sequential = true;
+                    startSequentialParsing(0);
+                    return null;
+                }
+                // the remaining records are all complete
+                String chunk = new String(buffer, 0, length);
+                length = 0;
+                return chunk;
+            }
+            if (boundary > 0) {
+                String chunk = new String(buffer, 0, boundary);
+                System.arraycopy(buffer, boundary, buffer, 0, length - boundary);
+                length -= boundary;
+                startOfInput = false;
+                return chunk;
+            }
+            // a single record does not fit in the buffer
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+    }
+
+    /**
+     * Parses the input from the given position of the buffer with a single parser.
+     */
+    private void startSequentialParsing(int from) {
+        sequentialParser = parserFactory.get();
+        sequentialParser.beginParsing(new SequenceReader(new CharArrayReader(buffer, from, length - from), reader));
+        length = 0;
+    }
+
+    /**
+     * Scans the buffer for line separators which end a record.
+     *
+     * @return the position following the last line separator found to end a record, or -1 if there is none. If the
+     *         input cannot be split reliably after that position, {@link #sequential} is set.
+     */
+    int findLastRecordBoundary() {
+        int boundary = -1;
+        boolean inQuotes = false;
+        boolean fieldStart = true;
+        boolean lineStart = true;
+        int i = 0;
+        if (startOfInput && length > 0 && buffer[0] == '\uFEFF') {
+            // byte order mark
+            i = 1;
+        }
+        for (; i < length; i++) {
+            char c = buffer[i];
+            if (c == '\n' || c == '\r') {
+                String separator;
+                if (c == '\r') {
+                    if (i + 1 == length) {
+                        // the next character is not known yet
+                        sequential |= endOfInput;
+                        return boundary;
+                    }
+                    if (buffer[i + 1] != '\n') {
+                        sequential = true;
+                        return boundary;
+                    }
+                    separator = "\r\n";
+                    i++;
+                } else {
+                    separator = "\n";
+                }
+                if (lineSeparator == null) {
+                    lineSeparator = separator;
+                } else if (!lineSeparator.equals(separator)) {
+                    sequential = true;
+                    return boundary;
+                }
+                if (!inQuotes) {
+                    boundary = i + 1;
+                    fieldStart = true;
+                    lineStart = true;
+                }
+                continue;
+            }
+            if (inQuotes) {
+                if (c == quote) {
+                    if (i + 1 == length) {
+                        sequential |= endOfInput;
+                        return boundary;
+                    }
+                    char next = buffer[i + 1];
+                    if (next == quote) {
+                        // escaped quote
+                        i++;
+                    } else if (next == delimiter || next == '\n' || next == '\r') {
+                        inQuotes = false;
+                    } else {
+                        sequential = true;
+                        return boundary;
+                    }
+                }
+                continue;
+            }
+            if (lineStart && c == comment) {
+                // comment lines are skipped by the parser, whatever they contain
+                while (i + 1 < length && buffer[i + 1] != '\n' && buffer[i + 1] != '\r') {
+                    i++;
+                }
+                lineStart = false;
+                fieldStart = false;
+                continue;
+            }
+            if (processQuotes && c == quote) {
+                if (!fieldStart) {
+                    sequential = true;
+                    return boundary;
+                }
+                inQuotes = true;
+            }
+            fieldStart = c == delimiter;
+            lineStart = false;
+        }
+        return boundary;
+    }
+
+    private Chunk parse(String input) {
+        AbstractParser parser = parserFactory.get();
+        List<List<Object>> rows = new ArrayList<>();
+        RuntimeException error = null;
+        try {
+            parser.beginParsing(new StringReader(input));
+            String[] values;
+            while ((values = parser.parseNext()) != null) {
+                rows.add(TabularImportingParserBase.prepareRow(values, trimStrings, guessCellValueTypes));
+            }
+        } catch (RuntimeException e) {
+            error = e;
+        } finally {
+            parser.stopParsing();
+        }
+        return new Chunk(rows, error);
+    }
+
+    private Chunk waitFor(Future<Chunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            close();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while parsing");
+        } catch (ExecutionException e) {
+            close();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Stops the worker threads. This must be called when the records are no longer read, even if not all of them were
+     * read.
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            inFlight.clear();
+        }
+        if (sequentialParser != null) {
+            sequentialParser.stopParsing();
+        }
+    }
+
+    private static class Chunk {
+
+        final List<List<Object>> rows;
+        final RuntimeException error;
+
+        Chunk(List<List<Object>> rows, RuntimeException error) {
+            this.rows = rows;
+            this.error = error;
+        }
+    }
+}
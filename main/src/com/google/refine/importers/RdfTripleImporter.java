@@ -35,16 +35,25 @@ package com.google.refine.importers;
 
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.Statement;
 import org.apache.jena.rdf.model.StmtIterator;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.riot.system.StreamRDFWrapper;
 
 import com.google.refine.ProjectMetadata;
 import com.google.refine.expr.ExpressionUtils;
@@ -77,33 +86,18 @@ public class RdfTripleImporter extends ImportingParserBase {
             InputStream input, int limit, ObjectNode options, List<Exception> exceptions) {
         // create an empty model
         Model model = ModelFactory.createDefaultModel();
+        StreamRDF destination = StreamRDFLib.graph(model.getGraph());
+        if (limit > 0) {
+            destination = new LimitedStreamRDF(destination, limit);
+        }
 
         try {
-            switch (mode) {
-                case NT:
-                    // TODO: The standard lang name is "N-TRIPLE"
-                    // we may need to switch if we change packagings
-                    model.read(input, null, "NT");
-                    break;
-                case N3:
-                    model.read(input, null, "N3");
-                    break;
-                case TTL:
-                    model.read(input, null, "TTL");
-                    break;
-                case JSONLD:
-                    // TODO: The standard lang name is "JSONLD"
-                    model.read(input, null, "JSON-LD");
-                    break;
-                case RDFXML:
-                    model.read(input, null);
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unknown parsing mode");
-            }
+            RDFParser.create().source(input).base(null).lang(getLang()).parse(destination);
         } catch (Exception e) {
-            exceptions.add(e);
-            return;
+            if (!LimitedStreamRDF.isLimitReached(e)) {
+                exceptions.add(e);
+                return;
+            }
         }
 
         StmtIterator triples = model.listStatements();
@@ -156,10 +150,75 @@ public class RdfTripleImporter extends ImportingParserBase {
             }
 
             for (Entry<String, List<Row>> entry : subjectToRows.entrySet()) {
+                if (limit > 0 && project.rows.size() >= limit) {
+                    break;
+                }
                 project.rows.addAll(entry.getValue());
             }
         } catch (ModelException e) {
             exceptions.add(e);
         }
     }
+
+    private Lang getLang() {
+        switch (mode) {
+            case NT:
+                return Lang.NTRIPLES;
+            case N3:
+                return Lang.N3;
+            case TTL:
+                return Lang.TURTLE;
+            case JSONLD:
+                return Lang.JSONLD;
+            case RDFXML:
+                return Lang.RDFXML;
+            default:
+                throw new IllegalArgumentException("Unknown parsing mode");
+        }
+    }
+
+    /**
+     * Stops parsing once the triples of enough subjects were read, so that previewing a large file does not read all
+     * of it. The triples of those subjects which come later in the file are left out.
+     */
+    private static class LimitedStreamRDF extends StreamRDFWrapper {
+
+        private final int limit;
+        private final Set<Node> subjects = new HashSet<>();
+
+        LimitedStreamRDF(StreamRDF destination, int limit) {
+            super(destination);
+            this.limit = limit;
+        }
+
+        @Override
+        public void triple(Triple triple) {
+            if (subjects.add(triple.getSubject()) && subjects.size() > limit) {
+                throw new LimitReachedException();
+            }
+            super.triple(triple);
+        }
+
+        /**
+         * @return true if parsing was stopped because the limit was reached, which some parsers report wrapped in
+         *         their own exceptions
+         */
+        static boolean isLimitReached(Throwable e) {
+            for (Throwable t = e; t != null; t = t.getCause()) {
+                if (t instanceof LimitReachedException) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class LimitReachedException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        LimitReachedException() {
+            super(null, null, false, false);
+        }
+    }
 }
@@ -34,9 +34,7 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package com.google.refine.importers;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.LineNumberReader;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
@@ -47,6 +45,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.CharMatcher;
@@ -62,6 +61,7 @@ import com.univocity.parsers.tsv.TsvParserSettings;
 import org.apache.commons.text.StringEscapeUtils;
 
 import com.google.refine.ProjectMetadata;
+import com.google.refine.importing.FileSample;
 import com.google.refine.importing.ImportingJob;
 import com.google.refine.importing.ImportingUtilities;
 import com.google.refine.model.Project;
@@ -75,6 +75,12 @@ public class SeparatorBasedImporter extends TabularImportingParserBase {
     public static final int MAX_CHARACTERS_PER_CELL = 1024 * 1024; // default 4096
     public static final int GUESSER_LINE_COUNT = 100;
     char DEFAULT_QUOTE_CHAR = new CsvParserSettings().getFormat().getQuote();
+    static final char CSV_QUOTE_ESCAPE = new CsvParserSettings().getFormat().getQuoteEscape();
+    static final char COMMENT_CHAR = new CsvParserSettings().getFormat().getComment();
+    /**
+     * Number of threads parsing large files.
+     */
+    static final int PARSING_THREADS = Runtime.getRuntime().availableProcessors();
 
     public SeparatorBasedImporter() {
         super(false);
@@ -146,35 +152,31 @@ public class SeparatorBasedImporter extends TabularImportingParserBase {
             quote = CharMatcher.whitespace().trimFrom(quoteCharacter).charAt(0);
         }
 
-        AbstractParser parser;
-        if (tsv) {
-            TsvParserSettings settings = new TsvParserSettings();
-            settings.setMaxCharsPerColumn(MAX_CHARACTERS_PER_CELL);
-            settings.setMaxColumns(MAX_COLUMNS);
-            settings.setLineSeparatorDetectionEnabled(true);
-            settings.setIgnoreLeadingWhitespaces(false);
-            settings.setIgnoreTrailingWhitespaces(false);
-            parser = new TsvParser(settings);
-        } else {
-            CsvParserSettings settings = new CsvParserSettings();
-            CsvFormat format = settings.getFormat();
-            format.setDelimiter(sep);
-            format.setQuote(quote);
-            settings.setMaxColumns(MAX_COLUMNS);
-            settings.setLineSeparatorDetectionEnabled(true);
-            settings.setIgnoreLeadingWhitespaces(false);
-            settings.setIgnoreTrailingWhitespaces(false);
-            if (strictQuotes) {
-                settings.setUnescapedQuoteHandling(UnescapedQuoteHandling.RAISE_ERROR);
-            }
-            settings.setKeepQuotes(!processQuotes);
-            settings.setMaxCharsPerColumn(MAX_CHARACTERS_PER_CELL);
-            settings.setMaxColumns(MAX_COLUMNS);
-            parser = new CsvParser(settings);
-        }
+        final Character quoteChar = quote;
+        final String delimiter = sep;
+        Supplier<AbstractParser> parserFactory = () -> createParser(tsv, delimiter, quoteChar, processQuotes,
+                strictQuotes);
+
+        // The rows are parsed in parallel when importing whole files: previews only need the first rows
+        boolean parallel = limit <= 0 && PARSING_THREADS > 1 && delimiter.length() == 1
+                && (tsv || quoteChar == CSV_QUOTE_ESCAPE);
+        ParallelSeparatorReader parallelReader = null;
         try (final LineNumberReader lnReader = new LineNumberReader(reader);) {
 
-            parser.beginParsing(lnReader);
+            TableDataReader recordReader;
+            if (parallel) {
+                parallelReader = new ParallelSeparatorReader(lnReader, parserFactory, delimiter.charAt(0), quoteChar,
+                        !tsv, COMMENT_CHAR, JSONUtilities.getBoolean(options, "trimStrings", false),
+                        JSONUtilities.getBoolean(options, "guessCellValueTypes", false), PARSING_THREADS);
+                recordReader = parallelReader;
+            } else {
+                AbstractParser parser = parserFactory.get();
+                parser.beginParsing(lnReader);
+                recordReader = () -> {
+                    Record record = parser.parseNextRecord();
+                    return record != null ? Arrays.asList(record.getValues()) : null;
+                };
+            }
 
             TableDataReader dataReader = new TableDataReader() {
 
@@ -186,12 +188,7 @@ public class SeparatorBasedImporter extends TabularImportingParserBase {
                         usedColumnNames = true;
                         return columnNames;
                     } else {
-                        Record record = parser.parseNextRecord();
-                        if (record != null) {
-                            return Arrays.asList(record.getValues());
-                        } else {
-                            return null;
-                        }
+                        return recordReader.getNextRowOfCells();
                     }
                 }
             };
@@ -201,6 +198,40 @@ public class SeparatorBasedImporter extends TabularImportingParserBase {
             exceptions.add(e);
         } catch (IOException e) {
             exceptions.add(e);
+        } finally {
+            if (parallelReader != null) {
+                // stops the worker threads if the import was canceled
+                parallelReader.close();
+            }
+        }
+    }
+
+    protected static AbstractParser createParser(boolean tsv, String sep, char quote, boolean processQuotes,
+            boolean strictQuotes) {
+        if (tsv) {
+            TsvParserSettings settings = new TsvParserSettings();
+            settings.setMaxCharsPerColumn(MAX_CHARACTERS_PER_CELL);
+            settings.setMaxColumns(MAX_COLUMNS);
+            settings.setLineSeparatorDetectionEnabled(true);
+            settings.setIgnoreLeadingWhitespaces(false);
+            settings.setIgnoreTrailingWhitespaces(false);
+            return new TsvParser(settings);
+        } else {
+            CsvParserSettings settings = new CsvParserSettings();
+            CsvFormat format = settings.getFormat();
+            format.setDelimiter(sep);
+            format.setQuote(quote);
+            settings.setMaxColumns(MAX_COLUMNS);
+            settings.setLineSeparatorDetectionEnabled(true);
+            settings.setIgnoreLeadingWhitespaces(false);
+            settings.setIgnoreTrailingWhitespaces(false);
+            if (strictQuotes) {
+                settings.setUnescapedQuoteHandling(UnescapedQuoteHandling.RAISE_ERROR);
+            }
+            settings.setKeepQuotes(!processQuotes);
+            settings.setMaxCharsPerColumn(MAX_CHARACTERS_PER_CELL);
+            settings.setMaxColumns(MAX_COLUMNS);
+            return new CsvParser(settings);
         }
     }
 
@@ -250,8 +281,7 @@ public class SeparatorBasedImporter extends TabularImportingParserBase {
     }
 
     static public CsvFormat guessFormat(File file, String encoding) {
-        try (InputStream is = new FileInputStream(file);
-                Reader reader = ImportingUtilities.getInputStreamReader(is, encoding);
+        try (Reader reader = FileSample.of(file).openReader(encoding);
                 LineNumberReader lineNumberReader = new LineNumberReader(reader)) {
             CsvParserSettings settings = new CsvParserSettings();
             // We could provide a set of delimiters to consider below if we wanted to restrict this
@@ -273,8 +303,7 @@ public class SeparatorBasedImporter extends TabularImportingParserBase {
 
     static public Separator guessSeparator(File file, String encoding, boolean handleQuotes) {
         try {
-            try (InputStream is = new FileInputStream(file);
-                    Reader reader = ImportingUtilities.getInputStreamReader(is, encoding);
+            try (Reader reader = FileSample.of(file).openReader(encoding);
                     LineNumberReader lineNumberReader = new LineNumberReader(reader)) {
 
                 List<Separator> separators = new ArrayList<>();
@@ -0,0 +1,433 @@
+package com.google.refine.importers;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.ExcelNumberFormat;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.xml.sax.SAXException;
+
+import com.google.refine.importers.TabularImportingParserBase.TableDataReader;
+import com.google.refine.model.Cell;
+
+/**
+ * Reads the sheets of an XLSX workbook as streams of XML events, instead of loading the whole workbook in memory as
+ * {@link org.apache.poi.xssf.usermodel.XSSFWorkbook} does. Only the shared strings and the styles are loaded upfront.
+ * <p>
+ * Cells are converted the same way as {@link ExcelImporter#extractCell(org.apache.poi.ss.usermodel.Cell)} does, using
+ * the value cached for formula cells.
+ */
+public class XlsxStreamingReader implements Closeable {
+
+    private static final XMLInputFactory xmlInputFactory = XMLHelper.newXMLInputFactory();
+
+    private final OPCPackage pkg;
+    private final XSSFReader reader;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final ExcelNumberFormat[] numberFormats;
+    private final boolean date1904;
+
+    /**
+     * Opens a workbook. The file is read lazily, so it must not be modified before the reader is closed.
+     */
+    public XlsxStreamingReader(File file) throws IOException {
+        try {
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException(e);
+        }
+        try {
+            reader = new XSSFReader(pkg);
+            sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+            numberFormats = getNumberFormats(reader.getStylesTable());
+            date1904 = isDate1904(reader);
+        } catch (IOException | RuntimeException e) {
+            pkg.revert();
+            throw e;
+        } catch (OpenXML4JException | SAXException | XMLStreamException e) {
+            pkg.revert();
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * @return the number format of each cell style, by style index
+     */
+    private static ExcelNumberFormat[] getNumberFormats(StylesTable styles) {
+        int count = styles == null ? 0 : styles.getNumCellStyles();
+        ExcelNumberFormat[] formats = new ExcelNumberFormat[count];
+        for (int i = 0; i < count; i++) {
+            formats[i] = ExcelNumberFormat.from(styles.getStyleAt(i));
+        }
+        return formats;
+    }
+
+    private static boolean isDate1904(XSSFReader reader) throws IOException, OpenXML4JException, XMLStreamException {
+        try (InputStream input = reader.getWorkbookData()) {
+            XMLStreamReader xml = xmlInputFactory.createXMLStreamReader(input);
+            try {
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT) {
+                        String name = xml.getLocalName();
+                        if ("workbookPr".equals(name)) {
+                            String date1904 = xml.getAttributeValue(null, "date1904");
+                            return "1".equals(date1904) || "true".equals(date1904);
+                        } else if ("sheets".equals(name)) {
+                            // the workbook properties come first
+                            return false;
+                        }
+                    }
+                }
+                return false;
+            } finally {
+                xml.close();
+            }
+        }
+    }
+
+    /**
+     * @return the names of the sheets, in the order of the workbook
+     */
+    public List<String> getSheetNames() throws IOException {
+        List<String> names = new ArrayList<>();
+        XSSFReader.SheetIterator sheets = getSheets();
+        while (sheets.hasNext()) {
+            sheets.next().close();
+            names.add(sheets.getSheetName());
+        }
+        return names;
+    }
+
+    /**
+     * Counts the rows of a sheet the way {@link org.apache.poi.ss.usermodel.Sheet#getLastRowNum()} and
+     * {@link org.apache.poi.ss.usermodel.Sheet#getFirstRowNum()} would: from the first to the last row present in the
+     * sheet (1 for an empty sheet).
+     * <p>
+     * The count is read from the dimension of the sheet, which precedes its rows. The rows are only scanned, without
+     * converting their cells, when the sheet has no dimension or one which only covers its first cell, as written by
+     * applications which do not compute it.
+     */
+    public int countRows(int sheetIndex) throws IOException {
+        XSSFReader.SheetIterator sheets = getSheets();
+        try (InputStream input = openSheet(sheets, sheetIndex)) {
+            XMLStreamReader xml = xmlInputFactory.createXMLStreamReader(input);
+            try {
+                int firstRow = -1;
+                int lastRow = -1;
+                int rowIndex = -1;
+                while (xml.hasNext()) {
+                    if (xml.next() != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+                    String name = xml.getLocalName();
+                    if ("dimension".equals(name)) {
+                        int rows = getDimensionRowCount(xml.getAttributeValue(null, "ref"));
+                        if (rows > 1) {
+                            return rows;
+                        }
+                    } else if ("row".equals(name)) {
+                        rowIndex = getRowIndex(xml, rowIndex);
+                        firstRow = firstRow == -1 ? rowIndex : Math.min(firstRow, rowIndex);
+                        lastRow = Math.max(lastRow, rowIndex);
+                    }
+                }
+                return lastRow - firstRow + 1;
+            } finally {
+                xml.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * @return the number of rows spanned by a range reference such as "A2:C10", or -1 if it cannot be parsed
+     */
+    static int getDimensionRowCount(String ref) {
+        if (ref == null) {
+            return -1;
+        }
+        int colon = ref.indexOf(':');
+        int firstRow = getRowNumber(colon < 0 ? ref : ref.substring(0, colon));
+        int lastRow = colon < 0 ? firstRow : getRowNumber(ref.substring(colon + 1));
+        return firstRow < 1 || lastRow < firstRow ? -1 : lastRow - firstRow + 1;
+    }
+
+    /**
+     * @return the 1-based row number of a cell reference such as "AB12", or -1 if it has none
+     */
+    private static int getRowNumber(String ref) {
+        int start = 0;
+        while (start < ref.length() && !Character.isDigit(ref.charAt(start))) {
+            start++;
+        }
+        try {
+            return Integer.parseInt(ref.substring(start));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Opens a sheet, whose rows are read as they are requested.
+     */
+    public SheetReader openSheet(int sheetIndex) throws IOException {
+        XSSFReader.SheetIterator sheets = getSheets();
+        InputStream input = openSheet(sheets, sheetIndex);
+        try {
+            return new SheetReader(sheets.getSheetName(), input, xmlInputFactory.createXMLStreamReader(input));
+        } catch (XMLStreamException e) {
+            input.close();
+            throw new IOException(e);
+        }
+    }
+
+    private XSSFReader.SheetIterator getSheets() throws IOException {
+        try {
+            return (XSSFReader.SheetIterator) reader.getSheetsData();
+        } catch (OpenXML4JException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static InputStream openSheet(Iterator<InputStream> sheets, int sheetIndex) throws IOException {
+        for (int i = 0; sheets.hasNext(); i++) {
+            InputStream input = sheets.next();
+            if (i == sheetIndex) {
+                return input;
+            }
+            input.close();
+        }
+        throw new IOException("Sheet index (" + sheetIndex + ") is out of range");
+    }
+
+    private static int getRowIndex(XMLStreamReader xml, int previousRowIndex) {
+        String ref = xml.getAttributeValue(null, "r");
+        // rows without a reference follow the previous one
+        return ref != null ? Integer.parseInt(ref) - 1 : previousRowIndex + 1;
+    }
+
+    /**
+     * @return the 0-based column index of a cell reference such as "AB12"
+     */
+    static int getColumnIndex(String ref) {
+        int column = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            char c = Character.toUpperCase(ref.charAt(i));
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    /**
+     * Discards the workbook without modifying the file.
+     */
+    @Override
+    public void close() {
+        pkg.revert();
+    }
+
+    /**
+     * Returns the rows of a sheet one at a time, including empty lists for the rows missing before the last one, as
+     * {@link ExcelImporter} does with a sheet loaded in memory.
+     */
+    public class SheetReader implements TableDataReader, Closeable {
+
+        private final String sheetName;
+        private final InputStream input;
+        private final XMLStreamReader xml;
+        private int nextRowIndex = 0;
+        private int pendingRowIndex = -1;
+        private List<Object> pendingRow = null;
+        private boolean endOfSheet = false;
+
+        SheetReader(String sheetName, InputStream input, XMLStreamReader xml) {
+            this.sheetName = sheetName;
+            this.input = input;
+            this.xml = xml;
+        }
+
+        public String getSheetName() {
+            return sheetName;
+        }
+
+        @Override
+        public List<Object> getNextRowOfCells() throws IOException {
+            if (pendingRow == null && !endOfSheet) {
+                try {
+                    pendingRow = readRow();
+                } catch (XMLStreamException e) {
+                    throw new IOException(e);
+                }
+                endOfSheet = pendingRow == null;
+            }
+            if (pendingRow == null) {
+                return null;
+            }
+            if (nextRowIndex < pendingRowIndex) {
+                nextRowIndex++;
+                return new ArrayList<>();
+            }
+            List<Object> row = pendingRow;
+            pendingRow = null;
+            nextRowIndex = Math.max(nextRowIndex, pendingRowIndex + 1);
+            return row;
+        }
+
+        /**
+         * @return the cells of the next row element, or null at the end of the sheet
+         */
+        private List<Object> readRow() throws XMLStreamException {
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                    pendingRowIndex = getRowIndex(xml, pendingRowIndex);
+                    return readCells();
+                } else if (event == XMLStreamConstants.END_ELEMENT && "sheetData".equals(xml.getLocalName())) {
+                    return null;
+                }
+            }
+            return null;
+        }
+
+        private List<Object> readCells() throws XMLStreamException {
+            List<Object> cells = new ArrayList<>();
+            int column = -1;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                    String ref = xml.getAttributeValue(null, "r");
+                    // cells without a reference follow the previous one
+                    column = ref != null ? getColumnIndex(ref) : column + 1;
+                    Cell cell = readCell(xml.getAttributeValue(null, "t"), xml.getAttributeValue(null, "s"));
+                    while (cells.size() <= column) {
+                        cells.add(null);
+                    }
+                    cells.set(column, cell);
+                } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                    break;
+                }
+            }
+            return cells;
+        }
+
+        private Cell readCell(String type, String style) throws XMLStreamException {
+            String value = null;
+            StringBuilder inlineString = null;
+            boolean formula = false;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = xml.getLocalName();
+                    if ("v".equals(name)) {
+                        value = xml.getElementText();
+                    } else if ("f".equals(name)) {
+                        formula = true;
+                        xml.getElementText();
+                    } else if ("t".equals(name)) {
+                        // text of an inline string, or of one of its runs
+                        if (inlineString == null) {
+                            inlineString = new StringBuilder();
+                        }
+                        inlineString.append(xml.getElementText());
+                    } else if ("rPh".equals(name)) {
+                        // phonetic runs are not part of the text
+                        skipElement();
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                    break;
+                }
+            }
+            return convertCell(type == null ? "n" : type, style, value, inlineString, formula);
+        }
+
+        private void skipElement() throws XMLStreamException {
+            int depth = 1;
+            while (depth > 0 && xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+        }
+
+        private Cell convertCell(String type, String style, String value, StringBuilder inlineString, boolean formula) {
+            String text;
+            switch (type) {
+                case "b":
+                    return new Cell("1".equals(value), null);
+                case "e":
+                    return null;
+                case "s":
+                    text = value == null ? "" : sharedStrings.getItemAt(Integer.parseInt(value)).getString();
+                    break;
+                case "inlineStr":
+                    text = decode(value != null ? value : (inlineString != null ? inlineString.toString() : ""));
+                    break;
+                case "n":
+                    if (value == null && !formula) {
+                        // blank cell, which only has a style
+                        return null;
+                    }
+                    double d = value == null || value.isEmpty() ? 0.0 : Double.parseDouble(value);
+                    return new Cell(convertNumber(d, style), null);
+                default:
+                    // cached result of a formula, or ISO date
+                    text = decode(value == null ? "" : value);
+            }
+            return new Cell(text.length() > 0 ? text : null, null);
+        }
+
+        private Serializable convertNumber(double d, String style) {
+            int styleIndex = style == null ? 0 : Integer.parseInt(style);
+            final ExcelNumberFormat format = styleIndex < numberFormats.length ? numberFormats[styleIndex] : null;
+            boolean dateFormatted = format != null && DateUtil.isValidExcelDate(d)
+                    && DateUtil.isADateFormat(format.getIdx(), format.getFormat());
+            return ExcelImporter.convertNumericValue(d, format, dateFormatted,
+                    () -> ExcelImporter.dataFormatter.formatRawCellContents(d, format.getIdx(), format.getFormat(),
+                            date1904));
+        }
+
+        /**
+         * Decodes the characters escaped as "_xHHHH_", as {@link XSSFRichTextString#getString()} does.
+         */
+        private String decode(String text) {
+            return text.contains("_x") ? new XSSFRichTextString(text).getString() : text;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                xml.close();
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            } finally {
+                input.close();
+            }
+        }
+    }
+}
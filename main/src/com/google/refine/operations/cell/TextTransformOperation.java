@@ -49,6 +49,7 @@ import com.google.refine.expr.Evaluable;
 import com.google.refine.expr.ExpressionUtils;
 import com.google.refine.expr.MetaParser;
 import com.google.refine.expr.ParsingException;
+import com.google.refine.expr.RowBatch;
 import com.google.refine.expr.WrappedCell;
 import com.google.refine.model.Cell;
 import com.google.refine.model.Column;
@@ -175,6 +176,8 @@ public class TextTransformOperation extends EngineDependentMassCellOperation {
             Properties bindings;
             List<CellChange> cellChanges;
             Evaluable eval;
+            RowBatch batch = new RowBatch();
+            Object[] results = new Object[batch.capacity()];
 
             public RowVisitor init(int cellIndex, Properties bindings, List<CellChange> cellChanges, Evaluable eval) {
                 this.cellIndex = cellIndex;
@@ -191,19 +194,33 @@ public class TextTransformOperation extends EngineDependentMassCellOperation {
 
             @Override
             public void end(Project project) {
-                // nothing to do
+                evaluateBatch();
             }
 
             @Override
             public boolean visit(Project project, int rowIndex, Row row) {
+                batch.add(rowIndex, row);
+                if (batch.isFull()) {
+                    evaluateBatch();
+                }
+                return false;
+            }
+
+            private void evaluateBatch() {
+                eval.evaluateBatch(bindings, batch, _columnName, cellIndex, results);
+                for (int i = 0; i < batch.size(); i++) {
+                    transformCell(batch.getRowIndex(i), batch.getRow(i), results[i]);
+                    results[i] = null;
+                }
+                batch.clear();
+            }
+
+            private void transformCell(int rowIndex, Row row, Object o) {
                 Cell cell = row.getCell(cellIndex);
                 Cell newCell = null;
 
                 Object oldValue = cell != null ? cell.value : null;
 
-                ExpressionUtils.bind(bindings, row, rowIndex, _columnName, cell);
-
-                Object o = eval.evaluate(bindings);
                 if (o == null) {
                     if (oldValue != null) {
                         CellChange cellChange = new CellChange(rowIndex, cellIndex, cell, null);
@@ -218,7 +235,7 @@ public class TextTransformOperation extends EngineDependentMassCellOperation {
                         Serializable newValue = ExpressionUtils.wrapStorable(o);
                         if (ExpressionUtils.isError(newValue)) {
                             if (_onError == OnError.KeepOriginal) {
-                                return false;
+                                return;
                             } else if (_onError == OnError.SetToBlank) {
                                 newValue = null;
                             }
@@ -249,8 +266,6 @@ public class TextTransformOperation extends EngineDependentMassCellOperation {
                         cellChanges.add(cellChange);
                     }
                 }
-
-                return false;
             }
         }.init(column.getCellIndex(), bindings, cellChanges, eval);
     }
@@ -53,6 +53,7 @@ import com.google.refine.expr.Evaluable;
 import com.google.refine.expr.ExpressionUtils;
 import com.google.refine.expr.MetaParser;
 import com.google.refine.expr.ParsingException;
+import com.google.refine.expr.RowBatch;
 import com.google.refine.expr.WrappedCell;
 import com.google.refine.history.Change;
 import com.google.refine.history.HistoryEntry;
@@ -215,6 +216,8 @@ public class ColumnAdditionOperation extends EngineDependentOperation {
             Properties bindings;
             List<CellAtRow> cellsAtRows;
             Evaluable eval;
+            RowBatch batch = new RowBatch();
+            Object[] results = new Object[batch.capacity()];
 
             public RowVisitor init(int cellIndex, Properties bindings, List<CellAtRow> cellsAtRows, Evaluable eval) {
                 this.cellIndex = cellIndex;
@@ -231,17 +234,31 @@ public class ColumnAdditionOperation extends EngineDependentOperation {
 
             @Override
             public void end(Project project) {
-                // nothing to do
+                evaluateBatch();
             }
 
             @Override
             public boolean visit(Project project, int rowIndex, Row row) {
+                batch.add(rowIndex, row);
+                if (batch.isFull()) {
+                    evaluateBatch();
+                }
+                return false;
+            }
+
+            private void evaluateBatch() {
+                eval.evaluateBatch(bindings, batch, _baseColumnName, cellIndex, results);
+                for (int i = 0; i < batch.size(); i++) {
+                    addCell(batch.getRowIndex(i), batch.getRow(i), results[i]);
+                    results[i] = null;
+                }
+                batch.clear();
+            }
+
+            private void addCell(int rowIndex, Row row, Object o) {
                 Cell cell = row.getCell(cellIndex);
                 Cell newCell = null;
 
-                ExpressionUtils.bind(bindings, row, rowIndex, _baseColumnName, cell);
-
-                Object o = eval.evaluate(bindings);
                 if (o != null) {
                     if (o instanceof Cell) {
                         newCell = (Cell) o;
@@ -251,7 +268,7 @@ public class ColumnAdditionOperation extends EngineDependentOperation {
                         Serializable v = ExpressionUtils.wrapStorable(o);
                         if (ExpressionUtils.isError(v)) {
                             if (_onError == OnError.SetToBlank) {
-                                return false;
+                                return;
                             } else if (_onError == OnError.KeepOriginal) {
                                 v = cell != null ? cell.value : null;
                             }
@@ -266,8 +283,6 @@ public class ColumnAdditionOperation extends EngineDependentOperation {
                 if (newCell != null) {
                     cellsAtRows.add(new CellAtRow(rowIndex, newCell));
                 }
-
-                return false;
             }
         }.init(column.getCellIndex(), bindings, cellsAtRows, eval);
     }
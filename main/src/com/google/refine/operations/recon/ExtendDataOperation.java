@@ -33,7 +33,10 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package com.google.refine.operations.recon;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -41,13 +44,21 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import com.google.refine.ProjectManager;
 import com.google.refine.browsing.Engine;
 import com.google.refine.browsing.EngineConfig;
 import com.google.refine.browsing.FilteredRows;
@@ -62,6 +73,7 @@ import com.google.refine.model.ReconType;
 import com.google.refine.model.Row;
 import com.google.refine.model.changes.CellAtRow;
 import com.google.refine.model.changes.DataExtensionChange;
+import com.google.refine.model.recon.DataExtensionCache;
 import com.google.refine.model.recon.ReconciledDataExtensionJob;
 import com.google.refine.model.recon.ReconciledDataExtensionJob.ColumnInfo;
 import com.google.refine.model.recon.ReconciledDataExtensionJob.DataExtension;
@@ -73,6 +85,22 @@ import com.google.refine.process.Process;
 
 public class ExtendDataOperation extends EngineDependentOperation {
 
+    final static Logger logger = LoggerFactory.getLogger("extend-data-operation");
+
+    /**
+     * Maximum number of entities fetched in a single request to the service.
+     */
+    static final protected int BATCH_SIZE = 10;
+    /**
+     * Maximum number of requests sent concurrently to the service.
+     */
+    static final protected int MAX_CONCURRENT_REQUESTS = 4;
+    /**
+     * Minimum delay in milliseconds between two requests sent to the service, so that concurrent requests do not
+     * overload it. It can be changed with the <code>refine.data_extension.request_delay</code> system property.
+     */
+    static protected long requestDelay = Long.getLong("refine.data_extension.request_delay", 200);
+
     @JsonProperty("baseColumnName")
     final protected String _baseColumnName;
     @JsonProperty("endpoint")
@@ -254,50 +282,123 @@ public class ExtendDataOperation extends EngineDependentOperation {
             }.init(rowIndices));
         }
 
-        protected int extendRows(
-                List<Integer> rowIndices,
-                List<DataExtension> dataExtensions,
-                int from,
-                int limit,
-                Map<String, ReconCandidate> reconCandidateMap) {
-            Set<String> ids = new HashSet<String>();
+        protected String getMatchedId(int rowIndex) {
+            return _project.rows.get(rowIndex).getCell(_cellIndex).recon.match.id;
+        }
 
-            int end;
-            for (end = from; end < limit && ids.size() < 10; end++) {
-                int index = rowIndices.get(end);
-                Row row = _project.rows.get(index);
-                Cell cell = row.getCell(_cellIndex);
+        /**
+         * Fetches the data of the entities matched in the given rows. Entities fetched earlier with the same endpoint
+         * and extension config are served from the {@link DataExtensionCache}, the others are fetched in batches, with
+         * a bounded number of requests in flight. The results of each batch are stored for the rows matched to its
+         * entities as soon as it arrives, and are not retained otherwise.
+         *
+         * @param dataExtensions
+         *            receives the data of the entity matched in each row, at the position of the row in rowIndices
+         * @return false if the thread was interrupted
+         */
+        protected boolean fetchExtensions(List<Integer> rowIndices, List<DataExtension> dataExtensions) {
+            DataExtensionCache cache = ProjectManager.singleton.getDataExtensionCache();
+            String cacheKey = DataExtensionCache.getCacheKey(_endpoint, _extension);
+            List<ColumnInfo> cachedColumns = cache.getColumns(cacheKey);
+            if (cachedColumns != null) {
+                _job.columns.addAll(cachedColumns);
+            }
 
-                ids.add(cell.recon.match.id);
+            // positions in rowIndices of the rows matched to each entity still to fetch
+            Map<String, List<Integer>> positionsById = new HashMap<String, List<Integer>>();
+            List<Set<String>> batches = new ArrayList<Set<String>>();
+            Set<String> ids = new HashSet<String>();
+            for (int i = 0; i < rowIndices.size(); i++) {
+                String id = getMatchedId(rowIndices.get(i));
+                DataExtension cached = cachedColumns == null ? null : cache.get(cacheKey, id);
+                if (cached != null) {
+                    dataExtensions.set(i, cached);
+                    continue;
+                }
+                List<Integer> positions = positionsById.get(id);
+                if (positions == null) {
+                    positions = new ArrayList<Integer>(1);
+                    positionsById.put(id, positions);
+                    ids.add(id);
+                    if (ids.size() == BATCH_SIZE) {
+                        batches.add(ids);
+                        ids = new HashSet<String>();
+                    }
+                }
+                positions.add(i);
+            }
+            if (!ids.isEmpty()) {
+                batches.add(ids);
+            }
+            if (batches.isEmpty()) {
+                return true;
             }
 
-            Map<String, DataExtension> map = null;
+            Map<String, ReconCandidate> reconCandidateMap = new ConcurrentHashMap<String, ReconCandidate>();
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(MAX_CONCURRENT_REQUESTS, batches.size()));
+            Deque<Future<Map<String, DataExtension>>> inFlight = new ArrayDeque<Future<Map<String, DataExtension>>>();
             try {
-                map = _job.extend(ids, reconCandidateMap);
-            } catch (Exception e) {
-                map = new HashMap<String, DataExtension>();
-            }
+                int submitted = 0;
+                int done = 0;
+                long nextRequestTime = 0;
+                while (done < batches.size() && !_canceled) {
+                    while (submitted < batches.size() && inFlight.size() < MAX_CONCURRENT_REQUESTS) {
+                        // throttle the requests sent to the service
+                        long wait = nextRequestTime - System.currentTimeMillis();
+                        if (wait > 0) {
+                            Thread.sleep(wait);
+                        }
+                        nextRequestTime = System.currentTimeMillis() + requestDelay;
+
+                        Set<String> batch = batches.get(submitted++);
+                        inFlight.add(executor.submit(() -> fetchBatch(batch, reconCandidateMap)));
+                    }
 
-            for (int i = from; i < end; i++) {
-                int index = rowIndices.get(i);
-                Row row = _project.rows.get(index);
-                Cell cell = row.getCell(_cellIndex);
-                String guid = cell.recon.match.id;
+                    Map<String, DataExtension> batchExtensions;
+                    try {
+                        batchExtensions = inFlight.poll().get();
+                    } catch (ExecutionException e) {
+                        // not expected: fetchBatch handles failures itself
+                        logger.error("Fetching data extensions failed", e.getCause());
+                        batchExtensions = Collections.emptyMap();
+                    }
+                    cache.putAll(cacheKey, _job.columns, batchExtensions);
+                    // rows matched to the same entity share the same extension data
+                    for (String id : batches.get(done)) {
+                        List<Integer> positions = positionsById.remove(id);
+                        DataExtension extension = batchExtensions.get(id);
+                        if (extension != null) {
+                            for (int position : positions) {
+                                dataExtensions.set(position, extension);
+                            }
+                        }
+                    }
 
-                if (map.containsKey(guid)) {
-                    dataExtensions.add(map.get(guid));
-                } else {
-                    dataExtensions.add(null);
+                    done++;
+                    _progress = done * 100 / batches.size();
                 }
+            } catch (InterruptedException e) {
+                // the process was canceled or the application is shutting down: stop without applying a change
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                executor.shutdownNow();
             }
+            return true;
+        }
 
-            return end;
+        protected Map<String, DataExtension> fetchBatch(Set<String> ids, Map<String, ReconCandidate> reconCandidateMap) {
+            try {
+                return _job.extend(ids, reconCandidateMap);
+            } catch (Exception e) {
+                logger.warn("Fetching data extensions from " + _endpoint + " failed", e);
+                return new HashMap<String, DataExtension>();
+            }
         }
 
         @Override
         public void run() {
             List<Integer> rowIndices = new ArrayList<Integer>();
-            List<DataExtension> dataExtensions = new ArrayList<DataExtension>();
 
             try {
                 populateRowsWithMatches(rowIndices);
@@ -306,21 +407,10 @@ public class ExtendDataOperation extends EngineDependentOperation {
                 e2.printStackTrace();
             }
 
-            int start = 0;
-            Map<String, ReconCandidate> reconCandidateMap = new HashMap<String, ReconCandidate>();
-
-            while (start < rowIndices.size()) {
-                int end = extendRows(rowIndices, dataExtensions, start, rowIndices.size(), reconCandidateMap);
-                start = end;
-
-                _progress = end * 100 / rowIndices.size();
-                try {
-                    Thread.sleep(200);
-                } catch (InterruptedException e) {
-                    if (_canceled) {
-                        break;
-                    }
-                }
+            List<DataExtension> dataExtensions = new ArrayList<DataExtension>(
+                    Collections.nCopies(rowIndices.size(), (DataExtension) null));
+            if (!fetchExtensions(rowIndices, dataExtensions)) {
+                return;
             }
 
             if (!_canceled) {
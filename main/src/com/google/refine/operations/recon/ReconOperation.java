@@ -49,6 +49,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.refine.ProjectManager;
 import com.google.refine.browsing.Engine;
 import com.google.refine.browsing.EngineConfig;
 import com.google.refine.browsing.FilteredRows;
@@ -65,6 +66,7 @@ import com.google.refine.model.Recon;
 import com.google.refine.model.Row;
 import com.google.refine.model.changes.CellChange;
 import com.google.refine.model.changes.ReconChange;
+import com.google.refine.model.recon.ReconCacheManager;
 import com.google.refine.model.recon.ReconConfig;
 import com.google.refine.model.recon.ReconJob;
 import com.google.refine.model.recon.StandardReconConfig;
@@ -293,7 +295,21 @@ public class ReconOperation extends EngineDependentOperation {
             int done = 0;
 
             List<CellChange> cellChanges = new ArrayList<CellChange>(_entries.size());
-            List<JobGroup> groups = new ArrayList<JobGroup>(jobKeyToGroup.values());
+            List<JobGroup> groups = new ArrayList<JobGroup>(jobKeyToGroup.size());
+
+            // serve the jobs which were already reconciled in an earlier run from the cache
+            ReconCacheManager reconCache = ProjectManager.singleton.getReconCacheManager();
+            String cacheNamespace = _reconConfig.getCacheNamespace();
+            for (Map.Entry<String, JobGroup> entry : jobKeyToGroup.entrySet()) {
+                Recon recon = reconCache.get(cacheNamespace, entry.getKey(), _historyEntryID);
+                if (recon != null) {
+                    addCellChanges(entry.getValue().entries, recon, cellChanges);
+                    done++;
+                } else {
+                    groups.add(entry.getValue());
+                }
+            }
+            int total = jobKeyToGroup.size();
 
             List<ReconJob> jobs = new ArrayList<ReconJob>(batchSize);
             Map<ReconJob, JobGroup> jobToGroup = new HashMap<ReconJob, ReconOperation.JobGroup>();
@@ -311,38 +327,16 @@ public class ReconOperation extends EngineDependentOperation {
                     ReconJob job = jobs.get(j);
                     Recon recon = j < recons.size() ? recons.get(j) : null;
                     JobGroup group = jobToGroup.get(job);
-                    List<ReconEntry> entries = group.entries;
 
                     jobToGroup.remove(job);
                     jobs.remove(j);
                     done++;
 
-                    if (recon != null) {
-                        recon.judgmentBatchSize = entries.size();
-                    }
-
-                    for (ReconEntry entry : entries) {
-                        if (recon == null) {
-                            // TODO add EvalError instead? That is not so convenient
-                            // for users because they would lose the cell contents.
-                            // Better leave the cell unreconciled so they can be reconciled again later.
-                            Cell oldCell = entry.cell;
-                            logger.warn("We have a null recon here" + " " + oldCell + " " + entry.rowIndex);
-                            continue;
-                        }
-                        Cell oldCell = entry.cell;
-                        Cell newCell = new Cell(oldCell.value, recon);
-
-                        CellChange cellChange = new CellChange(
-                                entry.rowIndex,
-                                _cellIndex,
-                                oldCell,
-                                newCell);
-                        cellChanges.add(cellChange);
-                    }
+                    reconCache.put(cacheNamespace, job.getStringKey(), recon);
+                    addCellChanges(group.entries, recon, cellChanges);
                 }
 
-                _progress = done * 100 / groups.size();
+                _progress = done * 100 / total;
                 try {
                     Thread.sleep(50);
                 } catch (InterruptedException e) {
@@ -371,5 +365,31 @@ public class ReconOperation extends EngineDependentOperation {
                 _project.processManager.onDoneProcess(this);
             }
         }
+
+        protected void addCellChanges(List<ReconEntry> entries, Recon recon, List<CellChange> cellChanges) {
+            if (recon != null) {
+                recon.judgmentBatchSize = entries.size();
+            }
+
+            for (ReconEntry entry : entries) {
+                if (recon == null) {
+                    // TODO add EvalError instead? That is not so convenient
+                    // for users because they would lose the cell contents.
+                    // Better leave the cell unreconciled so they can be reconciled again later.
+                    Cell oldCell = entry.cell;
+                    logger.warn("We have a null recon here" + " " + oldCell + " " + entry.rowIndex);
+                    continue;
+                }
+                Cell oldCell = entry.cell;
+                Cell newCell = new Cell(oldCell.value, recon);
+
+                CellChange cellChange = new CellChange(
+                        entry.rowIndex,
+                        _cellIndex,
+                        oldCell,
+                        newCell);
+                cellChanges.add(cellChange);
+            }
+        }
     }
 }
@@ -114,6 +114,7 @@ public class RowReorderOperation extends AbstractOperation {
                 SortingRowVisitor srv = new SortingRowVisitor(visitor);
 
                 srv.initializeFromConfig(project, _sorting);
+                srv.setParallel(true);
                 if (srv.hasCriteria()) {
                     visitor = srv;
                 }
@@ -126,6 +127,7 @@ public class RowReorderOperation extends AbstractOperation {
                 SortingRecordVisitor srv = new SortingRecordVisitor(visitor);
 
                 srv.initializeFromConfig(project, _sorting);
+                srv.setParallel(true);
                 if (srv.hasCriteria()) {
                     visitor = srv;
                 }
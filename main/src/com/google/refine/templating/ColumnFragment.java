@@ -0,0 +1,17 @@
+package com.google.refine.templating;
+
+import com.google.refine.expr.Evaluable;
+
+/**
+ * A <code>${columnName}</code> fragment, which outputs the value of a cell. Its cells are read directly from the rows
+ * rather than through the generic evaluation of its expression.
+ */
+class ColumnFragment extends DynamicFragment {
+
+    final public String columnName;
+
+    public ColumnFragment(String columnName, Evaluable eval) {
+        super(eval);
+        this.columnName = columnName;
+    }
+}
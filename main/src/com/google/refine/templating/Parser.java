@@ -95,7 +95,8 @@ public class Parser {
                     start = current = closeBrace + 1;
 
                     fragments.add(
-                            new DynamicFragment(
+                            new ColumnFragment(
+                                    columnName,
                                     new FieldAccessorExpr(
                                             new FieldAccessorExpr(
                                                     new VariableExpr("cells"),
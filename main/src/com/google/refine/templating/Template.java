@@ -42,6 +42,7 @@ import java.util.Properties;
 import com.google.refine.browsing.RecordVisitor;
 import com.google.refine.browsing.RowVisitor;
 import com.google.refine.expr.ExpressionUtils;
+import com.google.refine.model.Column;
 import com.google.refine.model.Project;
 import com.google.refine.model.Record;
 import com.google.refine.model.Row;
@@ -91,6 +92,15 @@ public class Template {
         public int total;
         public int totalRows;
 
+        // the fragments compiled for the project being exported
+        protected Fragment[] fragments;
+        // the cell index read by each column fragment, or -1 if its column does not exist
+        protected int[] cellIndices;
+        // false if the fragments only read cells, so that the rows need not be bound
+        protected boolean needsBindings;
+        // the output of the row being visited, written at once
+        protected final StringBuilder buffer = new StringBuilder();
+
         public RowWritingVisitor(Writer writer, int limit) {
             this.limit = limit;
             this.writer = writer;
@@ -99,6 +109,7 @@ public class Template {
         @Override
         public void start(Project project) {
             bindings = ExpressionUtils.createBindings(project);
+            compile(project);
 
             try {
                 if (_prefix != null) {
@@ -140,17 +151,53 @@ public class Template {
             return limit > 0 && total >= limit;
         }
 
-        protected void writeValue(Object v) throws IOException {
+        protected void compile(Project project) {
+            fragments = _fragments.toArray(new Fragment[0]);
+            cellIndices = new int[fragments.length];
+            needsBindings = false;
+            for (int i = 0; i < fragments.length; i++) {
+                cellIndices[i] = -1;
+                if (fragments[i] instanceof ColumnFragment) {
+                    Column column = project.columnModel.getColumnByName(((ColumnFragment) fragments[i]).columnName);
+                    if (column != null) {
+                        cellIndices[i] = column.getCellIndex();
+                    }
+                } else if (fragments[i] instanceof DynamicFragment) {
+                    needsBindings = true;
+                }
+            }
+        }
+
+        protected void writeValue(Object v) {
             if (v == null) {
-                writer.write("null");
+                buffer.append("null");
             } else if (ExpressionUtils.isError(v)) {
-                writer.write("null");
-                // writer.write("[Error: " + ((EvalError) v).message);
+                buffer.append("null");
+                // buffer.append("[Error: " + ((EvalError) v).message);
             } else if (v instanceof String) {
-                writer.write((String) v);
+                buffer.append((String) v);
             } else {
-                writer.write(v.toString());
+                buffer.append(v.toString());
+            }
+        }
+
+        protected void writeValues(Object value) {
+            if (value != null && ExpressionUtils.isArrayOrCollection(value)) {
+                if (ExpressionUtils.isArray(value)) {
+                    Object[] a = (Object[]) value;
+                    for (Object v : a) {
+                        writeValue(v);
+                    }
+                } else {
+                    Collection<Object> a = ExpressionUtils.toObjectCollection(value);
+                    for (Object v : a) {
+                        writeValue(v);
+                    }
+                }
+                return;
             }
+
+            writeValue(value);
         }
 
         /**
@@ -160,37 +207,27 @@ public class Template {
         public boolean internalVisit(Project project, int rowIndex, Row row) {
             try {
                 if (totalRows > 0 && _separator != null) {
-                    writer.write(_separator);
+                    buffer.append(_separator);
                 }
                 totalRows++;
-                ExpressionUtils.bind(bindings, row, rowIndex, null, null);
-                for (Fragment f : _fragments) {
+                if (needsBindings) {
+                    ExpressionUtils.bind(bindings, row, rowIndex, null, null);
+                }
+                for (int i = 0; i < fragments.length; i++) {
+                    Fragment f = fragments[i];
                     if (f instanceof StaticFragment) {
-                        writer.write(((StaticFragment) f).text);
+                        buffer.append(((StaticFragment) f).text);
+                    } else if (f instanceof ColumnFragment) {
+                        writeValues(cellIndices[i] >= 0 ? row.getCellValue(cellIndices[i]) : null);
                     } else {
-                        DynamicFragment df = (DynamicFragment) f;
-                        Object value = df.eval.evaluate(bindings);
-
-                        if (value != null && ExpressionUtils.isArrayOrCollection(value)) {
-                            if (ExpressionUtils.isArray(value)) {
-                                Object[] a = (Object[]) value;
-                                for (Object v : a) {
-                                    writeValue(v);
-                                }
-                            } else {
-                                Collection<Object> a = ExpressionUtils.toObjectCollection(value);
-                                for (Object v : a) {
-                                    writeValue(v);
-                                }
-                            }
-                            continue;
-                        }
-
-                        writeValue(value);
+                        writeValues(((DynamicFragment) f).eval.evaluate(bindings));
                     }
                 }
+                writer.append(buffer);
             } catch (IOException e) {
                 // ignore
+            } finally {
+                buffer.setLength(0);
             }
             return false;
         }
@@ -29,24 +29,37 @@ package com.google.refine.commands.row;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.Serializable;
 import java.io.StringWriter;
+import java.util.Map;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import com.google.refine.RefineTest;
+import com.google.refine.browsing.Engine;
 import com.google.refine.commands.Command;
+import com.google.refine.commands.row.GetRowsCommand.CachedPermutation;
 import com.google.refine.expr.MetaParser;
 import com.google.refine.grel.Parser;
+import com.google.refine.model.Cell;
 import com.google.refine.model.Project;
+import com.google.refine.model.Recon;
+import com.google.refine.sorting.SortingConfig;
+import com.google.refine.sorting.SortingPermutation;
+import com.google.refine.util.ParsingUtilities;
 import com.google.refine.util.TestUtils;
 
 public class GetRowsCommandTest extends RefineTest {
@@ -268,6 +281,29 @@ public class GetRowsCommandTest extends RefineTest {
         TestUtils.assertEqualsAsJson(writer.toString(), rowJson);
     }
 
+    @Test
+    public void testPoolOnlyContainsReconsOfPage() throws Exception {
+        Recon[] recons = new Recon[project.rows.size()];
+        for (int i = 0; i < recons.length; i++) {
+            recons[i] = new Recon(0, "http://example.com/id", "http://example.com/schema");
+            Cell cell = project.rows.get(i).getCell(1);
+            project.rows.get(i).setCell(1, new Cell(cell.value, recons[i]));
+        }
+
+        when(request.getParameter("engine")).thenReturn("{\"mode\":\"row-based\",\"facets\":[]}");
+        when(request.getParameter("end")).thenReturn("4");
+        when(request.getParameter("limit")).thenReturn("2");
+        command.doPost(request, response);
+
+        JsonNode result = ParsingUtilities.mapper.readTree(writer.toString());
+        assertEquals(result.get("rows").size(), 2);
+        assertEquals(result.get("rows").get(0).get("i").asInt(), 2);
+        JsonNode pooled = result.get("pool").get("recons");
+        assertEquals(pooled.size(), 2);
+        assertTrue(pooled.has(Long.toString(recons[2].id)));
+        assertTrue(pooled.has(Long.toString(recons[3].id)));
+    }
+
     @Test
     public void testJsonOutputRowsSorted() throws ServletException, IOException {
         String rowJson = "{\n"
@@ -312,6 +348,108 @@ public class GetRowsCommandTest extends RefineTest {
         TestUtils.assertEqualsAsJson(writer.toString(), rowJson);
     }
 
+    @Test
+    public void testSortedViewIsReused() throws ServletException, IOException {
+        String rowJson = "{\n"
+                + "       \"filtered\" : 5,\n"
+                + "       \"limit\" : 1,\n"
+                + "       \"mode\" : \"row-based\",\n"
+                + "       \"nextPageStart\" : 3,\n"
+                + "       \"pool\" : {\n"
+                + "         \"recons\" : { }\n"
+                + "       },\n"
+                + "       \"previousPageEnd\" : 2,\n"
+                + "       \"rows\" : [ {\n"
+                + "         \"cells\" : [ {\n"
+                + "           \"v\" : \"d\"\n"
+                + "         }, {\n"
+                + "           \"v\" : \"e\"\n"
+                + "         } ],\n"
+                + "         \"flagged\" : false,\n"
+                + "         \"i\" : 2,\n"
+                + "         \"k\" : 2,\n"
+                + "         \"starred\" : false\n"
+                + "       } ],\n"
+                + "       \"start\" : 2,\n"
+                + "       \"total\" : 5,\n"
+                + "       \"totalRows\" : 5\n"
+                + "     }";
+
+        when(request.getParameter("engine")).thenReturn("{\"mode\":\"row-based\",\"facets\":[]}");
+        when(request.getParameter("start")).thenReturn("0");
+        when(request.getParameter("limit")).thenReturn("1");
+        when(request.getParameter("sorting")).thenReturn(sortingConfigJson);
+        command.doPost(request, response);
+        SortingPermutation permutation = GetRowsCommand.sortingPermutations.get(project).permutation;
+
+        writer = new StringWriter();
+        when(response.getWriter()).thenReturn(new PrintWriter(writer));
+        when(request.getParameter("start")).thenReturn("2");
+        command.doPost(request, response);
+
+        assertSame(GetRowsCommand.sortingPermutations.get(project).permutation, permutation);
+        assertTrue(permutation.isComplete());
+        TestUtils.assertEqualsAsJson(writer.toString(), rowJson);
+    }
+
+    @Test
+    public void testPartialSortedViewIsReplacedBeyondItsPrefix() throws ServletException, IOException {
+        when(request.getParameter("engine")).thenReturn("{\"mode\":\"row-based\",\"facets\":[]}");
+        when(request.getParameter("start")).thenReturn("0");
+        when(request.getParameter("limit")).thenReturn("1");
+        when(request.getParameter("sorting")).thenReturn(sortingConfigJson);
+        command.doPost(request, response);
+
+        // replace the sorted view by one which only covers its first three rows, as for a large grid
+        CachedPermutation cached = GetRowsCommand.sortingPermutations.get(project);
+        SortingPermutation partial = SortingPermutation.ofRows(project, new Engine(project).getAllFilteredRows(),
+                SortingConfig.reconstruct(sortingConfigJson), 3);
+        assertEquals(partial.size(), 3);
+        assertEquals(partial.getTotal(), 5);
+        GetRowsCommand.sortingPermutations.put(project, new CachedPermutation(cached.key, partial));
+
+        // pages within the prefix are served by the partial view
+        when(request.getParameter("start")).thenReturn("2");
+        writer = new StringWriter();
+        when(response.getWriter()).thenReturn(new PrintWriter(writer));
+        command.doPost(request, response);
+        assertSame(GetRowsCommand.sortingPermutations.get(project).permutation, partial);
+        assertEquals(ParsingUtilities.mapper.readTree(writer.toString()).get("rows").get(0).get("i").asInt(), 2);
+
+        // pages beyond it require a complete view, which is then reused
+        when(request.getParameter("start")).thenReturn("4");
+        writer = new StringWriter();
+        when(response.getWriter()).thenReturn(new PrintWriter(writer));
+        command.doPost(request, response);
+        SortingPermutation complete = GetRowsCommand.sortingPermutations.get(project).permutation;
+        assertTrue(complete.isComplete());
+        assertEquals(ParsingUtilities.mapper.readTree(writer.toString()).get("rows").get(0).get("i").asInt(), 0);
+
+        when(request.getParameter("start")).thenReturn("1");
+        writer = new StringWriter();
+        when(response.getWriter()).thenReturn(new PrintWriter(writer));
+        command.doPost(request, response);
+        assertSame(GetRowsCommand.sortingPermutations.get(project).permutation, complete);
+        assertEquals(ParsingUtilities.mapper.readTree(writer.toString()).get("rows").get(0).get("i").asInt(), 3);
+    }
+
+    @Test
+    public void testExceptionAfterRowsWereWritten() throws IOException {
+        JsonGenerator generator = GetRowsCommand.jsonWriter.createGenerator(writer);
+        generator.writeStartObject();
+        generator.writeStringField("mode", "row-based");
+        generator.writeFieldName("rows");
+        generator.writeStartArray();
+        GetRowsCommand.serialize(Map.of("i", 0)).serialize(generator);
+
+        GetRowsCommand.respondExceptionInResponse(generator, new IllegalStateException("failure"));
+
+        JsonNode result = ParsingUtilities.mapper.readTree(writer.toString());
+        assertEquals(result.get("code").asText(), "error");
+        assertEquals(result.get("message").asText(), "java.lang.IllegalStateException: failure");
+        assertEquals(result.get("rows").size(), 1);
+    }
+
     @Test
     public void testOutputFacetedRowsStart() throws ServletException, IOException {
         String rowJson = "{\n" +
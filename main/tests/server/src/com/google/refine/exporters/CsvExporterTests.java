@@ -193,6 +193,22 @@ public class CsvExporterTests extends RefineTest {
                 ",row2cell1,row2cell2\n");
     }
 
+    @Test
+    public void exportLargeCsvInRowOrder() throws IOException {
+        // large enough for the rows to be formatted in several batches
+        int noOfRows = CustomizableTabularExporterUtilities.PARALLEL_THRESHOLD
+                + CustomizableTabularExporterUtilities.BATCH_SIZE * 3 / 2;
+        CreateGrid(noOfRows, 2);
+
+        SUT.export(project, options, engine, writer);
+
+        StringBuilder expected = new StringBuilder("column0,column1\n");
+        for (int i = 0; i < noOfRows; i++) {
+            expected.append("row" + i + "cell0,row" + i + "cell1\n");
+        }
+        assertEqualsSystemLineEnding(writer.toString(), expected.toString());
+    }
+
     // all date type cells are in unified format
     /**
      * @Ignore
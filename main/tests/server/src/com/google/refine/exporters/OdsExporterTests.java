@@ -37,9 +37,13 @@ import static org.mockito.Mockito.mock;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Properties;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import org.odftoolkit.odfdom.doc.OdfDocument;
 import org.odftoolkit.odfdom.doc.table.OdfTable;
@@ -117,13 +121,101 @@ public class OdsExporterTests extends RefineTest {
 
         OdfDocument odfDoc = OdfDocument.loadDocument(new ByteArrayInputStream(stream.toByteArray()));
         List<OdfTable> tables = odfDoc.getTableList();
-        Assert.assertEquals(tables.size(), 1); // we deleted the first sheet generated by default
+        Assert.assertEquals(tables.size(), 1);
         OdfTable odfTab = tables.get(0);
         Assert.assertEquals(odfTab.getTableName(), "ods exporter test project");
         Assert.assertEquals(odfTab.getRowCount(), 3); // first row is header
         Assert.assertEquals(odfTab.getRowByIndex(1).getCellByIndex(0).getStringValue(), "row0cell0");
     }
 
+    @Test
+    public void exportTypedValues() throws Exception {
+        CreateColumns(3);
+        Row row = new Row(3);
+        row.cells.add(new Cell(12.5, null));
+        row.cells.add(new Cell(true, null));
+        row.cells.add(null);
+        project.rows.add(row);
+        OffsetDateTime now = OffsetDateTime.now();
+        Row dateRow = new Row(3);
+        dateRow.cells.add(new Cell(now, null));
+        project.rows.add(dateRow);
+
+        SUT.export(project, options, engine, stream);
+
+        OdfDocument odfDoc = OdfDocument.loadDocument(new ByteArrayInputStream(stream.toByteArray()));
+        OdfTable odfTab = odfDoc.getTableList().get(0);
+        Assert.assertEquals(odfTab.getRowCount(), 3);
+        Assert.assertEquals(odfTab.getRowByIndex(1).getCellByIndex(0).getValueType(), "float");
+        Assert.assertEquals(odfTab.getRowByIndex(1).getCellByIndex(0).getDoubleValue(), 12.5);
+        Assert.assertEquals(odfTab.getRowByIndex(1).getCellByIndex(1).getValueType(), "boolean");
+        Assert.assertTrue(odfTab.getRowByIndex(1).getCellByIndex(1).getBooleanValue());
+        Assert.assertEquals(odfTab.getRowByIndex(2).getCellByIndex(0).getValueType(), "date");
+    }
+
+    @Test
+    public void exportTextWithLineBreaksAndControlCharacters() throws Exception {
+        CreateColumns(1);
+        Row row = new Row(1);
+        row.cells.add(new Cell("first\u0001 line\nsecond line", null));
+        project.rows.add(row);
+
+        SUT.export(project, options, engine, stream);
+
+        OdfDocument odfDoc = OdfDocument.loadDocument(new ByteArrayInputStream(stream.toByteArray()));
+        OdfTable odfTab = odfDoc.getTableList().get(0);
+        Assert.assertEquals(odfTab.getRowByIndex(1).getCellByIndex(0).getStringValue(), "first line\nsecond line");
+    }
+
+    @Test
+    public void exportTextWithWhiteSpace() throws Exception {
+        String[] values = {
+                "two  spaces",
+                " leading space",
+                "trailing space ",
+                "   ",
+                "tab\tseparated",
+                "line \n  indented",
+                "single space",
+        };
+        CreateColumns(1);
+        for (String value : values) {
+            Row row = new Row(1);
+            row.cells.add(new Cell(value, null));
+            project.rows.add(row);
+        }
+
+        SUT.export(project, options, engine, stream);
+
+        OdfDocument odfDoc = OdfDocument.loadDocument(new ByteArrayInputStream(stream.toByteArray()));
+        OdfTable odfTab = odfDoc.getTableList().get(0);
+        for (int i = 0; i < values.length; i++) {
+            Assert.assertEquals(odfTab.getRowByIndex(i + 1).getCellByIndex(0).getStringValue(), values[i]);
+        }
+
+        // spaces which readers would collapse are written as elements
+        String content = readZipEntry(stream.toByteArray(), "content.xml");
+        Assert.assertTrue(content.contains("<text:p>two <text:s/>spaces</text:p>"), content);
+        Assert.assertTrue(content.contains("<text:p><text:s/>leading space</text:p>"), content);
+        Assert.assertTrue(content.contains("<text:p>trailing space<text:s/></text:p>"), content);
+        Assert.assertTrue(content.contains("<text:p><text:s text:c=\"3\"/></text:p>"), content);
+        Assert.assertTrue(content.contains("<text:p>tab<text:tab/>separated</text:p>"), content);
+        Assert.assertTrue(content.contains(
+                "<text:p>line<text:s/><text:line-break/><text:s text:c=\"2\"/>indented</text:p>"), content);
+        Assert.assertTrue(content.contains("<text:p>single space</text:p>"), content);
+    }
+
+    private static String readZipEntry(byte[] zip, String name) throws IOException {
+        try (ZipInputStream zipStream = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (ZipEntry entry = zipStream.getNextEntry(); entry != null; entry = zipStream.getNextEntry()) {
+                if (entry.getName().equals(name)) {
+                    return new String(zipStream.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        throw new IOException("Missing zip entry " + name);
+    }
+
     protected void CreateColumns(int noOfColumns) {
         for (int i = 0; i < noOfColumns; i++) {
             try {
@@ -271,6 +271,25 @@ public class TemplatingExporterTests extends RefineTest {
                         + suffix);
     }
 
+    @Test
+    public void exportTemplateMixingColumnsAndExpressions() throws IOException {
+        CreateGrid(2, 2);
+        project.rows.get(1).cells.set(1, null);
+        String template = rowPrefix + "${column1}" + cellSeparator + "${missing}" + cellSeparator
+                + "{{cells.column0.value + rowIndex}}";
+        when(options.getProperty("template")).thenReturn(template);
+        when(options.getProperty("prefix")).thenReturn(prefix);
+        when(options.getProperty("suffix")).thenReturn(suffix);
+        when(options.getProperty("separator")).thenReturn(rowSeparator);
+        SUT.export(project, options, engine, writer);
+
+        Assert.assertEquals(writer.toString(),
+                prefix
+                        + rowPrefix + "row0cell1" + cellSeparator + "null" + cellSeparator + "row0cell00" + rowSeparator
+                        + rowPrefix + "null" + cellSeparator + "null" + cellSeparator + "row1cell01"
+                        + suffix);
+    }
+
     // helper methods
 
     protected void CreateColumns(int noOfColumns) {
@@ -39,6 +39,7 @@ import static org.testng.Assert.assertNotEquals;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 import java.util.regex.Matcher;
@@ -367,6 +368,49 @@ public class SqlExporterTests extends RefineTest {
 
     }
 
+    @Test
+    public void testExportSqlInBatches() throws IOException {
+        createGrid(5, 2);
+        String tableName = "sql_table_test";
+        ObjectNode optionsJson = createOptionsFromProject(tableName, null, null, null, false);
+        optionsJson.put("includeStructure", false);
+        optionsJson.put("insertBatchSize", 2);
+
+        when(options.getProperty("options")).thenReturn(optionsJson.toString());
+        SUT.export(project, options, engine, writer);
+
+        String insert = "INSERT INTO sql_table_test (\"column0\",\"column1\") VALUES \n";
+        Assert.assertEquals(writer.toString(),
+                insert + "( 'row0cell0','row0cell1' ),\n( 'row1cell0','row1cell1' );\n" +
+                        insert + "( 'row2cell0','row2cell1' ),\n( 'row3cell0','row3cell1' );\n" +
+                        insert + "( 'row4cell0','row4cell1' );\n");
+    }
+
+    @Test
+    public void testExportSqlInSingleStatement() throws IOException {
+        createGrid(3, 2);
+        String tableName = "sql_table_test";
+        ObjectNode optionsJson = createOptionsFromProject(tableName, null, null, null, false);
+        optionsJson.put("includeStructure", false);
+        optionsJson.put("insertBatchSize", 0);
+
+        when(options.getProperty("options")).thenReturn(optionsJson.toString());
+        SUT.export(project, options, engine, writer);
+
+        Assert.assertEquals(countWordInString(writer.toString(), "INSERT INTO"), 1);
+    }
+
+    @Test
+    public void testInsertSqlIsTerminated() {
+        List<ArrayList<SqlData>> rows = List.of(
+                new ArrayList<>(List.of(new SqlData("column0", "a", "a"), new SqlData("column1", "b", "b"))),
+                new ArrayList<>(List.of(new SqlData("column0", "c", "c"), new SqlData("column1", "d", "d"))));
+        SqlInsertBuilder builder = new SqlInsertBuilder("sql_table_test", List.of("column0", "column1"), rows, null);
+
+        Assert.assertEquals(builder.getInsertSQL(),
+                "INSERT INTO sql_table_test (\"column0\",\"column1\") VALUES \n( 'a','b' ),\n( 'c','d' );\n");
+    }
+
     // helper methods
 
     public int countWordInString(String input, String word) {
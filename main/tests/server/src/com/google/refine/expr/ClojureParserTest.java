@@ -70,4 +70,19 @@ public class ClojureParserTest {
         Object result = evaluable.evaluate(bindings);
         assertEquals(result, expectedLength, "Length difference should be the same.");
     }
+
+    @Test
+    public void testSameExpressionParsedTwice() throws ParsingException {
+        Properties bindings = createBindings();
+        bindings.put("value", 2);
+
+        Evaluable first = (new ClojureParser()).parse("(* 3 value)", "clojure");
+        Evaluable second = (new ClojureParser()).parse("(* 3 value)", "clojure");
+        assertEquals(first.getSource(), "(* 3 value)");
+        assertEquals(first.evaluate(bindings), 6L);
+        assertEquals(second.evaluate(bindings), 6L);
+
+        bindings.put("value", "not a number");
+        assertTrue(second.evaluate(bindings) instanceof EvalError);
+    }
 }
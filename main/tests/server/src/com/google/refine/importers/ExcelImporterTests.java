@@ -52,9 +52,12 @@ import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Locale;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.io.FileUtils;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
@@ -453,6 +456,54 @@ public class ExcelImporterTests extends ImporterTest {
 
     }
 
+    @Test
+    public void readXlsxWithLimit() throws IOException {
+        ArrayNode sheets = ParsingUtilities.mapper.createArrayNode();
+        sheets.add(ParsingUtilities.mapper
+                .readTree("{name: \"file-source#Test Sheet 0\", fileNameAndSheetIndex: \"file-source#0\", rows: 31, selected: true}"));
+        whenGetArrayOption("sheets", options, sheets);
+
+        whenGetIntegerOption("ignoreLines", options, 0);
+        whenGetIntegerOption("headerLines", options, 0);
+        whenGetIntegerOption("skipDataLines", options, 0);
+        whenGetIntegerOption("limit", options, 2);
+        whenGetBooleanOption("storeBlankCellsAsNulls", options, true);
+
+        InputStream stream = new FileInputStream(xlsxFile);
+
+        parseOneFile(SUT, stream);
+
+        assertEquals(project.rows.size(), 2);
+        assertEquals(project.rows.get(1).getCellValue(0), 1.1);
+        assertEquals(project.rows.get(1).getCellValue(4), " Row 1 Col 5");
+    }
+
+    @Test
+    public void testDimensionRowCount() {
+        assertEquals(XlsxStreamingReader.getDimensionRowCount("A1:E31"), 31);
+        assertEquals(XlsxStreamingReader.getDimensionRowCount("B3:AB10"), 8);
+        assertEquals(XlsxStreamingReader.getDimensionRowCount("A1"), 1);
+        assertEquals(XlsxStreamingReader.getDimensionRowCount("A:C"), -1);
+        assertEquals(XlsxStreamingReader.getDimensionRowCount(null), -1);
+    }
+
+    @Test
+    public void testSheetRecordsOfXlsx() throws IOException {
+        FileUtils.copyFile(xlsxFileWithMultiSheets, new File(job.getRawDataDir(), "sheets.xlsx"));
+        List<ObjectNode> fileRecords = List.of(ParsingUtilities.evaluateJsonStringToObjectNode(
+                "{\"location\": \"sheets.xlsx\",\"fileName\": \"sheets.xlsx\"}"));
+
+        ObjectNode options = SUT.createParserUIInitializationData(job, fileRecords, "binary/text/xml/xls/xlsx");
+
+        ArrayNode sheetRecords = (ArrayNode) options.get("sheetRecords");
+        assertEquals(sheetRecords.size(), SHEETS);
+        for (int i = 0; i < SHEETS; i++) {
+            assertEquals(sheetRecords.get(i).get("name").asText(), "sheets.xlsx#Test Sheet " + i);
+            assertEquals(sheetRecords.get(i).get("fileNameAndSheetIndex").asText(), "sheets.xlsx#" + i);
+            assertEquals(sheetRecords.get(i).get("rows").asInt(), ROWS);
+        }
+    }
+
     private static File createSpreadsheet(boolean xml, LocalDateTime date) {
 
         final Workbook wb = xml ? new XSSFWorkbook() : new HSSFWorkbook();
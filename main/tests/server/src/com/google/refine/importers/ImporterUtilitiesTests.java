@@ -38,9 +38,11 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.Random;
 
 import org.slf4j.LoggerFactory;
 import org.testng.Assert;
@@ -70,6 +72,49 @@ public class ImporterUtilitiesTests extends RefineTest {
         Assert.assertEquals(response, END_QUOTES_SHOULD_BE_RETAINED);
     }
 
+    @Test
+    public void parseCellValueTypes() {
+        Assert.assertEquals(ImporterUtilities.parseCellValue(" 42 "), 42L);
+        Assert.assertEquals(ImporterUtilities.parseCellValue("-0"), 0L);
+        Assert.assertEquals(ImporterUtilities.parseCellValue("+7"), 7L);
+        Assert.assertEquals(ImporterUtilities.parseCellValue("9223372036854775807"), Long.MAX_VALUE);
+        Assert.assertEquals(ImporterUtilities.parseCellValue("9223372036854775808"), 9223372036854775808.0);
+        Assert.assertEquals(ImporterUtilities.parseCellValue("1.5"), 1.5);
+        Assert.assertEquals(ImporterUtilities.parseCellValue("-0.0"), -0.0);
+        Assert.assertEquals(ImporterUtilities.parseCellValue(".5e-3"), 0.0005);
+        Assert.assertEquals(ImporterUtilities.parseCellValue("2d"), 2.0);
+        Assert.assertEquals(ImporterUtilities.parseCellValue("0x1p3"), 8.0);
+        Assert.assertEquals(ImporterUtilities.parseCellValue("\u0661\u0662"), 12L);
+        Assert.assertEquals(ImporterUtilities.parseCellValue("1e400"), "1e400");
+        Assert.assertEquals(ImporterUtilities.parseCellValue("NaN"), "NaN");
+        Assert.assertEquals(ImporterUtilities.parseCellValue("1e"), "1e");
+        Assert.assertEquals(ImporterUtilities.parseCellValue("."), ".");
+        Assert.assertEquals(ImporterUtilities.parseCellValue("12 monkeys"), "12 monkeys");
+    }
+
+    @Test
+    public void parseNumberMatchesJdkParsing() {
+        String alphabet = "0123456789..eE+-dDfxNa\u0663\u0001 ";
+        Random random = new Random(1234);
+        for (int i = 0; i < 100000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = 1 + random.nextInt(i % 2 == 0 ? 8 : 24);
+            for (int j = 0; j < length; j++) {
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String s = sb.toString().trim();
+            if (s.isEmpty()) {
+                continue;
+            }
+            Serializable expected = ImporterUtilities.parseNumberWithExceptions(s);
+            Serializable actual = ImporterUtilities.parseNumber(s);
+            Assert.assertEquals(actual, expected, s);
+            if (expected != null) {
+                Assert.assertEquals(actual.getClass(), expected.getClass(), s);
+            }
+        }
+    }
+
     @Test
     public void getIntegerOption() {
         Properties options = mock(Properties.class);
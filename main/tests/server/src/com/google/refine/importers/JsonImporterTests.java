@@ -126,6 +126,26 @@ public class JsonImporterTests extends ImporterTest {
         assertEquals(row.getCell(1).value, "Author 1, The");
     }
 
+    @Test
+    public void canParseJsonLines() throws Exception {
+        RunTest(getJsonLinesSample(), getJsonLinesOptions());
+
+        assertProjectCreated(project, 4, 6);
+        assertEquals(project.rows.get(5).getCell(1).value, "Author 6, The");
+    }
+
+    @Test
+    public void stopsReadingJsonLinesAtLimit() throws Exception {
+        ObjectNode options = getJsonLinesOptions();
+        JSONUtilities.safePut(options, "limit", 2);
+        // the malformed last line is never read
+        RunTest(getTypicalElement(1) + "\n" + getTypicalElement(2) + "\n" + getTypicalElement(3) + "\n{ \"id\" : ;",
+                options);
+
+        assertProjectCreated(project, 4, 2);
+        assertEquals(project.rows.get(1).getCell(1).value, "Author 2, The");
+    }
+
     @Test
     public void canThrowError() throws IOException {
         String errJSON = getSampleWithError();
@@ -604,6 +624,28 @@ public class JsonImporterTests extends ImporterTest {
         return options;
     }
 
+    private static String getJsonLinesSample() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i < 7; i++) {
+            sb.append(getTypicalElement(i)).append("\n");
+        }
+        return sb.toString();
+    }
+
+    private ObjectNode getJsonLinesOptions() {
+        ObjectNode options = SUT.createParserUIInitializationData(
+                job, new LinkedList<>(), "text/json");
+
+        ArrayNode path = ParsingUtilities.mapper.createArrayNode();
+        JSONUtilities.append(path, JsonImporter.ANONYMOUS);
+
+        JSONUtilities.safePut(options, "recordPath", path);
+        JSONUtilities.safePut(options, "trimStrings", false);
+        JSONUtilities.safePut(options, "storeEmptyStrings", true);
+        JSONUtilities.safePut(options, "guessCellValueTypes", false);
+        return options;
+    }
+
     private static String getSampleWithDuplicateNestedElements() {
         StringBuilder sb = new StringBuilder();
         sb.append("[");
@@ -38,7 +38,9 @@ import java.io.InputStream;
 import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.slf4j.LoggerFactory;
 import org.testng.Assert;
@@ -84,6 +86,24 @@ public class RdfTripleImporterTests extends ImporterTest {
         assertProjectEquals(project, expectedProject);
     }
 
+    @Test
+    public void stopsReadingAtLimit() {
+        String sampleRdf = "<http://rdf.mybase.com/ns/en.bob_dylan> <http://rdf.mybase.com/ns/music.artist.album> <http://rdf.mybase.com/ns/en.blood_on_the_tracks>.\n"
+                +
+                "<http://rdf.mybase.com/ns/en.joan_baez> <http://rdf.mybase.com/ns/music.artist.album> <http://rdf.mybase.com/ns/en.diamonds_and_rust>.\n"
+                +
+                "<http://rdf.mybase.com/ns/en.leonard_cohen> <http://rdf.mybase.com/ns/music.artist.album> <http://rdf.mybase.com/ns/en.songs_of_love_and_hate>.\n"
+                +
+                "<http://rdf.mybase.com/ns/en.malformed";
+        InputStream input = new ByteArrayInputStream(sampleRdf.getBytes(StandardCharsets.UTF_8));
+        List<Exception> exceptions = new ArrayList<>();
+
+        SUT.parseOneFile(project, metadata, job, "file-source", input, 2, options, exceptions);
+
+        Assert.assertEquals(exceptions.size(), 0);
+        Assert.assertEquals(project.rows.size(), 2);
+    }
+
     @Test
     public void canParseMultiLineTriple() throws UnsupportedEncodingException {
         String sampleRdf = "<http://rdf.mybase.com/ns/en.bob_dylan> <http://rdf.mybase.com/ns/music.artist.album> <http://rdf.mybase.com/ns/en.blood_on_the_tracks>.\n"
@@ -41,11 +41,13 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.univocity.parsers.common.AbstractParser;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.input.CharSequenceReader;
 import org.slf4j.LoggerFactory;
@@ -624,6 +626,57 @@ public class SeparatorBasedImporterTests extends ImporterTest {
         Assert.assertEquals(project.columnModel.columns.get(2).getName(), "Col 5");
     }
 
+    @Test
+    public void readInParallelChunks() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            sb.append("row" + i + ",\"quoted, " + i + "\",\"multi\nline \"\"" + i + "\"\"\"\n");
+            if (i % 50 == 0) {
+                sb.append("\n# a comment, with a \" quote\n");
+            }
+        }
+        String input = sb.toString();
+        // a quote in an unquoted value, after which the input is parsed sequentially
+        String inputWithStrayQuote = input + "stray\"quote,\"x\ny\"\n" + input;
+
+        for (String data : new String[] { input, inputWithStrayQuote }) {
+            AbstractParser parser = SeparatorBasedImporter.createParser(false, ",", '"', true, false);
+            parser.beginParsing(new StringReader(data));
+            List<List<Object>> expected = new ArrayList<>();
+            String[] values;
+            while ((values = parser.parseNext()) != null) {
+                expected.add(Arrays.asList((Object[]) values));
+            }
+
+            List<List<Object>> actual = new ArrayList<>();
+            try (ParallelSeparatorReader reader = new ParallelSeparatorReader(new StringReader(data),
+                    () -> SeparatorBasedImporter.createParser(false, ",", '"', true, false),
+                    ',', '"', true, '#', false, false, 4, 256)) {
+                List<Object> row;
+                while ((row = reader.getNextRowOfCells()) != null) {
+                    actual.add(new ArrayList<>(row));
+                }
+            }
+            assertEquals(actual, expected);
+        }
+    }
+
+    @Test
+    public void readSharesRepeatedValues() {
+        StringBuilder sb = new StringBuilder("id,status\n");
+        for (int i = 0; i < 100; i++) {
+            sb.append(i + "," + (i % 2 == 0 ? "open" : "closed") + "\n");
+        }
+
+        prepareOptions(",", -1, 0, 0, 1, false, false);
+        parseOneFile(SUT, new StringReader(sb.toString()));
+
+        Assert.assertEquals(project.rows.size(), 100);
+        Assert.assertSame(project.rows.get(2).getCellValue(1), project.rows.get(0).getCellValue(1));
+        Assert.assertSame(project.rows.get(3).getCellValue(1), project.rows.get(1).getCellValue(1));
+        Assert.assertTrue(job.getSavedMemory() > 0);
+    }
+
     // ---------------------guess separators------------------------
 
     @Test
@@ -111,6 +111,30 @@ public class XmlImporterTests extends ImporterTest {
         Assert.assertEquals(row.getCell(1).value, "Author 1, The");
     }
 
+    @Test
+    public void stopsReadingAtLimit() throws Exception {
+        ObjectNode options = getOptions(job, SUT);
+        JSONUtilities.safePut(options, "limit", 2);
+        // the malformed end of the document is never read
+        RunTest("<?xml version=\"1.0\"?><library>" + getTypicalElement(1) + getTypicalElement(2)
+                + getTypicalElement(3) + "<book></library>", options);
+
+        assertProjectCreated(project, 4, 2);
+        Assert.assertEquals(project.rows.get(1).getCell(1).value, "Author 2, The");
+    }
+
+    @Test
+    public void limitCountsRecordsAcrossContainers() throws Exception {
+        ObjectNode options = getNestedOptions(job, SUT);
+        JSONUtilities.safePut(options, "limit", 3);
+        RunTest("<?xml version=\"1.0\"?><nest><nest2>"
+                + "<library>" + getTypicalElement(1) + getTypicalElement(2) + "</library>"
+                + "<library>" + getTypicalElement(3) + getTypicalElement(4) + "</library>"
+                + "</nest2></nest>", options);
+
+        assertProjectCreated(project, 4, 3);
+    }
+
     @Test
     public void setsProjectMetadata() throws IOException {
         // Setup a file record to import
@@ -354,6 +354,100 @@ public class ExtendDataOperationTests extends RefineTest {
         }
     }
 
+    @Test
+    public void testFetchFromCache() throws Exception {
+        DataExtensionConfig extension = DataExtensionConfig
+                .reconstruct("{\"properties\":[{\"id\":\"P297\",\"name\":\"ISO 3166-1 alpha-2 code\"}]}");
+
+        try (MockWebServer server = new MockWebServer()) {
+            server.start();
+            server.setDispatcher(dispatcher);
+
+            mockHttpCall("{\"ids\":[\"Q863\",\"Q794\",\"Q17\",\"Q30\"],\"properties\":[{\"id\":\"P297\"}]}",
+                    "{"
+                            + "\"rows\": {"
+                            + "    \"Q794\": {\"P297\": [{\"str\": \"IR\"}]},"
+                            + "    \"Q863\": {\"P297\": []},"
+                            + "    \"Q30\": {\"P297\": [{\"str\": \"US\"}]},"
+                            + "    \"Q17\": {\"P297\": [{\"str\": \"JP\"}]}"
+                            + "},"
+                            + "\"meta\": ["
+                            + "   {\"name\": \"ISO 3166-1 alpha-2 code\", \"id\": \"P297\"}"
+                            + "]}");
+
+            EngineDependentOperation op = new ExtendDataOperation(engine_config,
+                    "country",
+                    server.url("/reconcile").url().toString(),
+                    RECON_IDENTIFIER_SPACE,
+                    RECON_SCHEMA_SPACE,
+                    extension,
+                    1,
+                    List.of("ISO 3166-1 alpha-2 code"));
+
+            runOperation(op, project);
+            project.history.undoRedo(0);
+            runOperation(op, project);
+
+            // the second run was served from the cache
+            assertEquals(server.getRequestCount(), 1);
+            Project expectedProject = createProject(
+                    new String[] { "country", "ISO 3166-1 alpha-2 code" },
+                    new Serializable[][] {
+                            { reconCell1, "IR" },
+                            { reconCell2, "JP" },
+                            { reconCell3, null },
+                            { reconCell4, "US" },
+                    });
+            assertProjectEquals(project, expectedProject);
+        }
+    }
+
+    @Test
+    public void testRequestsAreThrottled() throws Exception {
+        DataExtensionConfig extension = DataExtensionConfig
+                .reconstruct("{\"properties\":[{\"id\":\"P297\",\"name\":\"ISO 3166-1 alpha-2 code\"}]}");
+        // more distinct entities than fit in a single request
+        for (int i = 0; i < ExtendDataOperation.BATCH_SIZE; i++) {
+            Row row = new Row(2);
+            row.setCell(0, reconciledCell("Country " + i, "Q" + (1000 + i)));
+            project.rows.add(row);
+        }
+
+        List<Long> requestTimes = Collections.synchronizedList(new ArrayList<Long>());
+        long requestDelay = ExtendDataOperation.requestDelay;
+        ExtendDataOperation.requestDelay = 300;
+        try (MockWebServer server = new MockWebServer()) {
+            server.start();
+            server.setDispatcher(new Dispatcher() {
+
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    requestTimes.add(System.currentTimeMillis());
+                    return new MockResponse().setResponseCode(200).setBody("{\"rows\": {}, \"meta\": ["
+                            + "{\"name\": \"ISO 3166-1 alpha-2 code\", \"id\": \"P297\"}]}");
+                }
+            });
+
+            EngineDependentOperation op = new ExtendDataOperation(engine_config,
+                    "country",
+                    server.url("/reconcile").url().toString(),
+                    RECON_IDENTIFIER_SPACE,
+                    RECON_SCHEMA_SPACE,
+                    extension,
+                    1,
+                    List.of("ISO 3166-1 alpha-2 code"));
+
+            runOperation(op, project);
+
+            assertEquals(requestTimes.size(), 2);
+            long first = Math.min(requestTimes.get(0), requestTimes.get(1));
+            long second = Math.max(requestTimes.get(0), requestTimes.get(1));
+            Assert.assertTrue(second - first >= 250, "requests sent " + (second - first) + "ms apart");
+        } finally {
+            ExtendDataOperation.requestDelay = requestDelay;
+        }
+    }
+
     @Test
     public void testFetchOtherDatatypes() throws Exception {
 
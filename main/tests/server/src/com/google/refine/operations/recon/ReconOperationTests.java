@@ -33,6 +33,8 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 import static org.testng.Assert.assertEquals;
@@ -59,6 +61,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Test;
 
+import com.google.refine.ProjectManager;
 import com.google.refine.RefineTest;
 import com.google.refine.browsing.EngineConfig;
 import com.google.refine.messages.OpenRefineMessage;
@@ -180,6 +183,8 @@ public class ReconOperationTests extends RefineTest {
 
     @BeforeMethod
     public void setUpDependencies() {
+        // the recon cache is shared by the whole workspace: do not reuse the results of other tests
+        ProjectManager.singleton.getReconCacheManager().flushAll();
         project = createProject("test project",
                 new String[] { "column" },
                 new Serializable[][] {
@@ -308,6 +313,27 @@ public class ReconOperationTests extends RefineTest {
         assertProjectEquals(project, expected);
     }
 
+    @Test
+    public void testCachedRecon() throws Exception {
+        when(reconConfig.getCacheNamespace()).thenReturn("test namespace");
+        ReconOperation operation = new ReconOperation(EngineConfig.defaultRowBased(), "column", reconConfig);
+
+        runOperation(operation, project);
+        verify(reconConfig, times(2)).batchRecon(any(), anyLong());
+
+        // reconciling the same values again does not query the service
+        project.history.undoRedo(0);
+        Assert.assertNull(project.rows.get(0).getCell(0).recon);
+        runOperation(operation, project);
+        verify(reconConfig, times(2)).batchRecon(any(), anyLong());
+
+        Cell cell = project.rows.get(0).getCell(0);
+        assertEquals(cell.recon.judgment, Judgment.Matched);
+        Assert.assertNotEquals(cell.recon.id, recon1.id);
+        assertEquals(project.rows.get(3).getCell(0).recon.judgment, Judgment.Matched);
+        assertEquals(project.rows.get(1).getCell(0).recon.judgment, Judgment.None);
+    }
+
     @Test
     public void testFailingRecon() throws Exception {
         Project project = createProject("my recon test project",
@@ -252,6 +252,8 @@ function registerImporting() {
   
   IM.registerExtension(".json", "text/json");
   IM.registerExtension(".js", "text/json");
+  IM.registerExtension(".jsonl", "text/json");
+  IM.registerExtension(".ndjson", "text/json");
 
   IM.registerExtension(".xls", "binary/text/xml/xls/xlsx");
   IM.registerExtension(".xlsx", "binary/text/xml/xls/xlsx");
@@ -308,6 +310,8 @@ function registerImporting() {
   IM.registerMimeType("application/json", "text/json");
   IM.registerMimeType("application/javascript", "text/json");
   IM.registerMimeType("text/json", "text/json");
+  IM.registerMimeType("application/x-ndjson", "text/json");
+  IM.registerMimeType("application/jsonl", "text/json");
   IM.registerMimeType("+json", "text/json"); // suffix will be tried only as fallback
 
   IM.registerMimeType("application/marc", "text/marc");
@@ -354,7 +358,7 @@ function registerLanguages() {
 function registerDistances() {
    var DF = Packages.com.google.refine.clustering.knn.DistanceFactory;
    var VicinoDistance = Packages.com.google.refine.clustering.knn.VicinoDistance;
-   DF.put("levenshtein", new VicinoDistance(new Packages.edu.mit.simile.vicino.distances.LevenshteinDistance()));
+   DF.put("levenshtein", new Packages.com.google.refine.clustering.knn.LevenshteinDistance());
    DF.put("ppm", new VicinoDistance(new Packages.edu.mit.simile.vicino.distances.PPMDistance()));
 }
 
@@ -466,6 +466,10 @@ ClusteringDialog.prototype._cluster = function() {
 
 ClusteringDialog.prototype._updateData = function(data) {
     var clusters = [];
+    // the nearest neighbour method returns its clusters next to blocking statistics
+    if (!Array.isArray(data)) {
+        data = data.clusters;
+    }
     $.each(data, function() {
         var cluster = {
             edit: false,
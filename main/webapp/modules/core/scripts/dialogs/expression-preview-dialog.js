@@ -487,7 +487,7 @@ ExpressionPreviewDialog.Widget.prototype.update = function() {
             function(data) {
                 var clusters = [];
                 if (data.code != "error") {
-                    $.each(data, function() {
+                    $.each(Array.isArray(data) ? data : data.clusters, function() {
                         var cluster = {
                             choices: this,
                         };
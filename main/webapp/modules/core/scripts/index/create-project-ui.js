@@ -228,7 +228,11 @@ Refine.CreateProjectUI.prototype.pollImportJob = function(start, jobID, timerID,
         $('#create-project-progress-message').text(progress.message);
         if ('memory' in progress) {
           var percent = Math.ceil(progress.memory * 100.0 / progress.maxmemory);
-          $('#create-project-progress-memory').text($.i18n('core-index-create/memory-usage', percent, progress.memory, progress.maxmemory));
+          var memoryText = $.i18n('core-index-create/memory-usage', percent, progress.memory, progress.maxmemory);
+          if (progress.savedmemory > 0) {
+            memoryText += ' ' + $.i18n('core-index-create/memory-saved', progress.savedmemory);
+          }
+          $('#create-project-progress-memory').text(memoryText);
           if (percent > 90) {
             $('#create-project-progress-memory').addClass('warning');
           } else {
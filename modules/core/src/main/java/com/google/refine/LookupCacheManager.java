@@ -27,12 +27,17 @@
 
 package com.google.refine;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.refine.expr.ExpressionUtils;
 import com.google.refine.expr.HasFieldsListImpl;
@@ -44,17 +49,55 @@ import com.google.refine.util.LookupException;
 
 /**
  * Manage the cache of project's lookups.
+ * <p>
+ * Lookups are shared by all threads: when several threads need the same lookup, it is only computed once, by the
+ * first of them, while the others wait for it. The cache is bounded by an estimate of the memory used by the lookups,
+ * the least recently used ones being evicted first, whichever project they belong to.
  *
  * @author Lu Liu
  */
 public class LookupCacheManager {
 
+    final static Logger logger = LoggerFactory.getLogger("lookup_cache_manager");
+
     public static final String INDEX_COLUMN_NAME = "_OpenRefine_Index_Column_Name_";
 
-    protected final Map<String, ProjectLookup> _lookups = new HashMap<>();
+    /**
+     * The default memory budget of the cache, as a fraction of the maximum heap size.
+     */
+    public static final int DEFAULT_MEMORY_BUDGET_RATIO = 8;
+
+    protected final Cache<String, ProjectLookup> _lookups;
 
     /**
-     * Computes the ProjectLookup based on combination key, returns the cached one from the HashMap if already computed.
+     * Number of times the lookups of a project (keyed by project id) or of a column (keyed like the lookups) were
+     * flushed, used to discard lookups which were being computed while they were flushed.
+     */
+    protected final Map<String, Long> _flushCounts = new ConcurrentHashMap<>();
+
+    public LookupCacheManager() {
+        this(Runtime.getRuntime().maxMemory() / DEFAULT_MEMORY_BUDGET_RATIO);
+    }
+
+    /**
+     * @param memoryBudget
+     *            the estimated number of bytes the cached lookups can use
+     */
+    public LookupCacheManager(long memoryBudget) {
+        // a lookup larger than the budget is counted as half of it, so that it stays cached until another lookup is
+        // needed rather than being computed again on each call
+        long maxLookupWeight = Math.min(Integer.MAX_VALUE, Math.max(1, memoryBudget / 2));
+        _lookups = CacheBuilder.newBuilder()
+                .concurrencyLevel(1)
+                .maximumWeight(memoryBudget)
+                .weigher((String key, ProjectLookup lookup) -> (int) Math.min(maxLookupWeight,
+                        lookup.getEstimatedSize()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Computes the ProjectLookup based on combination key, returns the cached one if already computed.
      *
      * @param targetProject
      *            the project to look up
@@ -64,108 +107,234 @@ public class LookupCacheManager {
      */
     public ProjectLookup getLookup(long targetProject, String targetColumn) throws LookupException {
         String key = targetProject + ";" + targetColumn;
-        if (!_lookups.containsKey(key)) {
-            ProjectLookup lookup = new ProjectLookup(targetProject, targetColumn);
-            computeLookup(lookup);
+        String projectKey = Long.toString(targetProject);
+        while (true) {
+            ProjectLookup lookup;
+            try {
+                lookup = _lookups.get(key,
+                        () -> computeLookup(targetProject, targetColumn, getFlushCount(projectKey, key)));
+            } catch (ExecutionException | UncheckedExecutionException e) {
+                if (e.getCause() instanceof LookupException) {
+                    throw (LookupException) e.getCause();
+                }
+                throw new LookupException(e.getCause().getMessage());
+            }
 
-            synchronized (_lookups) {
-                _lookups.put(key, lookup);
+            if (lookup.flushCount == getFlushCount(projectKey, key)) {
+                return lookup;
             }
+            // the lookup was flushed while it was being computed
+            _lookups.asMap().remove(key, lookup);
         }
-
-        return _lookups.get(key);
     }
 
     public void flushLookupsInvolvingProject(long projectID) {
-        synchronized (_lookups) {
-            for (Iterator<Map.Entry<String, ProjectLookup>> it = _lookups.entrySet().iterator(); it.hasNext();) {
-                Map.Entry<String, ProjectLookup> entry = it.next();
-                ProjectLookup lookup = entry.getValue();
-                if (lookup.targetProjectID == projectID) {
-                    it.remove();
-                }
-            }
-        }
+        _flushCounts.merge(Long.toString(projectID), 1L, Long::sum);
+        _lookups.asMap().values().removeIf(lookup -> lookup.targetProjectID == projectID);
     }
 
     public void flushLookupsInvolvingProjectColumn(long projectID, String columnName) {
-        synchronized (_lookups) {
-            for (Iterator<Map.Entry<String, ProjectLookup>> it = _lookups.entrySet().iterator(); it.hasNext();) {
-                Map.Entry<String, ProjectLookup> entry = it.next();
-                ProjectLookup lookup = entry.getValue();
-                if (lookup.targetProjectID == projectID && lookup.targetColumnName.equals(columnName)) {
-                    it.remove();
-                }
-            }
+        _flushCounts.merge(projectID + ";" + columnName, 1L, Long::sum);
+        _lookups.asMap().values().removeIf(
+                lookup -> lookup.targetProjectID == projectID && lookup.targetColumnName.equals(columnName));
+    }
+
+    /**
+     * @return the statistics of the cache, including the number of lookups computed and the time spent computing them
+     */
+    public CacheStats getStats() {
+        return _lookups.stats();
+    }
+
+    /**
+     * @return the estimated number of bytes used by the cached lookups
+     */
+    public long getEstimatedMemoryUsage() {
+        long size = 0;
+        for (ProjectLookup lookup : _lookups.asMap().values()) {
+            size += lookup.getEstimatedSize();
         }
+        return size;
     }
 
-    protected void computeLookup(ProjectLookup lookup) throws LookupException {
-        if (lookup.targetProjectID < 0) {
-            return;
+    private long getFlushCount(String projectKey, String key) {
+        // both counts only increase, so their sum changes whenever one of them does
+        return _flushCounts.getOrDefault(projectKey, 0L) + _flushCounts.getOrDefault(key, 0L);
+    }
+
+    protected ProjectLookup computeLookup(long targetProjectID, String targetColumnName, long flushCount)
+            throws LookupException {
+        long start = System.nanoTime();
+        if (targetProjectID < 0) {
+            return new ProjectLookup(targetProjectID, targetColumnName, Map.of(), 0, flushCount);
         }
 
-        Project targetProject = ProjectManager.singleton.getProject(lookup.targetProjectID);
-        ProjectMetadata targetProjectMetadata = ProjectManager.singleton.getProjectMetadata(lookup.targetProjectID);
+        Project targetProject = ProjectManager.singleton.getProject(targetProjectID);
+        ProjectMetadata targetProjectMetadata = ProjectManager.singleton.getProjectMetadata(targetProjectID);
         if (targetProject == null) {
-            return;
+            return new ProjectLookup(targetProjectID, targetColumnName, Map.of(), 0, flushCount);
         }
 
-        // if this is a lookup on the index column
-        if (INDEX_COLUMN_NAME.equals(lookup.targetColumnName)) {
-            for (int r = 0; r < targetProject.rows.size(); r++) {
-                lookup.valueToRowIndices.put(String.valueOf(r), Collections.singletonList(r));
-            }
-            return; // return directly
+        // if this is a lookup on the index column, the row indices are computed from the values
+        if (INDEX_COLUMN_NAME.equals(targetColumnName)) {
+            return new ProjectLookup(targetProjectID, targetColumnName, null, targetProject.rows.size(), flushCount);
         }
 
-        Column targetColumn = targetProject.columnModel.getColumnByName(lookup.targetColumnName);
+        Column targetColumn = targetProject.columnModel.getColumnByName(targetColumnName);
         if (targetColumn == null) {
             throw new LookupException(
-                    "Unable to find column " + lookup.targetColumnName + " in project " + targetProjectMetadata.getName());
+                    "Unable to find column " + targetColumnName + " in project " + targetProjectMetadata.getName());
         }
 
-        // We can't use for-each here, because we'll need the row index when creating WrappedRow
+        int cellIndex = targetColumn.getCellIndex();
+        Map<String, PostingsBuilder> builders = new HashMap<>();
         int count = targetProject.rows.size();
         for (int r = 0; r < count; r++) {
             Row targetRow = targetProject.rows.get(r);
-            Object value = targetRow.getCellValue(targetColumn.getCellIndex());
+            Object value = targetRow.getCellValue(cellIndex);
             if (ExpressionUtils.isNonBlankData(value)) {
-                String valueStr = value.toString();
-                lookup.valueToRowIndices.putIfAbsent(valueStr, new ArrayList<>());
-                lookup.valueToRowIndices.get(valueStr).add(r);
+                builders.computeIfAbsent(value.toString(), k -> new PostingsBuilder()).add(r);
+            }
+        }
+
+        Map<String, int[]> valueToRows = new HashMap<>(builders.size() * 4 / 3 + 1);
+        for (Map.Entry<String, PostingsBuilder> entry : builders.entrySet()) {
+            valueToRows.put(entry.getKey(), entry.getValue().toArray());
+        }
+        ProjectLookup lookup = new ProjectLookup(targetProjectID, targetColumnName, valueToRows, count, flushCount);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Computed lookup on column {} of project {}: {} values, about {} bytes, in {} ms",
+                    targetColumnName, targetProjectID, valueToRows.size(), lookup.getEstimatedSize(),
+                    (System.nanoTime() - start) / 1000000);
+        }
+        return lookup;
+    }
+
+    /**
+     * The indices of the rows having a given value, which grow as they are added.
+     */
+    static private class PostingsBuilder {
+
+        int[] rows = new int[1];
+        int size = 0;
+
+        void add(int row) {
+            if (size == rows.length) {
+                int[] grown = new int[size * 2];
+                System.arraycopy(rows, 0, grown, 0, size);
+                rows = grown;
+            }
+            rows[size++] = row;
+        }
+
+        int[] toArray() {
+            if (size == rows.length) {
+                return rows;
             }
+            int[] trimmed = new int[size];
+            System.arraycopy(rows, 0, trimmed, 0, size);
+            return trimmed;
         }
     }
 
     static public class ProjectLookup {
 
+        static final private int[] NO_ROWS = new int[0];
+
+        // rough sizes of a string, hash map entry and array headers, in bytes
+        static final private int VALUE_OVERHEAD = 112;
+        static final private int LOOKUP_OVERHEAD = 128;
+
         final public long targetProjectID;
         final public String targetColumnName;
 
-        final public Map<Object, List<Integer>> valueToRowIndices = new HashMap<>();
+        /**
+         * The indices of the rows having each value, or null for a lookup on the index column.
+         */
+        final protected Map<String, int[]> _valueToRows;
+        final protected int _rowCount;
+        final long flushCount;
+        final long estimatedSize;
 
-        ProjectLookup(long targetProjectID, String targetColumnName) {
+        ProjectLookup(long targetProjectID, String targetColumnName, Map<String, int[]> valueToRows, int rowCount,
+                long flushCount) {
             this.targetProjectID = targetProjectID;
             this.targetColumnName = targetColumnName;
+            _valueToRows = valueToRows;
+            _rowCount = rowCount;
+            this.flushCount = flushCount;
+
+            long size = LOOKUP_OVERHEAD;
+            if (valueToRows != null) {
+                for (Map.Entry<String, int[]> entry : valueToRows.entrySet()) {
+                    size += VALUE_OVERHEAD + 2L * entry.getKey().length() + 4L * entry.getValue().length;
+                }
+            }
+            estimatedSize = size;
+        }
+
+        /**
+         * @return the indices of the rows whose value is the given one, in increasing order. The returned array must
+         *         not be modified.
+         */
+        public int[] getRowIndices(Object value) {
+            if (!ExpressionUtils.isNonBlankData(value)) {
+                return NO_ROWS;
+            }
+            String valueStr = value.toString();
+            if (_valueToRows == null) {
+                int r = parseRowIndex(valueStr);
+                return r >= 0 && r < _rowCount ? new int[] { r } : NO_ROWS;
+            }
+            int[] rows = _valueToRows.get(valueStr);
+            return rows != null ? rows : NO_ROWS;
         }
 
         public HasFieldsListImpl getRows(Object value) {
             HasFieldsListImpl rows = new HasFieldsListImpl();
-            if (!ExpressionUtils.isNonBlankData(value)) return rows;
-            String valueStr = value.toString();
-            if (valueToRowIndices.containsKey(valueStr)) {
+            int[] rowIndices = getRowIndices(value);
+            if (rowIndices.length > 0) {
                 Project targetProject = ProjectManager.singleton.getProject(targetProjectID);
                 if (targetProject != null) {
-                    for (Integer r : valueToRowIndices.get(valueStr)) {
+                    for (int r : rowIndices) {
                         Row row = targetProject.rows.get(r);
                         rows.add(new WrappedRow(targetProject, r, row));
                     }
-
-                    return rows;
                 }
             }
             return rows;
         }
+
+        /**
+         * @return the number of distinct values in the lookup, or the number of rows for a lookup on the index column
+         */
+        public int getValueCount() {
+            return _valueToRows != null ? _valueToRows.size() : _rowCount;
+        }
+
+        /**
+         * @return a rough estimate of the number of bytes used by this lookup
+         */
+        public long getEstimatedSize() {
+            return estimatedSize;
+        }
+
+        /**
+         * Parses a row index written the way {@link String#valueOf(int)} does, or returns -1.
+         */
+        static private int parseRowIndex(String s) {
+            if (s.isEmpty() || s.length() > 10 || (s.length() > 1 && s.charAt(0) == '0')) {
+                return -1;
+            }
+            long r = 0;
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                r = r * 10 + (c - '0');
+            }
+            return r <= Integer.MAX_VALUE ? (int) r : -1;
+        }
     }
 }
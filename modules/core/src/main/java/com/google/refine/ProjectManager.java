@@ -55,6 +55,8 @@ import org.slf4j.LoggerFactory;
 
 import com.google.refine.history.HistoryEntryManager;
 import com.google.refine.model.Project;
+import com.google.refine.model.recon.DataExtensionCache;
+import com.google.refine.model.recon.ReconCacheManager;
 import com.google.refine.preference.PreferenceStore;
 import com.google.refine.preference.TopList;
 import com.google.refine.util.GetProjectIDException;
@@ -90,6 +92,16 @@ public abstract class ProjectManager {
      */
     transient protected LookupCacheManager _lookupCacheManager = new LookupCacheManager();
 
+    /**
+     * What caches the results of reconciliation services, across projects.
+     */
+    transient protected ReconCacheManager _reconCacheManager = new ReconCacheManager();
+
+    /**
+     * What caches the property values fetched from data extension services, across projects.
+     */
+    transient protected DataExtensionCache _dataExtensionCache = new DataExtensionCache();
+
     /**
      * Flag for heavy operations like creating or importing projects. Workspace saves are skipped while it's set.
      */
@@ -340,6 +352,22 @@ public abstract class ProjectManager {
         return _lookupCacheManager;
     }
 
+    /**
+     * Gets the ReconCacheManager from memory
+     */
+    @JsonIgnore
+    public ReconCacheManager getReconCacheManager() {
+        return _reconCacheManager;
+    }
+
+    /**
+     * Gets the DataExtensionCache from memory
+     */
+    @JsonIgnore
+    public DataExtensionCache getDataExtensionCache() {
+        return _dataExtensionCache;
+    }
+
     /**
      * Gets the project metadata from memory. Requires that the metadata has already been loaded from the data store
      * 
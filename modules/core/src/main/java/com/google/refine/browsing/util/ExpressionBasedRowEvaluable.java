@@ -37,6 +37,7 @@ import java.util.Properties;
 
 import com.google.refine.expr.Evaluable;
 import com.google.refine.expr.ExpressionUtils;
+import com.google.refine.expr.RowBatch;
 import com.google.refine.model.Cell;
 import com.google.refine.model.Project;
 import com.google.refine.model.Row;
@@ -65,4 +66,9 @@ public class ExpressionBasedRowEvaluable implements RowEvaluable {
 
         return _eval.evaluate(bindings);
     }
+
+    @Override
+    public void evalBatch(Project project, RowBatch rows, Properties bindings, Object[] results) {
+        _eval.evaluateBatch(bindings, rows, _columnName, _cellIndex, results);
+    }
 }
@@ -34,6 +34,7 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package com.google.refine.browsing.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -46,6 +47,7 @@ import com.google.refine.browsing.RowVisitor;
 import com.google.refine.browsing.facets.NominalFacetChoice;
 import com.google.refine.expr.Evaluable;
 import com.google.refine.expr.ExpressionUtils;
+import com.google.refine.expr.RowBatch;
 import com.google.refine.model.Cell;
 import com.google.refine.model.Project;
 import com.google.refine.model.Record;
@@ -87,6 +89,13 @@ public class ExpressionNominalValueGrouper implements RowVisitor, RecordVisitor
     protected boolean hasBlank;
     protected boolean hasError;
 
+    /*
+     * Rows visited but not evaluated yet
+     */
+    protected RowBatch batch;
+    protected Object[] batchValues;
+    protected Properties batchBindings;
+
     public ExpressionNominalValueGrouper(Evaluable evaluable, String columnName, int cellIndex) {
         _evaluable = evaluable;
         _columnName = columnName;
@@ -100,28 +109,50 @@ public class ExpressionNominalValueGrouper implements RowVisitor, RecordVisitor
 
     @Override
     public void end(Project project) {
-        // nothing to do
+        evaluateBatch();
     }
 
     @Override
     public boolean visit(Project project, int rowIndex, Row row) {
-        hasError = false;
-        hasBlank = false;
-
-        Properties bindings = ExpressionUtils.createBindings(project);
-
-        visitRow(project, rowIndex, row, bindings, rowIndex);
-
-        if (hasError) {
-            errorCount++;
+        if (batch == null) {
+            batch = new RowBatch();
+            batchValues = new Object[batch.capacity()];
+            batchBindings = ExpressionUtils.createBindings(project);
         }
-        if (hasBlank) {
-            blankCount++;
+        batch.add(rowIndex, row);
+        if (batch.isFull()) {
+            evaluateBatch();
         }
 
         return false;
     }
 
+    /**
+     * Evaluates the expression on the rows visited since the last batch, and groups their values.
+     */
+    protected void evaluateBatch() {
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+        _evaluable.evaluateBatch(batchBindings, batch, _columnName, _cellIndex, batchValues);
+
+        for (int i = 0; i < batch.size(); i++) {
+            hasError = false;
+            hasBlank = false;
+
+            processRowValue(batchValues[i], batch.getRowIndex(i));
+
+            if (hasError) {
+                errorCount++;
+            }
+            if (hasBlank) {
+                blankCount++;
+            }
+        }
+        Arrays.fill(batchValues, 0, batch.size(), null);
+        batch.clear();
+    }
+
     @Override
     public boolean visit(Project project, Record record) {
         Properties bindings = ExpressionUtils.createBindings(project);
@@ -146,6 +177,10 @@ public class ExpressionNominalValueGrouper implements RowVisitor, RecordVisitor
 
     protected void visitRow(Project project, int rowIndex, Row row, Properties bindings, int index) {
         Object value = evalRow(project, rowIndex, row, bindings);
+        processRowValue(value, rowIndex);
+    }
+
+    protected void processRowValue(Object value, int rowIndex) {
         if (value != null) {
             if (value.getClass().isArray()) {
                 Object[] a = (Object[]) value;
@@ -171,6 +171,14 @@ abstract public class NumericBinIndex {
             Properties bindings) {
         Object value = rowEvaluable.eval(project, rowIndex, row, bindings);
 
+        processRowValue(value, allValues);
+    }
+
+    /**
+     * Processes the value of the expression on a row, as evaluated by
+     * {@link #processRow(Project, RowEvaluable, List, int, Row, Properties)}.
+     */
+    protected void processRowValue(Object value, List<Double> allValues) {
         if (ExpressionUtils.isError(value)) {
             _hasError = true;
         } else if (ExpressionUtils.isNonBlankData(value)) {
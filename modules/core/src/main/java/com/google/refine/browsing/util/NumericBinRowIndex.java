@@ -37,8 +37,8 @@ import java.util.List;
 import java.util.Properties;
 
 import com.google.refine.expr.ExpressionUtils;
+import com.google.refine.expr.RowBatch;
 import com.google.refine.model.Project;
-import com.google.refine.model.Row;
 
 public class NumericBinRowIndex extends NumericBinIndex {
 
@@ -52,15 +52,26 @@ public class NumericBinRowIndex extends NumericBinIndex {
             Project project, RowEvaluable rowEvaluable, List<Double> allValues) {
 
         Properties bindings = ExpressionUtils.createBindings(project);
+        RowBatch batch = new RowBatch();
+        Object[] values = new Object[batch.capacity()];
 
-        for (int i = 0; i < project.rows.size(); i++) {
-            Row row = project.rows.get(i);
+        int rowCount = project.rows.size();
+        for (int from = 0; from < rowCount; from += batch.capacity()) {
+            int to = Math.min(rowCount, from + batch.capacity());
+            for (int i = from; i < to; i++) {
+                batch.add(i, project.rows.get(i));
+            }
 
-            preprocessing();
+            rowEvaluable.evalBatch(project, batch, bindings, values);
 
-            processRow(project, rowEvaluable, allValues, i, row, bindings);
+            for (int i = 0; i < batch.size(); i++) {
+                preprocessing();
 
-            postprocessing();
+                processRowValue(values[i], allValues);
+
+                postprocessing();
+            }
+            batch.clear();
         }
     }
 
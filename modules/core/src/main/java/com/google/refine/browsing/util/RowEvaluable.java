@@ -35,10 +35,20 @@ package com.google.refine.browsing.util;
 
 import java.util.Properties;
 
+import com.google.refine.expr.RowBatch;
 import com.google.refine.model.Project;
 import com.google.refine.model.Row;
 
 public interface RowEvaluable {
 
     public Object eval(Project project, int rowIndex, Row row, Properties bindings);
+
+    /**
+     * Evaluates each row of the batch, storing the result for the i-th row of the batch in <code>results[i]</code>.
+     */
+    public default void evalBatch(Project project, RowBatch rows, Properties bindings, Object[] results) {
+        for (int i = 0; i < rows.size(); i++) {
+            results[i] = eval(project, rows.getRowIndex(i), rows.getRow(i), bindings);
+        }
+    }
 }
@@ -35,14 +35,17 @@ package com.google.refine.clustering.binning;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -59,6 +62,7 @@ import com.google.refine.clustering.ClusteredEntry;
 import com.google.refine.clustering.Clusterer;
 import com.google.refine.clustering.ClustererConfig;
 import com.google.refine.model.Cell;
+import com.google.refine.model.Column;
 import com.google.refine.model.Project;
 import com.google.refine.model.Row;
 
@@ -128,24 +132,17 @@ public class BinningClusterer extends Clusterer {
 
     List<Map<String, Integer>> _clusters;
 
-    class BinningRowVisitor implements RowVisitor {
+    /**
+     * Number of distinct values from which keys are computed in parallel, if the keyer is thread-safe.
+     */
+    static final int PARALLEL_THRESHOLD = 10000;
 
-        Keyer _keyer;
-        Object[] _params;
-        BinningParameters _parameters;
+    /**
+     * Counts the occurrences of each distinct value of the column, in order of first occurrence.
+     */
+    class ValueCountingRowVisitor implements RowVisitor {
 
-        Map<String, Map<String, Integer>> _map = new HashMap<String, Map<String, Integer>>();
-
-        public BinningRowVisitor(Keyer k, BinningParameters parameters) {
-            _keyer = k;
-            _parameters = parameters;
-            if (k instanceof NGramFingerprintKeyer) {
-                if (_parameters != null) {
-                    _params = new Object[1];
-                    _params[0] = _parameters.ngramSize;
-                }
-            }
-        }
+        Map<String, int[]> _counts = new LinkedHashMap<String, int[]>();
 
         @Override
         public void start(Project project) {
@@ -163,25 +160,18 @@ public class BinningClusterer extends Clusterer {
             if (cell != null && cell.value != null) {
                 Object v = cell.value;
                 String s = (v instanceof String) ? ((String) v) : v.toString();
-                String key = _keyer.key(s, _params);
-                if (_map.containsKey(key)) {
-                    Map<String, Integer> m = _map.get(key);
-                    if (m.containsKey(s)) {
-                        m.put(s, m.get(s) + 1);
-                    } else {
-                        m.put(s, 1);
-                    }
+                int[] count = _counts.get(s);
+                if (count == null) {
+                    _counts.put(s, new int[] { 1 });
                 } else {
-                    Map<String, Integer> m = new TreeMap<String, Integer>();
-                    m.put(s, 1);
-                    _map.put(key, m);
+                    count[0]++;
                 }
             }
             return false;
         }
 
-        public Map<String, Map<String, Integer>> getMap() {
-            return _map;
+        public Map<String, int[]> getCounts() {
+            return _counts;
         }
     }
 
@@ -225,13 +215,82 @@ public class BinningClusterer extends Clusterer {
         _parameters = config.getParameters();
     }
 
+    protected Object[] getKeyerParams() {
+        if (_keyer instanceof NGramFingerprintKeyer && _parameters != null) {
+            return new Object[] { _parameters.ngramSize };
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the cache of keys computed for this column with the current keyer and parameters, creating it if
+     * needed.
+     */
+    protected KeyCache getKeyCache(Object[] params) {
+        Column column = _project.columnModel.getColumnByCellIndex(_colindex);
+        if (column == null) {
+            return new KeyCache(_keyer);
+        }
+        String precomputeKey = "binning-keys:" + _keyer.getClass().getName() + ":" + Arrays.toString(params);
+        synchronized (column) {
+            KeyCache cache = (KeyCache) column.getPrecompute(precomputeKey);
+            // keyers defined by an expression are instantiated for each request, so their keys cannot be reused
+            if (cache == null || cache.getKeyer() != _keyer) {
+                cache = new KeyCache(_keyer);
+                column.setPrecompute(precomputeKey, cache);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * Computes the key of each distinct value, reusing the keys cached for this column. Thread-safe keyers are run
+     * across the common fork-join pool when there are enough values to key.
+     */
+    protected String[] computeKeys(String[] values) {
+        Object[] params = getKeyerParams();
+        KeyCache cache = getKeyCache(params);
+        String[] keys = new String[values.length];
+        int missing = 0;
+        for (int i = 0; i < values.length; i++) {
+            keys[i] = cache.get(values[i]);
+            if (keys[i] == null) {
+                missing++;
+            }
+        }
+        IntStream toKey = IntStream.range(0, values.length).filter(i -> keys[i] == null);
+        if (_keyer.isThreadSafe() && missing >= PARALLEL_THRESHOLD) {
+            toKey = toKey.parallel();
+        }
+        toKey.forEach(i -> {
+            keys[i] = _keyer.key(values[i], params);
+            cache.put(values[i], keys[i]);
+        });
+        return keys;
+    }
+
     @Override
     public void computeClusters(Engine engine) {
-        BinningRowVisitor visitor = new BinningRowVisitor(_keyer, _parameters);
+        ValueCountingRowVisitor visitor = new ValueCountingRowVisitor();
         FilteredRows filteredRows = engine.getAllFilteredRows();
         filteredRows.accept(_project, visitor);
 
-        Map<String, Map<String, Integer>> map = visitor.getMap();
+        Map<String, int[]> counts = visitor.getCounts();
+        String[] values = new String[counts.size()];
+        int[] valueCounts = new int[counts.size()];
+        int i = 0;
+        for (Entry<String, int[]> entry : counts.entrySet()) {
+            values[i] = entry.getKey();
+            valueCounts[i] = entry.getValue()[0];
+            i++;
+        }
+        String[] keys = computeKeys(values);
+
+        // bins are created in the order of first occurrence of their values, as when keying row by row
+        Map<String, Map<String, Integer>> map = new HashMap<String, Map<String, Integer>>();
+        for (i = 0; i < values.length; i++) {
+            map.computeIfAbsent(keys[i], k -> new TreeMap<String, Integer>()).put(values[i], valueCounts[i]);
+        }
         _clusters = new ArrayList<Map<String, Integer>>(map.values());
         Collections.sort(_clusters, new SizeComparator());
     }
@@ -34,8 +34,13 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package com.google.refine.clustering.binning;
 
 import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import com.google.common.base.CharMatcher;
 import com.google.common.collect.ImmutableMap;
@@ -57,8 +62,6 @@ public class FingerprintKeyer extends Keyer {
             // Lm = modifier letter, Sk = modifier symbol
             .compile("[\\p{InCombiningDiacriticalMarks}\\p{IsLm}\\p{IsSk}]+");
 
-    private static final Pattern WHITESPACE = Pattern.compile("\\s+",
-            Pattern.UNICODE_CHARACTER_CLASS);
     // First part of table based on https://stackoverflow.com/a/1453284/167425 by Andreas Petersson
     private static final ImmutableMap<String, String> NONDIACRITICS = ImmutableMap.<String, String> builder()
             // Replace non-diacritics with their equivalent characters
@@ -87,12 +90,41 @@ public class FingerprintKeyer extends Keyer {
             .put("ẝ", "s")
             .build();
 
+    // Single character lookup table for NONDIACRITICS, sorted by character
+    private static final char[] NONDIACRITICS_CHARS;
+    private static final String[] NONDIACRITICS_REPLACEMENTS;
+    static {
+        Map<Character, String> sorted = new TreeMap<>();
+        NONDIACRITICS.forEach((k, v) -> sorted.put(k.charAt(0), v));
+        NONDIACRITICS_CHARS = new char[sorted.size()];
+        NONDIACRITICS_REPLACEMENTS = new String[sorted.size()];
+        int i = 0;
+        for (Map.Entry<Character, String> entry : sorted.entrySet()) {
+            NONDIACRITICS_CHARS[i] = entry.getKey();
+            NONDIACRITICS_REPLACEMENTS[i] = entry.getValue();
+            i++;
+        }
+    }
+
+    // ASCII characters removed by the strong normalization
+    private static final boolean[] ASCII_REMOVED = new boolean[128];
+    static {
+        for (int c = 0; c < 128; c++) {
+            ASCII_REMOVED[c] = isDiacriticOrFriend(c) || isPunctuationOrControl(c);
+        }
+    }
+
     @Override
     public String key(String s, Object... o) {
         if (s == null || o != null && o.length > 0) {
             throw new IllegalArgumentException("Fingerprint keyer accepts a single string parameter");
         }
-        return WHITESPACE.splitAsStream(normalize(s, true)).sorted().distinct().collect(Collectors.joining(" "));
+        return sortedUniqueTokens(normalize(s, true));
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
     }
 
     protected String normalize(String s) {
@@ -104,14 +136,160 @@ public class FingerprintKeyer extends Keyer {
         if (strong) {
             s = CharMatcher.whitespace().trimFrom(s); // first off, remove whitespace around the string
             s = s.toLowerCase(); // TODO: This is using the default locale. Is that what we want?
+            // TODO: Should punctuation be converted to spaces instead of being removed?
+            return foldAndStrip(s, true);
         }
-        s = stripDiacritics(s);
-        s = stripNonDiacritics(s);
-        if (strong) {
-            // TODO: Should these be converted to spaces instead of being removed?
-            s = punctctrl.matcher(s).replaceAll("");
+        return foldAndStrip(s, false);
+    }
+
+    /**
+     * Single pass equivalent of {@link #stripDiacritics(String)} followed by the replacement of the characters without
+     * decomposition listed in {@link #NONDIACRITICS_CHARS} and, if requested, the removal of {@link #punctctrl}
+     * matches. The input string is returned as is when nothing needs to change.
+     */
+    private static String foldAndStrip(String s, boolean stripPunctuation) {
+        if (!isAscii(s)) {
+            s = Normalizer.normalize(s, Normalizer.Form.NFKD);
         }
-        return s;
+        StringBuilder sb = null;
+        int length = s.length();
+        for (int i = 0; i < length;) {
+            int c = s.codePointAt(i);
+            int charCount = Character.charCount(c);
+            String replacement = null;
+            boolean removed;
+            if (c < 128) {
+                removed = stripPunctuation ? ASCII_REMOVED[c] : isDiacriticOrFriend(c);
+            } else if (isDiacriticOrFriend(c)) {
+                removed = true;
+            } else {
+                int index = charCount == 1 ? Arrays.binarySearch(NONDIACRITICS_CHARS, (char) c) : -1;
+                if (index >= 0) {
+                    replacement = NONDIACRITICS_REPLACEMENTS[index];
+                    removed = false;
+                } else {
+                    removed = stripPunctuation && isPunctuationOrControl(c);
+                }
+            }
+
+            if (removed || replacement != null) {
+                if (sb == null) {
+                    sb = new StringBuilder(length);
+                    sb.append(s, 0, i);
+                }
+                if (replacement != null) {
+                    sb.append(replacement);
+                }
+            } else if (sb != null) {
+                sb.appendCodePoint(c);
+            }
+            i += charCount;
+        }
+        return sb == null ? s : sb.toString();
+    }
+
+    private static boolean isAscii(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) >= 128) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Same as DIACRITICS_AND_FRIENDS
+    private static boolean isDiacriticOrFriend(int c) {
+        if (c >= 0x0300 && c <= 0x036F) {
+            return true;
+        }
+        int type = Character.getType(c);
+        return type == Character.MODIFIER_LETTER || type == Character.MODIFIER_SYMBOL;
+    }
+
+    // Same as punctctrl
+    private static boolean isPunctuationOrControl(int c) {
+        if (c <= 0x08 || (c >= 0x0E && c <= 0x1F) || (c >= 0x7F && c <= 0x84) || (c >= 0x86 && c <= 0x9F)) {
+            return true;
+        }
+        switch (Character.getType(c)) {
+            case Character.CONNECTOR_PUNCTUATION:
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // Unicode White_Space property, as matched by \s with Pattern.UNICODE_CHARACTER_CLASS
+    private static boolean isWhitespace(char c) {
+        return (c >= 0x09 && c <= 0x0D) || c == 0x85
+                || ((((1 << Character.SPACE_SEPARATOR) | (1 << Character.LINE_SEPARATOR)
+                        | (1 << Character.PARAGRAPH_SEPARATOR)) >> Character.getType(c)) & 1) != 0;
+    }
+
+    /**
+     * Splits a string on whitespace and joins the sorted unique tokens with single spaces. Same as splitting on
+     * {@code \s+} with {@link Pattern#splitAsStream(CharSequence)}, then sorting and joining the distinct tokens,
+     * including the handling of leading and trailing whitespace.
+     */
+    private static String sortedUniqueTokens(String s) {
+        int length = s.length();
+        List<String> tokens = null;
+        String firstToken = null;
+        for (int i = 0; i < length;) {
+            while (i < length && isWhitespace(s.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && !isWhitespace(s.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                String token = (start == 0 && i == length) ? s : s.substring(start, i);
+                if (firstToken == null) {
+                    firstToken = token;
+                } else {
+                    if (tokens == null) {
+                        tokens = new ArrayList<>();
+                        tokens.add(firstToken);
+                    }
+                    tokens.add(token);
+                }
+            }
+        }
+        if (firstToken == null) {
+            return "";
+        }
+        // splitting keeps an empty leading token if the string starts with whitespace
+        if (isWhitespace(s.charAt(0))) {
+            if (tokens == null) {
+                tokens = new ArrayList<>();
+                tokens.add(firstToken);
+            }
+            tokens.add("");
+        }
+        if (tokens == null) {
+            return firstToken;
+        }
+
+        Collections.sort(tokens);
+        StringBuilder sb = new StringBuilder(length);
+        String previous = null;
+        for (String token : tokens) {
+            if (!token.equals(previous)) {
+                if (previous != null) {
+                    sb.append(' ');
+                }
+                sb.append(token);
+                previous = token;
+            }
+        }
+        return sb.toString();
     }
 
     /**
@@ -128,15 +306,4 @@ public class FingerprintKeyer extends Keyer {
         return str;
     }
 
-    // Based on https://stackoverflow.com/a/1453284/167425 by Andreas Petersson
-    private static String stripNonDiacritics(String orig) {
-        StringBuffer result = new StringBuffer();
-        for (int i = 0; i < orig.length(); i++) {
-            String source = orig.substring(i, i + 1);
-            String replace = NONDIACRITICS.get(source);
-            result.append(replace == null ? source : replace);
-        }
-        return result.toString();
-    }
-
 }
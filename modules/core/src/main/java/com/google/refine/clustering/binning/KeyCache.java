@@ -0,0 +1,57 @@
+package com.google.refine.clustering.binning;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import com.google.refine.model.Column;
+
+/**
+ * Keys computed by a keyer for the distinct values of a column, stored in the column precomputes so that they can be
+ * reused by subsequent clustering runs (for instance when reopening the clustering dialog or changing facets).
+ * <p>
+ * Keys only depend on the values themselves, so the cache remains valid when cells are edited: after a mass edit, only
+ * the new values need to be keyed. It holds a bounded number of keys, evicting the least recently used ones, so that
+ * the values a column no longer contains do not accumulate.
+ */
+public class KeyCache implements Column.CellValuePrecompute {
+
+    static final public int DEFAULT_MAX_SIZE = 100000;
+
+    protected final Keyer _keyer;
+    protected final Cache<String, String> _keys;
+
+    public KeyCache(Keyer keyer) {
+        this(keyer, DEFAULT_MAX_SIZE);
+    }
+
+    public KeyCache(Keyer keyer, int maxSize) {
+        _keyer = keyer;
+        _keys = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * @return the keyer instance the keys were computed with
+     */
+    public Keyer getKeyer() {
+        return _keyer;
+    }
+
+    /**
+     * @return the cached key of this value, or null if it has not been computed yet or has been evicted
+     */
+    public String get(String value) {
+        return _keys.getIfPresent(value);
+    }
+
+    public void put(String value, String key) {
+        if (key != null) {
+            _keys.put(value, key);
+        }
+    }
+
+    public long size() {
+        return _keys.size();
+    }
+}
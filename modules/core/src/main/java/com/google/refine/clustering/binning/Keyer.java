@@ -41,4 +41,12 @@ public abstract class Keyer {
 
     public abstract String key(String string, Object... params);
 
+    /**
+     * Whether {@link #key(String, Object...)} can safely be called from several threads at once. Keyers which are not
+     * thread-safe are always run sequentially.
+     */
+    public boolean isThreadSafe() {
+        return false;
+    }
+
 }
@@ -0,0 +1,86 @@
+package com.google.refine.clustering.knn;
+
+/**
+ * Levenshtein (edit) distance, with unit costs for insertions, deletions and substitutions.
+ * <p>
+ * When called with a bound, only the diagonal band of the dynamic programming matrix which can lead to a distance
+ * within that bound is computed, and the computation stops as soon as the bound is exceeded.
+ */
+public class LevenshteinDistance implements SimilarityDistance {
+
+    @Override
+    public double compute(String a, String b) {
+        return distance(a, b, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public double compute(String a, String b, double maxDistance) {
+        if (maxDistance < 0 || maxDistance >= Integer.MAX_VALUE) {
+            return distance(a, b, Integer.MAX_VALUE);
+        }
+        return distance(a, b, (int) Math.floor(maxDistance));
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    /**
+     * Computes the edit distance between two strings, up to a bound.
+     *
+     * @return the edit distance if it is at most {@code bound}, or {@code bound + 1} otherwise
+     */
+    public static int distance(CharSequence a, CharSequence b, int bound) {
+        if (a.length() > b.length()) {
+            CharSequence tmp = a;
+            a = b;
+            b = tmp;
+        }
+        int n = a.length();
+        int m = b.length();
+        int k = Math.min(bound, m);
+        int outside = k + 1;
+        if (m - n > k) {
+            return outside;
+        }
+        if (n == 0) {
+            return m;
+        }
+
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int i = 0; i <= n; i++) {
+            previous[i] = i <= k ? i : outside;
+        }
+        for (int j = 1; j <= m; j++) {
+            char c = b.charAt(j - 1);
+            int from = Math.max(1, j - k);
+            int to = Math.min(n, j + k);
+            current[0] = j <= k ? j : outside;
+            current[from - 1] = from > 1 ? outside : current[0];
+            int rowMin = current[from - 1];
+            for (int i = from; i <= to; i++) {
+                int cost = a.charAt(i - 1) == c ? 0 : 1;
+                int value = Math.min(Math.min(current[i - 1], previous[i]) + 1, previous[i - 1] + cost);
+                if (value > outside) {
+                    value = outside;
+                }
+                current[i] = value;
+                if (value < rowMin) {
+                    rowMin = value;
+                }
+            }
+            if (to < n) {
+                current[to + 1] = outside;
+            }
+            if (rowMin > k) {
+                return outside;
+            }
+            int[] tmp = previous;
+            previous = current;
+            current = tmp;
+        }
+        return previous[n];
+    }
+}
@@ -0,0 +1,435 @@
+package com.google.refine.clustering.knn;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Nearest neighbour clustering of distinct values, which only compares values sharing an n-gram.
+ * <p>
+ * Values are grouped in blocks by n-gram. Blocks larger than the maximum block size are split further by extending
+ * their n-gram by one character, until they are small enough or their n-gram has been extended
+ * {@link #MAX_NGRAM_EXTENSION} times, in which case they are kept in full. Since the values of a split block which
+ * share no longer n-gram with any other value would otherwise lose their candidate neighbours, they are compared to
+ * all values of that block. Each value is then compared once to each candidate neighbour, in parallel when the
+ * distance is thread-safe, and the comparison stops as soon as the distance is known to exceed the radius. The cluster
+ * of a value is made of that value and all its neighbours within the radius.
+ * <p>
+ * An optional time limit makes it possible to return the clusters found so far on very large inputs.
+ */
+public class NGramBlockingClusterer {
+
+    public static final int DEFAULT_MAX_BLOCK_SIZE = 500;
+    /**
+     * The maximum number of characters by which the n-gram of an oversized block can be extended. Blocks which are
+     * still too large afterwards are kept as they are, so that no clusters are lost, at the cost of comparing all their
+     * members to each other.
+     */
+    public static final int MAX_NGRAM_EXTENSION = 8;
+
+    static final int PARALLEL_THRESHOLD = 1000;
+
+    private final SimilarityDistance _distance;
+    private final int _ngramSize;
+    private final int _maxBlockSize;
+    private final LongSupplier _nanoClock;
+    private final BlockingStatistics _statistics = new BlockingStatistics();
+
+    /**
+     * @param distance
+     *            the distance used to compare values
+     * @param ngramSize
+     *            the length of the n-grams used to build blocks
+     * @param maxBlockSize
+     *            the maximum number of values in a block
+     */
+    public NGramBlockingClusterer(SimilarityDistance distance, int ngramSize, int maxBlockSize) {
+        this(distance, ngramSize, maxBlockSize, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock
+     *            the source of the current time in nanoseconds, used to enforce the time limit
+     */
+    public NGramBlockingClusterer(SimilarityDistance distance, int ngramSize, int maxBlockSize,
+            LongSupplier nanoClock) {
+        _distance = distance;
+        _ngramSize = Math.max(1, ngramSize);
+        _maxBlockSize = Math.max(2, maxBlockSize);
+        _nanoClock = nanoClock;
+    }
+
+    /**
+     * Computes the clusters of the given values.
+     *
+     * @param values
+     *            the values to cluster, without duplicates
+     * @param radius
+     *            the maximum distance between a value and its neighbours (a negative radius matches all values sharing
+     *            a block)
+     * @param timeLimitMillis
+     *            the time after which values are no longer compared, in milliseconds (0 for no limit). The clusters
+     *            found until then are returned.
+     * @return the clusters, largest first
+     */
+    public List<Set<Serializable>> getClusters(String[] values, double radius, long timeLimitMillis) {
+        long start = _nanoClock.getAsLong();
+        long deadline = start + timeLimitMillis * 1000000L;
+
+        String[] blockingKeys = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            blockingKeys[i] = values[i].toLowerCase();
+        }
+        List<Block> blocks = new ArrayList<>();
+        addBlocks(blockingKeys, IntStream.range(0, values.length).toArray(), _ngramSize, null, new HashSet<>(), blocks);
+        int[][] blocksOfValue = indexBlocks(values.length, blocks);
+
+        _statistics.values = values.length;
+        AtomicInteger comparedValues = new AtomicInteger();
+        LongAdder comparisons = new LongAdder();
+        int[][] neighbours = new int[values.length][];
+        IntStream indices = IntStream.range(0, values.length);
+        if (_distance.isThreadSafe() && values.length >= PARALLEL_THRESHOLD) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> {
+            if (timeLimitMillis > 0 && _nanoClock.getAsLong() - deadline > 0) {
+                return;
+            }
+            neighbours[i] = findNeighbours(values, i, radius, blocks, blocksOfValue[i], comparisons);
+            comparedValues.incrementAndGet();
+        });
+        _statistics.comparedValues = comparedValues.get();
+        _statistics.comparisons = comparisons.sum();
+        _statistics.timedOut = _statistics.comparedValues < values.length;
+
+        Set<Set<Serializable>> seen = new HashSet<>();
+        List<Set<Serializable>> clusters = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            if (neighbours[i] == null || neighbours[i].length == 0) {
+                continue;
+            }
+            Set<Serializable> cluster = new TreeSet<>();
+            cluster.add(values[i]);
+            for (int j : neighbours[i]) {
+                cluster.add(values[j]);
+            }
+            if (seen.add(cluster)) {
+                clusters.add(cluster);
+            }
+        }
+        clusters.sort(Comparator.comparingInt((Set<Serializable> cluster) -> cluster.size()).reversed());
+        _statistics.elapsedMillis = (_nanoClock.getAsLong() - start) / 1000000L;
+        return clusters;
+    }
+
+    /**
+     * @return statistics about the blocks and comparisons made to compute the clusters
+     */
+    public BlockingStatistics getStatistics() {
+        return _statistics;
+    }
+
+    /**
+     * Groups the given values by n-gram, splitting oversized blocks further.
+     *
+     * @param parentGram
+     *            when splitting an oversized block, the n-gram of that block: only the n-grams extending it are
+     *            considered
+     * @param splitGrams
+     *            the n-grams of the oversized blocks split so far, which can be reached again from another block
+     */
+    protected void addBlocks(String[] keys, int[] members, int n, String parentGram, Set<String> splitGrams,
+            List<Block> blocks) {
+        Map<String, IntList> byGram = new HashMap<>();
+        for (int member : members) {
+            String key = keys[member];
+            for (int i = 0; i + n <= key.length(); i++) {
+                if (parentGram != null && !key.startsWith(parentGram, i) && !key.startsWith(parentGram, i + 1)) {
+                    continue;
+                }
+                IntList block = byGram.computeIfAbsent(key.substring(i, i + n), g -> new IntList());
+                if (block.size == 0 || block.last() != member) {
+                    block.add(member);
+                }
+            }
+        }
+        for (Entry<String, IntList> entry : byGram.entrySet()) {
+            IntList block = entry.getValue();
+            if (block.size < 2) {
+                continue;
+            }
+            if (block.size <= _maxBlockSize) {
+                blocks.add(new Block(block.toArray(), null));
+                _statistics.addBlock(block.size);
+            } else if (splitGrams.add(entry.getKey())) {
+                if (n - _ngramSize < MAX_NGRAM_EXTENSION) {
+                    _statistics.splitBlocks++;
+                    int[] blockMembers = block.toArray();
+                    int firstSubBlock = blocks.size();
+                    addBlocks(keys, blockMembers, n + 1, entry.getKey(), splitGrams, blocks);
+                    addUnsplitMembers(blockMembers, blocks.subList(firstSubBlock, blocks.size()), blocks);
+                } else {
+                    blocks.add(new Block(block.toArray(), null));
+                    _statistics.addBlock(block.size);
+                    _statistics.oversizedBlocks++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a block comparing the members of a split block which are not in any of its sub-blocks to all of its
+     * members, since they share no longer n-gram with them.
+     */
+    protected void addUnsplitMembers(int[] members, List<Block> subBlocks, List<Block> blocks) {
+        Set<Integer> covered = new HashSet<>();
+        for (Block subBlock : subBlocks) {
+            for (int member : subBlock.members) {
+                covered.add(member);
+            }
+        }
+        IntList unsplit = new IntList();
+        for (int member : members) {
+            if (!covered.contains(member)) {
+                unsplit.add(member);
+            }
+        }
+        if (unsplit.size > 0) {
+            blocks.add(new Block(members, unsplit.toArray()));
+            _statistics.unsplitValues += unsplit.size;
+        }
+    }
+
+    /**
+     * Builds the list of blocks each value belongs to.
+     */
+    protected static int[][] indexBlocks(int valueCount, List<Block> blocks) {
+        int[] counts = new int[valueCount];
+        for (Block block : blocks) {
+            for (int member : block.members) {
+                counts[member]++;
+            }
+        }
+        int[][] blocksOfValue = new int[valueCount][];
+        for (int i = 0; i < valueCount; i++) {
+            blocksOfValue[i] = new int[counts[i]];
+            counts[i] = 0;
+        }
+        for (int b = 0; b < blocks.size(); b++) {
+            for (int member : blocks.get(b).members) {
+                blocksOfValue[member][counts[member]++] = b;
+            }
+        }
+        return blocksOfValue;
+    }
+
+    protected int[] findNeighbours(String[] values, int index, double radius, List<Block> blocks, int[] blocksOfValue,
+            LongAdder comparisons) {
+        IntList candidates = new IntList();
+        for (int b : blocksOfValue) {
+            for (int member : blocks.get(b).getCandidates(index)) {
+                if (member != index) {
+                    candidates.add(member);
+                }
+            }
+        }
+        int[] sorted = candidates.toArray();
+        Arrays.sort(sorted);
+        IntList neighbours = new IntList();
+        int compared = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i > 0 && sorted[i] == sorted[i - 1]) {
+                continue;
+            }
+            compared++;
+            if (radius < 0 || _distance.compute(values[index], values[sorted[i]], radius) <= radius) {
+                neighbours.add(sorted[i]);
+            }
+        }
+        comparisons.add(compared);
+        return neighbours.toArray();
+    }
+
+    /**
+     * A group of values to compare to each other.
+     */
+    protected static class Block {
+
+        /**
+         * The values of the block, in increasing order.
+         */
+        final int[] members;
+        /**
+         * If not null, the only members compared to the others, in increasing order: the other members are not
+         * compared to each other in this block.
+         */
+        final int[] centres;
+
+        Block(int[] members, int[] centres) {
+            this.members = members;
+            this.centres = centres;
+        }
+
+        /**
+         * @return the values a member of this block is compared to
+         */
+        int[] getCandidates(int member) {
+            if (centres == null || Arrays.binarySearch(centres, member) >= 0) {
+                return members;
+            } else {
+                return centres;
+            }
+        }
+    }
+
+    /**
+     * Statistics about the blocks built by the clusterer, which help choosing the blocking parameters.
+     */
+    public static class BlockingStatistics {
+
+        protected int values;
+        protected int comparedValues;
+        protected int blocks;
+        protected int largestBlock;
+        protected int splitBlocks;
+        protected int oversizedBlocks;
+        protected int unsplitValues;
+        protected long comparisons;
+        protected long elapsedMillis;
+        protected boolean timedOut;
+        protected final TreeMap<Integer, Integer> blockSizeHistogram = new TreeMap<>();
+
+        protected void addBlock(int size) {
+            blocks++;
+            largestBlock = Math.max(largestBlock, size);
+            // blocks are counted in buckets of sizes (2^(k-1), 2^k]
+            int bucket = Integer.highestOneBit(size - 1) << 1;
+            blockSizeHistogram.merge(bucket, 1, Integer::sum);
+        }
+
+        /**
+         * @return the number of distinct values to cluster
+         */
+        @JsonProperty("values")
+        public int getValues() {
+            return values;
+        }
+
+        /**
+         * @return the number of values compared to their candidate neighbours before the time limit
+         */
+        @JsonProperty("comparedValues")
+        public int getComparedValues() {
+            return comparedValues;
+        }
+
+        @JsonProperty("blocks")
+        public int getBlocks() {
+            return blocks;
+        }
+
+        @JsonProperty("largestBlock")
+        public int getLargestBlock() {
+            return largestBlock;
+        }
+
+        /**
+         * @return the number of oversized blocks which were split using longer n-grams
+         */
+        @JsonProperty("splitBlocks")
+        public int getSplitBlocks() {
+            return splitBlocks;
+        }
+
+        /**
+         * @return the number of oversized blocks which could not be split enough, and whose members were all compared
+         *         to each other
+         */
+        @JsonProperty("oversizedBlocks")
+        public int getOversizedBlocks() {
+            return oversizedBlocks;
+        }
+
+        /**
+         * @return the number of values of split blocks which were in none of their sub-blocks, and were compared to all
+         *         values of the split block instead
+         */
+        @JsonProperty("unsplitValues")
+        public int getUnsplitValues() {
+            return unsplitValues;
+        }
+
+        @JsonProperty("comparisons")
+        public long getComparisons() {
+            return comparisons;
+        }
+
+        @JsonProperty("elapsedMillis")
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * @return true if the time limit was reached before all values were compared
+         */
+        @JsonProperty("timedOut")
+        public boolean isTimedOut() {
+            return timedOut;
+        }
+
+        /**
+         * @return the number of blocks by size bucket, each bucket being identified by its largest size (a power of
+         *         two)
+         */
+        @JsonProperty("blockSizeHistogram")
+        public Map<Integer, Integer> getBlockSizeHistogram() {
+            return blockSizeHistogram;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%d values (%d compared), %d blocks (largest: %d, split: %d, oversized: %d, sizes: %s), "
+                            + "%d unsplit values, %d comparisons in %dms%s",
+                    values, comparedValues, blocks, largestBlock, splitBlocks, oversizedBlocks, blockSizeHistogram,
+                    unsplitValues, comparisons, elapsedMillis, timedOut ? " (timed out)" : "");
+        }
+    }
+
+    private static class IntList {
+
+        int[] elements = new int[4];
+        int size = 0;
+
+        void add(int element) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size * 2);
+            }
+            elements[size++] = element;
+        }
+
+        int last() {
+            return elements[size - 1];
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(elements, size);
+        }
+    }
+}
@@ -40,4 +40,20 @@ public interface SimilarityDistance {
      * their differences increase.
      */
     public double compute(String a, String b);
+
+    /**
+     * Compute the distance between two strings, when only distances up to a given bound are of interest. Once the
+     * distance is known to exceed the bound, implementations may stop early and return any value greater than it.
+     */
+    public default double compute(String a, String b, double maxDistance) {
+        return compute(a, b);
+    }
+
+    /**
+     * Whether {@link #compute(String, String)} can safely be called from several threads at once. Distances which are
+     * not thread-safe are always computed sequentially.
+     */
+    public default boolean isThreadSafe() {
+        return false;
+    }
 }
@@ -35,8 +35,7 @@ package com.google.refine.clustering.knn;
 
 import java.io.Serializable;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -44,9 +43,9 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.annotation.JsonValue;
-import edu.mit.simile.vicino.clustering.NGramClusterer;
 import edu.mit.simile.vicino.clustering.VPTreeClusterer;
 import edu.mit.simile.vicino.distances.Distance;
 import org.slf4j.Logger;
@@ -121,6 +120,20 @@ public class kNNClusterer extends Clusterer {
         public double radius = defaultRadius;
         @JsonProperty("blocking-ngram-size")
         public int blockingNgramSize = defaultBlockingNgramSize;
+        /**
+         * The maximum number of values in a block, above which blocks are split using longer n-grams. Defaults to
+         * {@link NGramBlockingClusterer#DEFAULT_MAX_BLOCK_SIZE}.
+         */
+        @JsonProperty("max-block-size")
+        @JsonInclude(Include.NON_NULL)
+        public Integer maxBlockSize = null;
+        /**
+         * The time after which clustering stops and returns the clusters found so far, in milliseconds. No limit if
+         * not set.
+         */
+        @JsonProperty("time-limit")
+        @JsonInclude(Include.NON_NULL)
+        public Long timeLimit = null;
     }
 
     private SimilarityDistance _distance;
@@ -128,7 +141,9 @@ public class kNNClusterer extends Clusterer {
 
     List<Set<Serializable>> _clusters;
 
-    Map<Serializable, Integer> _counts = new HashMap<Serializable, Integer>();
+    Map<Serializable, Integer> _counts = new LinkedHashMap<Serializable, Integer>();
+
+    NGramBlockingClusterer.BlockingStatistics _statistics;
 
     final static Logger logger = LoggerFactory.getLogger("kNN_clusterer");
 
@@ -171,35 +186,7 @@ public class kNNClusterer extends Clusterer {
         }
     }
 
-    class BlockingClusteringRowVisitor implements RowVisitor {
-
-        SimilarityDistance _distance;
-        double _radius = 1.0d;
-        int _blockingNgramSize = 6;
-        HashSet<String> _data;
-        NGramClusterer _clusterer;
-
-        private class DistanceWrapper extends Distance {
-
-            private final SimilarityDistance _d;
-
-            protected DistanceWrapper(SimilarityDistance d) {
-                _d = d;
-            }
-
-            @Override
-            public double d(String arg0, String arg1) {
-                return _d.compute(arg0, arg1);
-            }
-        }
-
-        public BlockingClusteringRowVisitor(SimilarityDistance _distance2, kNNClustererConfigParameters params) {
-            _distance = _distance2;
-            _data = new HashSet<String>();
-            _blockingNgramSize = params.blockingNgramSize;
-            _radius = params.radius;
-            _clusterer = new NGramClusterer(new DistanceWrapper(_distance), _blockingNgramSize);
-        }
+    class DistinctValuesRowVisitor implements RowVisitor {
 
         @Override
         public void start(Project project) {
@@ -216,16 +203,11 @@ public class kNNClusterer extends Clusterer {
             Cell cell = row.getCell(_colindex);
             if (cell != null && cell.value != null) {
                 Object v = cell.value;
-                String s = (v instanceof String) ? ((String) v) : v.toString().intern();
-                _clusterer.populate(s);
+                String s = (v instanceof String) ? ((String) v) : v.toString();
                 count(s);
             }
             return false;
         }
-
-        public List<Set<Serializable>> getClusters() {
-            return _clusterer.getClusters(_radius);
-        }
     }
 
     public void initializeFromConfig(Project project, kNNClustererConfig config) {
@@ -237,11 +219,33 @@ public class kNNClusterer extends Clusterer {
     @Override
     public void computeClusters(Engine engine) {
         // VPTreeClusteringRowVisitor visitor = new VPTreeClusteringRowVisitor(_distance,_config);
-        BlockingClusteringRowVisitor visitor = new BlockingClusteringRowVisitor(_distance, _params);
+        DistinctValuesRowVisitor visitor = new DistinctValuesRowVisitor();
         FilteredRows filteredRows = engine.getAllFilteredRows();
         filteredRows.accept(_project, visitor);
 
-        _clusters = visitor.getClusters();
+        String[] values = _counts.keySet().toArray(new String[0]);
+        int maxBlockSize = _params.maxBlockSize != null ? _params.maxBlockSize
+                : NGramBlockingClusterer.DEFAULT_MAX_BLOCK_SIZE;
+        long timeLimit = _params.timeLimit != null ? _params.timeLimit : 0L;
+        NGramBlockingClusterer clusterer = new NGramBlockingClusterer(_distance, _params.blockingNgramSize,
+                maxBlockSize);
+        _clusters = clusterer.getClusters(values, _params.radius, timeLimit);
+        _statistics = clusterer.getStatistics();
+        if (_statistics.isTimedOut()) {
+            logger.warn("kNN clustering stopped after {}ms, returning partial clusters: {}", timeLimit, _statistics);
+        } else {
+            logger.info("kNN clustering: {}", _statistics);
+        }
+    }
+
+    /**
+     * @return statistics about the blocks used by the last computation of clusters, or null if clusters were not
+     *         computed yet. They are serialized next to the clusters.
+     */
+    @JsonProperty("blockingStatistics")
+    @JsonInclude(Include.NON_NULL)
+    public NGramBlockingClusterer.BlockingStatistics getBlockingStatistics() {
+        return _statistics;
     }
 
     public static class ValuesComparator implements Comparator<Entry<Serializable, Integer>>, Serializable {
@@ -261,7 +265,7 @@ public class kNNClusterer extends Clusterer {
                 .collect(Collectors.toList());
     }
 
-    @JsonValue
+    @JsonProperty("clusters")
     public List<List<ClusteredEntry>> getJsonRepresentation() {
         return _clusters.stream()
                 .filter(m -> m.size() > 1)
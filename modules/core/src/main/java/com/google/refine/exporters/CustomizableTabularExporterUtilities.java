@@ -40,12 +40,19 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -74,6 +81,19 @@ abstract public class CustomizableTabularExporterUtilities {
 
     final static private String fullIso8601 = "yyyy-MM-dd'T'HH:mm:ss'Z'";
 
+    /**
+     * Number of threads formatting the rows of large exports.
+     */
+    static final int FORMATTING_THREADS = Runtime.getRuntime().availableProcessors();
+    /**
+     * Minimum number of rows in a project for its rows to be formatted by several threads.
+     */
+    static final int PARALLEL_THRESHOLD = 10000;
+    /**
+     * Number of rows formatted at once by a thread.
+     */
+    static final int BATCH_SIZE = 1000;
+
     @Deprecated(since = "3.9")
     static public void exportRows(
             final Project project,
@@ -117,42 +137,33 @@ abstract public class CustomizableTabularExporterUtilities {
         final boolean outputEmptyRows = options == null ? false : JSONUtilities.getBoolean(options, "outputBlankRows", true);
         final int limit = options == null ? -1 : JSONUtilities.getInt(options, "limit", -1);
 
-        final List<String> columnNames;
-        final Map<String, CellFormatter> columnNameToFormatter = new HashMap<String, CustomizableTabularExporterUtilities.CellFormatter>();
-
-        List<JsonNode> columnOptionArray = options == null ? null : JSONUtilities.getArray(options, "columns");
+        final List<String> columnNames = new ArrayList<String>();
+        final List<JsonNode> columnOptionArray = options == null ? null : JSONUtilities.getArray(options, "columns");
         if (columnOptionArray == null) {
-            List<Column> columns = project.columnModel.columns;
-
-            columnNames = new ArrayList<String>(columns.size());
-            for (Column column : columns) {
-                String name = column.getName();
-                columnNames.add(name);
-                columnNameToFormatter.put(name, new CellFormatter());
+            for (Column column : project.columnModel.columns) {
+                columnNames.add(column.getName());
             }
         } else {
-            int count = columnOptionArray.size();
-
-            columnNames = new ArrayList<String>(count);
-            for (int i = 0; i < count; i++) {
-                JsonNode columnOptions = columnOptionArray.get(i);
+            for (JsonNode columnOptions : columnOptionArray) {
                 if (columnOptions != null) {
                     String name = JSONUtilities.getString(columnOptions, "name", null);
                     if (name != null) {
                         columnNames.add(name);
-                        try {
-                            columnNameToFormatter.put(name, ParsingUtilities.mapper.treeToValue(columnOptions, ColumnOptions.class));
-                        } catch (JsonProcessingException e) {
-                            e.printStackTrace();
-                        }
                     }
                 }
             }
         }
 
+        // cell formatters are not thread-safe, so each thread formatting rows gets its own
+        final Supplier<RowFormatter> rowFormatters = () -> new RowFormatter(project, columnNames,
+                createFormatters(columnNames, columnOptionArray), outputEmptyRows);
+        final boolean parallel = limit <= 0 && FORMATTING_THREADS > 1 && project.rows.size() >= PARALLEL_THRESHOLD;
+
         RowVisitor visitor = new RowVisitor() {
 
             int rowCount = 0;
+            RowFormatter rowFormatter;
+            ParallelRowFormatter parallelFormatter;
 
             @Override
             public void start(Project project) {
@@ -164,28 +175,27 @@ abstract public class CustomizableTabularExporterUtilities {
                     }
                     serializer.addRow(cells, true);
                 }
+                if (parallel) {
+                    parallelFormatter = new ParallelRowFormatter(rowFormatters, serializer, FORMATTING_THREADS);
+                } else {
+                    rowFormatter = rowFormatters.get();
+                }
             }
 
             @Override
             public boolean visit(Project project, int rowIndex, Row row) {
-                List<CellData> cells = new ArrayList<TabularSerializer.CellData>(columnNames.size());
-                int nonNullCount = 0;
-
-                for (String columnName : columnNames) {
-                    Column column = project.columnModel.getColumnByName(columnName);
-                    CellFormatter formatter = columnNameToFormatter.get(columnName);
-                    CellData cellData = formatter.format(
-                            project,
-                            column,
-                            row.getCell(column.getCellIndex()));
-
-                    cells.add(cellData);
-                    if (cellData != null) {
-                        nonNullCount++;
+                if (parallelFormatter != null) {
+                    try {
+                        parallelFormatter.add(row);
+                    } catch (RuntimeException e) {
+                        stopFormatting();
+                        throw e;
                     }
+                    return false;
                 }
 
-                if (nonNullCount > 0 || outputEmptyRows) {
+                List<CellData> cells = rowFormatter.format(row);
+                if (cells != null) {
                     serializer.addRow(cells, false);
                     rowCount++;
                 }
@@ -195,14 +205,180 @@ abstract public class CustomizableTabularExporterUtilities {
 
             @Override
             public void end(Project project) {
+                if (parallelFormatter != null) {
+                    try {
+                        parallelFormatter.finish();
+                    } finally {
+                        stopFormatting();
+                    }
+                }
                 serializer.endFile();
             }
+
+            private void stopFormatting() {
+                parallelFormatter.close();
+                parallelFormatter = null;
+            }
         };
 
         FilteredRows filteredRows = engine.getAllFilteredRows();
         filteredRows.accept(project, visitor);
     }
 
+    static private Map<String, CellFormatter> createFormatters(List<String> columnNames,
+            List<JsonNode> columnOptionArray) {
+        Map<String, CellFormatter> columnNameToFormatter = new HashMap<String, CellFormatter>();
+        if (columnOptionArray == null) {
+            for (String name : columnNames) {
+                columnNameToFormatter.put(name, new CellFormatter());
+            }
+        } else {
+            for (JsonNode columnOptions : columnOptionArray) {
+                if (columnOptions != null) {
+                    String name = JSONUtilities.getString(columnOptions, "name", null);
+                    if (name != null) {
+                        try {
+                            columnNameToFormatter.put(name,
+                                    ParsingUtilities.mapper.treeToValue(columnOptions, ColumnOptions.class));
+                        } catch (JsonProcessingException e) {
+                            e.printStackTrace();
+                        }
+                    }
+                }
+            }
+        }
+        return columnNameToFormatter;
+    }
+
+    /**
+     * Formats the exported cells of rows. Like the cell formatters it relies on, it is not thread-safe.
+     */
+    static private class RowFormatter {
+
+        final Project project;
+        final Column[] columns;
+        final CellFormatter[] formatters;
+        final boolean outputEmptyRows;
+
+        RowFormatter(Project project, List<String> columnNames, Map<String, CellFormatter> columnNameToFormatter,
+                boolean outputEmptyRows) {
+            this.project = project;
+            this.columns = new Column[columnNames.size()];
+            this.formatters = new CellFormatter[columnNames.size()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = project.columnModel.getColumnByName(columnNames.get(i));
+                formatters[i] = columnNameToFormatter.get(columnNames.get(i));
+            }
+            this.outputEmptyRows = outputEmptyRows;
+        }
+
+        /**
+         * @return the cells of the row, or null if the row is blank and blank rows are not exported
+         */
+        List<CellData> format(Row row) {
+            List<CellData> cells = new ArrayList<TabularSerializer.CellData>(columns.length);
+            int nonNullCount = 0;
+
+            for (int i = 0; i < columns.length; i++) {
+                CellData cellData = formatters[i].format(
+                        project,
+                        columns[i],
+                        row.getCell(columns[i].getCellIndex()));
+
+                cells.add(cellData);
+                if (cellData != null) {
+                    nonNullCount++;
+                }
+            }
+
+            return nonNullCount > 0 || outputEmptyRows ? cells : null;
+        }
+    }
+
+    /**
+     * Formats batches of rows with several threads, while the thread visiting the rows hands the formatted rows to the
+     * serializer in their original order.
+     */
+    static private class ParallelRowFormatter {
+
+        private final TabularSerializer serializer;
+        private final int threads;
+        private final ExecutorService executor;
+        private final ThreadLocal<RowFormatter> rowFormatter;
+        private final Deque<Future<List<List<CellData>>>> inFlight = new ArrayDeque<>();
+        private List<Row> batch = new ArrayList<>(BATCH_SIZE);
+
+        ParallelRowFormatter(Supplier<RowFormatter> rowFormatters, TabularSerializer serializer, int threads) {
+            this.serializer = serializer;
+            this.threads = threads;
+            this.executor = Executors.newFixedThreadPool(threads);
+            this.rowFormatter = ThreadLocal.withInitial(rowFormatters);
+        }
+
+        void add(Row row) {
+            batch.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                submit();
+            }
+        }
+
+        /**
+         * Writes the rows which are still being formatted.
+         */
+        void finish() {
+            if (!batch.isEmpty()) {
+                submit();
+            }
+            while (!inFlight.isEmpty()) {
+                write(inFlight.poll());
+            }
+        }
+
+        void close() {
+            executor.shutdownNow();
+        }
+
+        private void submit() {
+            List<Row> rows = batch;
+            batch = new ArrayList<>(BATCH_SIZE);
+            inFlight.add(executor.submit(() -> format(rows)));
+            // bound the memory used by formatted rows waiting to be written
+            while (inFlight.size() > 2 * threads) {
+                write(inFlight.poll());
+            }
+        }
+
+        private List<List<CellData>> format(List<Row> rows) {
+            RowFormatter formatter = rowFormatter.get();
+            List<List<CellData>> formatted = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                List<CellData> cells = formatter.format(row);
+                if (cells != null) {
+                    formatted.add(cells);
+                }
+            }
+            return formatted;
+        }
+
+        private void write(Future<List<List<CellData>>> future) {
+            List<List<CellData>> rows;
+            try {
+                rows = future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while exporting rows", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new RuntimeException(e.getCause());
+            }
+            for (List<CellData> cells : rows) {
+                serializer.addRow(cells, false);
+            }
+        }
+    }
+
     @Deprecated(since = "3.9")
     static public int[] countColumnsRows(
             final Project project,
@@ -81,6 +81,33 @@ public interface Evaluable {
      */
     public Object evaluate(Properties bindings);
 
+    /**
+     * Evaluate this expression on each row of a batch, storing the result for the i-th row of the batch in
+     * <code>results[i]</code>. The results must be the same as those of {@link #evaluate(Properties)} after binding
+     * each row with {@link ExpressionUtils#bind}.
+     * <p>
+     * The default implementation does exactly that. Implementations can override it to evaluate the rows without
+     * binding them one by one. Callers must therefore not expect the bindings to hold any particular row afterwards.
+     *
+     * @param bindings
+     *            the bindings created for the project, which are used to evaluate the rows
+     * @param rows
+     *            the rows to evaluate the expression on
+     * @param columnName
+     *            the name of the column the expression is based on, or null
+     * @param cellIndex
+     *            the index of the cells of that column, or -1
+     * @param results
+     *            the array receiving the results, which must be at least as long as the batch
+     */
+    public default void evaluateBatch(Properties bindings, RowBatch rows, String columnName, int cellIndex,
+            Object[] results) {
+        for (int i = 0; i < rows.size(); i++) {
+            rows.bind(bindings, i, columnName, cellIndex);
+            results[i] = evaluate(bindings);
+        }
+    }
+
     /**
      * Returns an approximation of the names of the columns this expression depends on. This approximation is designed
      * to be safe: if a set of column names is returned, then the expression does not read any other column than the
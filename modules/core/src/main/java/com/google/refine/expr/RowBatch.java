@@ -0,0 +1,94 @@
+package com.google.refine.expr;
+
+import java.util.Properties;
+
+import com.google.refine.model.Cell;
+import com.google.refine.model.Row;
+
+/**
+ * A buffer of rows, with their indices, which are evaluated together by
+ * {@link Evaluable#evaluateBatch(Properties, RowBatch, String, int, Object[])}.
+ * <p>
+ * The rows do not need to be contiguous: row visitors add the rows they are given by the engine, which only passes
+ * the rows matching the current facets. Once the batch has been evaluated, it can be cleared and refilled.
+ */
+public class RowBatch {
+
+    static final public int DEFAULT_CAPACITY = 1024;
+
+    final protected int[] _rowIndices;
+    final protected Row[] _rows;
+    protected int _size = 0;
+
+    public RowBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RowBatch(int capacity) {
+        _rowIndices = new int[capacity];
+        _rows = new Row[capacity];
+    }
+
+    /**
+     * Adds a row at the end of the batch.
+     *
+     * @throws IllegalStateException
+     *             if the batch is full
+     */
+    public void add(int rowIndex, Row row) {
+        if (_size == _rows.length) {
+            throw new IllegalStateException("Row batch is full");
+        }
+        _rowIndices[_size] = rowIndex;
+        _rows[_size] = row;
+        _size++;
+    }
+
+    public int size() {
+        return _size;
+    }
+
+    public int capacity() {
+        return _rows.length;
+    }
+
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    public boolean isFull() {
+        return _size == _rows.length;
+    }
+
+    /**
+     * Removes all rows from the batch, keeping its capacity.
+     */
+    public void clear() {
+        for (int i = 0; i < _size; i++) {
+            _rows[i] = null;
+        }
+        _size = 0;
+    }
+
+    public int getRowIndex(int i) {
+        return _rowIndices[i];
+    }
+
+    public Row getRow(int i) {
+        return _rows[i];
+    }
+
+    /**
+     * @return the cell of the i-th row at the given cell index, or null if the index is negative.
+     */
+    public Cell getCell(int i, int cellIndex) {
+        return cellIndex < 0 ? null : _rows[i].getCell(cellIndex);
+    }
+
+    /**
+     * Binds the i-th row of the batch, as {@link ExpressionUtils#bind(Properties, Row, int, String, Cell)} does.
+     */
+    public void bind(Properties bindings, int i, String columnName, int cellIndex) {
+        ExpressionUtils.bind(bindings, _rows[i], _rowIndices[i], columnName, getCell(i, cellIndex));
+    }
+}
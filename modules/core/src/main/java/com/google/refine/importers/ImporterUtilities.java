@@ -61,22 +61,158 @@ public class ImporterUtilities {
         if (text.length() > 0) {
             String text2 = CharMatcher.whitespace().trimFrom(text);
             if (text2.length() > 0) {
-                try {
-                    return Long.parseLong(text2);
-                } catch (NumberFormatException e) {
+                Serializable number = parseNumber(text2);
+                if (number != null) {
+                    return number;
                 }
+            }
+        }
+        return text;
+    }
 
-                try {
-                    double d = Double.parseDouble(text2);
-                    // FIXME: Why do we skip Infinities and NaNs?
-                    if (!Double.isInfinite(d) && !Double.isNaN(d)) {
-                        return d;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Parses a trimmed, non-empty string as a long, or else as a finite double, with the same results as
+     * {@link Long#parseLong(String)} followed by {@link Double#parseDouble(String)}.
+     * <p>
+     * Most cells are not numbers, so the string is scanned first instead of relying on the exceptions thrown by those
+     * methods. Integers of up to 18 digits and short decimal numbers are converted directly (a double computed from
+     * an exact mantissa and an exact power of ten is correctly rounded). The rare inputs which the scanner does not
+     * handle (hexadecimal numbers, non-ASCII digits, surrounding control characters, very long integers) go through
+     * {@link #parseNumberWithExceptions(String)}.
+     *
+     * @return a Long, a Double, or null if the string is not a number
+     */
+    static Serializable parseNumber(String s) {
+        int length = s.length();
+        if (s.charAt(0) <= ' ' || s.charAt(length - 1) <= ' ') {
+            // Double.parseDouble trims these characters, but Long.parseLong does not
+            return parseNumberWithExceptions(s);
+        }
+        int i = 0;
+        char c = s.charAt(0);
+        boolean negative = c == '-';
+        if (c == '-' || c == '+') {
+            i++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int integerStart = i;
+        while (i < length && (c = s.charAt(i)) >= '0' && c <= '9') {
+            if (mantissa != 0 || c != '0') {
+                if (++significantDigits <= 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                }
+            }
+            i++;
+        }
+        int integerDigits = i - integerStart;
+        if (i == length) {
+            if (integerDigits == 0) {
+                return null;
+            }
+            if (significantDigits <= 18) {
+                return negative ? -mantissa : mantissa;
+            }
+            // may not fit in a long
+            return parseNumberWithExceptions(s);
+        }
+
+        int fractionDigits = 0;
+        if (c == '.') {
+            i++;
+            int fractionStart = i;
+            while (i < length && (c = s.charAt(i)) >= '0' && c <= '9') {
+                if (mantissa != 0 || c != '0') {
+                    if (++significantDigits <= 18) {
+                        mantissa = mantissa * 10 + (c - '0');
                     }
-                } catch (NumberFormatException e) {
                 }
+                i++;
             }
+            fractionDigits = i - fractionStart;
         }
-        return text;
+        if (integerDigits + fractionDigits == 0) {
+            return i < length ? parseUnusualNumber(s, c) : null;
+        }
+
+        int exponent = 0;
+        if (i < length && (c == 'e' || c == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < length && ((c = s.charAt(i)) == '-' || c == '+')) {
+                negativeExponent = c == '-';
+                i++;
+            }
+            int exponentStart = i;
+            while (i < length && (c = s.charAt(i)) >= '0' && c <= '9') {
+                if (exponent < 100000) {
+                    exponent = exponent * 10 + (c - '0');
+                }
+                i++;
+            }
+            if (i == exponentStart) {
+                return i < length ? parseUnusualNumber(s, c) : null;
+            }
+            if (negativeExponent) {
+                exponent = -exponent;
+            }
+        }
+        if (i < length) {
+            // Double.parseDouble accepts a trailing type suffix
+            if (i != length - 1 || (c != 'd' && c != 'D' && c != 'f' && c != 'F')) {
+                return parseUnusualNumber(s, c);
+            }
+        }
+
+        double d;
+        int scale = exponent - fractionDigits;
+        if (significantDigits == 0) {
+            d = 0.0;
+        } else if (significantDigits <= 15 && scale >= -22 && scale <= 22) {
+            d = scale >= 0 ? mantissa * POWERS_OF_TEN[scale] : mantissa / POWERS_OF_TEN[-scale];
+        } else {
+            // the syntax was checked, so this cannot throw
+            d = Double.parseDouble(s);
+            return Double.isInfinite(d) || Double.isNaN(d) ? null : d;
+        }
+        return negative ? -d : d;
+    }
+
+    /**
+     * Called when a character which is not part of a decimal number is found.
+     */
+    private static Serializable parseUnusualNumber(String s, char c) {
+        if (c == 'x' || c == 'X' || (c >= 0x80 && Character.isDigit(c))) {
+            // hexadecimal floating-point numbers or non-ASCII digits
+            return parseNumberWithExceptions(s);
+        }
+        return null;
+    }
+
+    /**
+     * Parses a string as a long, or else as a finite double, relying on the exceptions thrown by the JDK.
+     */
+    static Serializable parseNumberWithExceptions(String s) {
+        try {
+            return Long.parseLong(s);
+        } catch (NumberFormatException e) {
+        }
+
+        try {
+            double d = Double.parseDouble(s);
+            // FIXME: Why do we skip Infinities and NaNs?
+            if (!Double.isInfinite(d) && !Double.isNaN(d)) {
+                return d;
+            }
+        } catch (NumberFormatException e) {
+        }
+        return null;
     }
 
     static public int getIntegerOption(String name, Properties options, int def) {
@@ -35,6 +35,7 @@ package com.google.refine.importers;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -53,11 +54,79 @@ import com.google.refine.util.JSONUtilities;
 
 abstract public class TabularImportingParserBase extends ImportingParserBase {
 
+    /**
+     * Number of rows after which the memory saved by sharing repeated values is reported to the job.
+     */
+    static final int SAVED_MEMORY_REPORT_INTERVAL = 10000;
+
     static public interface TableDataReader {
 
         public List<Object> getNextRowOfCells() throws IOException;
     }
 
+    /**
+     * A row of cells read by a {@link TableDataReader}, along with the values to store in the project for them, which
+     * can be computed ahead of time (for instance in parallel) with {@link #prepareRow(Object[], boolean, boolean)}.
+     * The original values are still returned by {@link #get(int)}, as they are used if the row turns out to be a
+     * header.
+     */
+    static public class PreparedRow extends AbstractList<Object> {
+
+        protected final Object[] values;
+        protected final Serializable[] storedValues;
+
+        protected PreparedRow(Object[] values, Serializable[] storedValues) {
+            this.values = values;
+            this.storedValues = storedValues;
+        }
+
+        @Override
+        public Object get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        /**
+         * @return the value to store for the non-blank cell at this index
+         */
+        public Serializable getStoredValue(int index) {
+            return storedValues[index];
+        }
+    }
+
+    /**
+     * Converts the values of a row the same way
+     * {@link #readTable(Project, ImportingJob, TableDataReader, int, ObjectNode, List)} does with the same
+     * "trimStrings" and "guessCellValueTypes" options. This does not depend on the project and can be called from any
+     * thread.
+     */
+    static public PreparedRow prepareRow(Object[] values, boolean trimStrings, boolean guessCellValueTypes) {
+        Serializable[] storedValues = new Serializable[values.length];
+        for (int c = 0; c < values.length; c++) {
+            Object value = values[c];
+            if (!(value instanceof Cell) && ExpressionUtils.isNonBlankData(value)) {
+                storedValues[c] = toStoredValue(value, trimStrings, guessCellValueTypes);
+            }
+        }
+        return new PreparedRow(values, storedValues);
+    }
+
+    static protected Serializable toStoredValue(Object value, boolean trimStrings, boolean guessCellValueTypes) {
+        if (value instanceof String) {
+            String string = (String) value;
+            if (trimStrings) {
+                string = CharMatcher.whitespace().trimFrom(string);
+            }
+            return guessCellValueTypes ? ImporterUtilities.parseCellValue(string) : string;
+        } else {
+            return ExpressionUtils.wrapStorable(value);
+        }
+    }
+
     @Override
     public ObjectNode createParserUIInitializationData(ImportingJob job,
             List<ObjectNode> fileRecords, String format) {
@@ -137,6 +206,8 @@ abstract public class TabularImportingParserBase extends ImportingParserBase {
         boolean hasOurOwnColumnNames = headerLines > 0;
 
         List<Boolean> columnsHasData = new ArrayList<>(); // Determine if there is data in each column,def = false
+        List<ValueDictionary> dictionaries = new ArrayList<>(); // Share the instances of repeated values, by cell index
+        long reportedSavedMemory = 0;
 
         List<Object> cells = null;
         int rowsWithData = 0;
@@ -188,6 +259,9 @@ abstract public class TabularImportingParserBase extends ImportingParserBase {
                             while (cellIndex >= columnsHasData.size()) {
                                 columnsHasData.add(false);
                             }
+                            while (cellIndex >= dictionaries.size()) {
+                                dictionaries.add(new ValueDictionary());
+                            }
 
                             Object value = cells.get(c);
                             if (value instanceof Cell) {
@@ -195,16 +269,10 @@ abstract public class TabularImportingParserBase extends ImportingParserBase {
                                 rowHasData = true;
                                 columnsHasData.set(cellIndex, true);
                             } else if (ExpressionUtils.isNonBlankData(value)) {
-                                Serializable storedValue;
-                                if (value instanceof String) {
-                                    if (trimStrings) {
-                                        value = CharMatcher.whitespace().trimFrom(((String) value));
-                                    }
-                                    storedValue = guessCellValueTypes ? ImporterUtilities.parseCellValue((String) value) : (String) value;
-
-                                } else {
-                                    storedValue = ExpressionUtils.wrapStorable(value);
-                                }
+                                Serializable storedValue = cells instanceof PreparedRow
+                                        ? ((PreparedRow) cells).getStoredValue(c)
+                                        : toStoredValue(value, trimStrings, guessCellValueTypes);
+                                storedValue = dictionaries.get(cellIndex).deduplicate(storedValue);
 
                                 row.setCell(cellIndex, new Cell(storedValue, null));
                                 rowHasData = true;
@@ -218,6 +286,9 @@ abstract public class TabularImportingParserBase extends ImportingParserBase {
 
                         if (rowHasData || storeBlankRows) {
                             project.rows.add(row);
+                            if (project.rows.size() % SAVED_MEMORY_REPORT_INTERVAL == 0) {
+                                reportedSavedMemory = reportSavedMemory(job, dictionaries, reportedSavedMemory);
+                            }
                         }
 
                         if (limit2 > 0 && project.rows.size() >= limit2) {
@@ -226,6 +297,7 @@ abstract public class TabularImportingParserBase extends ImportingParserBase {
                     }
                 }
             }
+            reportSavedMemory(job, dictionaries, reportedSavedMemory);
             if (!storeBlankColumns) {// if user don't choose storeBlankColumns, delete all empty columns.
                 deleteEmptyColumns(columnsHasData, project);
             }
@@ -236,6 +308,22 @@ abstract public class TabularImportingParserBase extends ImportingParserBase {
         }
     }
 
+    /**
+     * Reports the memory saved by the dictionaries since the last report to the job.
+     *
+     * @return the memory saved by the dictionaries so far
+     */
+    static private long reportSavedMemory(ImportingJob job, List<ValueDictionary> dictionaries, long reported) {
+        long saved = 0;
+        for (ValueDictionary dictionary : dictionaries) {
+            saved += dictionary.getSavedBytes();
+        }
+        if (saved > reported) {
+            job.addSavedMemory(saved - reported);
+        }
+        return saved;
+    }
+
     /**
      * If "storeBlankColumns" == false, delete blank columns.
      *
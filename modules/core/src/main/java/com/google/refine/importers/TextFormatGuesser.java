@@ -29,7 +29,6 @@ package com.google.refine.importers;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
@@ -38,6 +37,7 @@ import com.google.common.base.CharMatcher;
 import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.commons.lang3.StringUtils;
 
+import com.google.refine.importing.FileSample;
 import com.google.refine.importing.FormatGuesser;
 import com.google.refine.importing.ImportingUtilities;
 
@@ -49,7 +49,7 @@ public class TextFormatGuesser implements FormatGuesser {
 
     @Override
     public String guess(File file, String encoding, String seedFormat) {
-        try (InputStream fis = new FileInputStream(file)) {
+        try (InputStream fis = FileSample.of(file).openStream()) {
             if (ImportingUtilities.isCompressed(file)) {
                 return "binary";
             }
@@ -0,0 +1,80 @@
+package com.google.refine.importers;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shares a single instance between the equal strings imported in a column, so that the memory used by categorical
+ * values (country codes, statuses...) grows with the number of distinct values rather than with the number of rows.
+ * <p>
+ * Columns where most values are distinct would gain nothing from it, so the dictionary of a column is dropped as soon
+ * as it turns out to have too many distinct values. This is checked after {@link #SAMPLE_SIZE} values, and again each
+ * time the number of values seen doubles.
+ * <p>
+ * A dictionary is not thread-safe: it is meant to be used by the thread creating the cells of a column.
+ */
+public class ValueDictionary {
+
+    /**
+     * Number of values after which the proportion of distinct values is first checked.
+     */
+    static final int SAMPLE_SIZE = 1024;
+    /**
+     * Maximum proportion of distinct values for the dictionary to be kept.
+     */
+    static final double MAX_DISTINCT_RATIO = 0.5;
+    /**
+     * Maximum number of distinct values in a dictionary.
+     */
+    static final int MAX_SIZE = 100000;
+
+    private Map<String, String> _strings = new HashMap<>();
+    private long _seen = 0;
+    private long _savedBytes = 0;
+
+    /**
+     * @return an instance equal to the given value, which is shared with the previous occurrences of that value if it
+     *         is a string
+     */
+    public Serializable deduplicate(Serializable value) {
+        if (_strings == null || !(value instanceof String)) {
+            return value;
+        }
+        String string = (String) value;
+        String existing = _strings.putIfAbsent(string, string);
+        _seen++;
+        if (existing != null) {
+            _savedBytes += estimateSize(string);
+        }
+        // checked for every value seen, since the value reaching a checkpoint can be a repeated one
+        boolean checkpoint = _seen >= SAMPLE_SIZE && (_seen & (_seen - 1)) == 0;
+        if (_strings.size() > MAX_SIZE || (checkpoint && _strings.size() > _seen * MAX_DISTINCT_RATIO)) {
+            // high cardinality column
+            _strings = null;
+        }
+        return existing != null ? existing : string;
+    }
+
+    /**
+     * @return false if the dictionary was dropped because the column has too many distinct values
+     */
+    public boolean isEnabled() {
+        return _strings != null;
+    }
+
+    /**
+     * @return an estimate of the memory saved so far, in bytes: the size of the string instances which were not kept
+     */
+    public long getSavedBytes() {
+        return _savedBytes;
+    }
+
+    /**
+     * Estimates the size of a string, assuming compressed object pointers and compact strings (one byte per character
+     * for Latin-1 strings): a 24 byte object and its byte array, aligned on 8 bytes.
+     */
+    static long estimateSize(String string) {
+        return 24 + ((16 + string.length() + 7) & ~7);
+    }
+}
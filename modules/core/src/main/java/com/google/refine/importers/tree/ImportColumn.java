@@ -27,6 +27,8 @@
 
 package com.google.refine.importers.tree;
 
+import com.google.refine.importers.ValueDictionary;
+
 /**
  * A column is used to describe a branch-terminating element in a tree structure
  *
@@ -45,6 +47,10 @@ public class ImportColumn extends ImportVertical {
      * ??? - this field is never written to
      */
     public boolean blankOnFirstRow;
+    /**
+     * Shares the instances of the values repeated in this column.
+     */
+    public final ValueDictionary dictionary = new ValueDictionary();
 
     public ImportColumn() {
     }
@@ -53,6 +53,20 @@ public class ImportColumnGroup extends ImportVertical {
         }
     }
 
+    /**
+     * @return the memory saved by sharing repeated values in the columns of this group and its subgroups, in bytes
+     */
+    public long getSavedMemory() {
+        long saved = 0;
+        for (ImportColumn c : columns.values()) {
+            saved += c.dictionary.getSavedBytes();
+        }
+        for (ImportColumnGroup g : subgroups.values()) {
+            saved += g.getSavedMemory();
+        }
+        return saved;
+    }
+
     @Override
     public String toString() {
         return String.format("name=%s, nextRowIndex=%d, columns={%s}, subgroups={{%s}}",
@@ -237,11 +237,13 @@ abstract public class TreeImportingParserBase extends ImportingParserBase {
         boolean storeEmptyStrings = JSONUtilities.getBoolean(options, "storeEmptyStrings", false);
         boolean guessCellValueTypes = JSONUtilities.getBoolean(options, "guessCellValueTypes", true);
 
+        long savedMemory = rootColumnGroup.getSavedMemory();
         try {
             XmlImportUtilities.importTreeData(treeParser, project, recordPath, rootColumnGroup, limit2,
                     trimStrings, storeEmptyStrings, guessCellValueTypes);
         } catch (Exception e) {
             exceptions.add(e);
         }
+        job.addSavedMemory(rootColumnGroup.getSavedMemory() - savedMemory);
     }
 }
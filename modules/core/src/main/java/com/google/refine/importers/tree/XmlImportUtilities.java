@@ -150,11 +150,12 @@ public class XmlImportUtilities extends TreeImportUtilities {
             logger.trace("importTreeData(TreeReader, Project, String[], ImportColumnGroup)");
         }
         try {
-            while (parser.hasNext()) {
+            // stop reading as soon as enough records were imported, rather than skipping through the rest of the input
+            while (parser.hasNext() && limit != 0) {
                 Token eventType = parser.next();
                 if (eventType == Token.StartEntity) {
-                    findRecord(project, parser, recordPath, 0, rootColumnGroup, limit--, trimStrings, storeEmptyStrings,
-                            guessDataTypes);
+                    limit = findRecord(project, parser, recordPath, 0, rootColumnGroup, limit, trimStrings,
+                            storeEmptyStrings, guessDataTypes);
                 }
             }
         } catch (TreeReaderException e) {
@@ -201,9 +202,11 @@ public class XmlImportUtilities extends TreeImportUtilities {
      *            store empty strings if true
      * @param guessDataTypes
      *            guess whether strings represent numbers and convert
+     * @return the number of records which can still be imported: 0 once the limit is reached, or a negative number if
+     *         there is no limit
      * @throws TreeReaderException
      */
-    static protected void findRecord(
+    static protected int findRecord(
             Project project,
             TreeReader parser,
             String[] recordPath,
@@ -218,7 +221,7 @@ public class XmlImportUtilities extends TreeImportUtilities {
         }
         if (parser.current() == Token.Ignorable) {// XMLStreamConstants.START_DOCUMENT){
             logger.warn("Cannot use findRecord method for START_DOCUMENT event");
-            return;
+            return limit;
         }
 
         String recordPathSegment = recordPath[pathIndex];
@@ -230,7 +233,7 @@ public class XmlImportUtilities extends TreeImportUtilities {
                 while (parser.hasNext() && limit != 0) {
                     Token eventType = parser.next();
                     if (eventType == Token.StartEntity) {
-                        findRecord(project, parser, recordPath, pathIndex + 1, rootColumnGroup, limit--,
+                        limit = findRecord(project, parser, recordPath, pathIndex + 1, rootColumnGroup, limit,
                                 trimStrings, storeEmptyStrings, guessDataTypes);
                     } else if (eventType == Token.EndEntity) {
                         break;
@@ -241,16 +244,19 @@ public class XmlImportUtilities extends TreeImportUtilities {
                             String currentFieldName = parser.getFieldName();
                             if (desiredFieldName.equals(currentFieldName)) {
                                 processFieldAsRecord(project, parser, rootColumnGroup, trimStrings, storeEmptyStrings, guessDataTypes);
+                                limit = limit > 0 ? limit - 1 : limit;
                             }
                         }
                     }
                 }
             } else {
                 processRecord(project, parser, rootColumnGroup, trimStrings, storeEmptyStrings, guessDataTypes);
+                return limit > 0 ? limit - 1 : limit;
             }
         } else {
             skip(parser);
         }
+        return limit;
     }
 
     static protected void skip(TreeReader parser) throws TreeReaderException {
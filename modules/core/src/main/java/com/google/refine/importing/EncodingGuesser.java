@@ -2,7 +2,6 @@
 package com.google.refine.importing;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.List;
 
@@ -55,11 +54,14 @@ public final class EncodingGuesser {
     }
 
     public static String guessEncoding(File dir, String location) throws IOException {
-        try (UnicodeBOMInputStream is = new UnicodeBOMInputStream(
-                new FileInputStream(new File(dir, location)), false)) {
+        FileSample sample = FileSample.of(new File(dir, location));
+        try (UnicodeBOMInputStream is = new UnicodeBOMInputStream(sample.openStream(), false)) {
             String detected = UniversalDetector.detectCharset(is);
             if (UnicodeBOMInputStream.BOM.UTF_8.equals(is.getBOM())) {
                 detected = UTF_8_BOM;
+            } else if ("US-ASCII".equals(detected) && !sample.isComplete()) {
+                // only the beginning of the file is known to be ASCII, UTF-8 also decodes what follows
+                detected = "UTF-8";
             }
             return detected;
         }
@@ -0,0 +1,95 @@
+package com.google.refine.importing;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * The first bytes of a file being imported.
+ * <p>
+ * Guessing the encoding, the format and the options of a file only needs a bounded prefix of it. That prefix is read
+ * once and shared by the guessers, which would otherwise each open and scan the file, so that guessing takes the same
+ * time whatever the size of the file.
+ */
+public class FileSample {
+
+    /**
+     * Maximum number of bytes sampled from a file.
+     */
+    public static final int SAMPLE_SIZE = 1024 * 1024;
+
+    // the samples of the files of the import jobs being configured
+    private static final Cache<File, FileSample> samples = CacheBuilder.newBuilder()
+            .maximumSize(16)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private final byte[] bytes;
+    private final boolean complete;
+    private final long fileLength;
+    private final long lastModified;
+
+    FileSample(byte[] bytes, boolean complete, long fileLength, long lastModified) {
+        this.bytes = bytes;
+        this.complete = complete;
+        this.fileLength = fileLength;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @return the sample of the given file, which is only read if it was not sampled already or was modified since
+     */
+    public static FileSample of(File file) throws IOException {
+        File key = file.getAbsoluteFile();
+        FileSample sample = samples.getIfPresent(key);
+        if (sample == null || sample.fileLength != key.length() || sample.lastModified != key.lastModified()) {
+            sample = read(key, SAMPLE_SIZE);
+            samples.put(key, sample);
+        }
+        return sample;
+    }
+
+    static FileSample read(File file, int size) throws IOException {
+        long fileLength = file.length();
+        long lastModified = file.lastModified();
+        try (InputStream is = new FileInputStream(file)) {
+            byte[] bytes = is.readNBytes(size);
+            return new FileSample(bytes, is.read() < 0, fileLength, lastModified);
+        }
+    }
+
+    /**
+     * @return the number of bytes sampled
+     */
+    public int size() {
+        return bytes.length;
+    }
+
+    /**
+     * @return true if the sample is the whole file
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public InputStream openStream() {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    /**
+     * Decodes the sample. The last character may be truncated if the sample is not complete.
+     *
+     * @param encoding
+     *            the encoding of the file, which may be null to use the default one
+     */
+    public InputStreamReader openReader(String encoding) throws IOException {
+        return ImportingUtilities.getInputStreamReader(openStream(), encoding);
+    }
+}
@@ -67,6 +67,8 @@ public class ImportingJob {
 
     final private Object lock = new Object();
 
+    private long savedMemory = 0;
+
     public ImportingJob(long id, File dir) {
         this.id = id;
         this.dir = dir;
@@ -123,6 +125,34 @@ public class ImportingJob {
             JSONUtilities.safePut(progress, "percent", percent);
             JSONUtilities.safePut(progress, "memory", (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / 1048576);
             JSONUtilities.safePut(progress, "maxmemory", Runtime.getRuntime().maxMemory() / 1048576);
+            JSONUtilities.safePut(progress, "savedmemory", savedMemory / 1048576);
+        }
+    }
+
+    /**
+     * Adds to the estimated memory saved by sharing repeated cell values during the import (see
+     * {@link com.google.refine.importers.ValueDictionary}), which is reported with the progress of the job.
+     *
+     * @param bytes
+     *            the memory saved since the last call, in bytes
+     */
+    public void addSavedMemory(long bytes) {
+        synchronized (config) {
+            savedMemory += bytes;
+            ObjectNode progress = JSONUtilities.getObject(config, "progress");
+            if (progress != null) {
+                JSONUtilities.safePut(progress, "savedmemory", savedMemory / 1048576);
+            }
+        }
+    }
+
+    /**
+     * @return the estimated memory saved by sharing repeated cell values during the import, in bytes
+     */
+    @JsonIgnore
+    public long getSavedMemory() {
+        synchronized (config) {
+            return savedMemory;
         }
     }
 
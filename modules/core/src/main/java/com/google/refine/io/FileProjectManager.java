@@ -38,9 +38,15 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -71,6 +77,8 @@ public class FileProjectManager extends ProjectManager {
     public static final String WORKSPACE_JSON = "workspace.json";
     public static final String WORKSPACE_OLD_JSON = "workspace.old.json";
     public static final String WORKSPACE_TEMP_JSON = "workspace.temp.json";
+    public static final String RECON_CACHE_FILE = "recon-cache.txt";
+    public static final String RECON_CACHE_TEMP_FILE = "recon-cache.temp.txt";
 
     protected File _workspaceDir;
 
@@ -97,6 +105,7 @@ public class FileProjectManager extends ProjectManager {
         }
 
         load();
+        loadReconCache();
     }
 
     @JsonIgnore
@@ -276,6 +285,7 @@ public class FileProjectManager extends ProjectManager {
     @Override
     protected void saveWorkspace() {
         synchronized (this) {
+            saveReconCache();
             List<Long> modified = getModifiedProjectIds();
             boolean saveNeeded = (modified.size() > 0) || _preferenceStore.isDirty() || projectRemoved;
             if (!saveNeeded) {
@@ -321,6 +331,40 @@ public class FileProjectManager extends ProjectManager {
         return tempFile;
     }
 
+    /**
+     * Saves the reconciliation cache, if it changed, to a temporary file which then replaces the previous one.
+     */
+    protected void saveReconCache() {
+        if (!_reconCacheManager.isDirty()) {
+            return;
+        }
+        File tempFile = new File(_workspaceDir, RECON_CACHE_TEMP_FILE);
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8)) {
+            _reconCacheManager.save(writer);
+        } catch (IOException e) {
+            logger.warn("Failed to save reconciliation cache", e);
+            return;
+        }
+        try {
+            Files.move(tempFile.toPath(), new File(_workspaceDir, RECON_CACHE_FILE).toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.error("Failed to rename new temp reconciliation cache file", e);
+        }
+    }
+
+    protected void loadReconCache() {
+        File file = new File(_workspaceDir, RECON_CACHE_FILE);
+        if (!file.exists()) {
+            return;
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            _reconCacheManager.load(reader);
+        } catch (IOException e) {
+            logger.warn("Failed to load reconciliation cache", e);
+        }
+    }
+
     protected List<Long> getModifiedProjectIds() {
         List<Long> modified = _projectsMetadata.entrySet().stream()
                 .filter(e -> {
@@ -119,7 +119,16 @@ public class Column {
     }
 
     /**
-     * Clear all cached precomputed values.
+     * Marker for precomputed values which only depend on individual cell values, and not on the rows they appear in
+     * (such as keys computed from each distinct value). They remain valid when cells change, so they are kept by
+     * {@link #clearPrecomputes()}.
+     */
+    public interface CellValuePrecompute {
+    }
+
+    /**
+     * Clear all cached precomputed values, except those which only depend on individual cell values (see
+     * {@link CellValuePrecompute}).
      * <p>
      * If you are modifying something that requires this to be called, you probably also need to call
      * {@link com.google.refine.LookupCacheManager#flushLookupsInvolvingProjectColumn(long, String)} e.g.
@@ -127,7 +136,7 @@ public class Column {
      */
     public void clearPrecomputes() {
         if (_precomputes != null) {
-            _precomputes.clear();
+            _precomputes.values().removeIf(precompute -> !(precompute instanceof CellValuePrecompute));
         }
     }
 
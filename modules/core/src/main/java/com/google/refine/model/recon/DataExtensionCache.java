@@ -0,0 +1,116 @@
+package com.google.refine.model.recon;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import com.google.refine.model.recon.ReconciledDataExtensionJob.ColumnInfo;
+import com.google.refine.model.recon.ReconciledDataExtensionJob.DataExtension;
+import com.google.refine.model.recon.ReconciledDataExtensionJob.DataExtensionConfig;
+import com.google.refine.util.ParsingUtilities;
+
+/**
+ * Workspace-wide cache of the property values fetched from data extension services, per entity id.
+ * <p>
+ * Values are grouped by endpoint and extension config (see {@link #getCacheKey(String, DataExtensionConfig)}), along
+ * with the column metadata returned by the service for this config. Each group keeps at most a fixed number of
+ * entities, evicting the least recently used ones first.
+ */
+public class DataExtensionCache {
+
+    public static final int DEFAULT_MAX_ENTITIES = 50000;
+
+    protected final int _maxEntities;
+    protected final Map<String, CacheGroup> _groups = new HashMap<>();
+
+    public DataExtensionCache() {
+        this(DEFAULT_MAX_ENTITIES);
+    }
+
+    /**
+     * @param maxEntities
+     *            the maximum number of entities to keep for each endpoint and extension config (0 disables caching)
+     */
+    public DataExtensionCache(int maxEntities) {
+        _maxEntities = maxEntities;
+    }
+
+    /**
+     * Computes the key under which results obtained with the given endpoint and extension config are stored.
+     */
+    public static String getCacheKey(String endpoint, DataExtensionConfig config) {
+        try {
+            return endpoint + "\n" + ParsingUtilities.saveWriter.writeValueAsString(config);
+        } catch (JsonProcessingException e) {
+            // should not happen: the config was deserialized from JSON in the first place
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * @return the column metadata returned by the service for this cache key, or null if nothing is cached for it.
+     */
+    public List<ColumnInfo> getColumns(String cacheKey) {
+        synchronized (_groups) {
+            CacheGroup group = _groups.get(cacheKey);
+            return group == null ? null : group.columns;
+        }
+    }
+
+    /**
+     * @return the cached extension data of the given entity, or null if it is not cached. Entities can only be found if
+     *         the column metadata was cached for the same key.
+     */
+    public DataExtension get(String cacheKey, String id) {
+        synchronized (_groups) {
+            CacheGroup group = _groups.get(cacheKey);
+            return group == null ? null : group.extensions.get(id);
+        }
+    }
+
+    /**
+     * Stores the data fetched for a batch of entities, along with the column metadata they conform to.
+     */
+    public void putAll(String cacheKey, List<ColumnInfo> columns, Map<String, DataExtension> extensions) {
+        if (_maxEntities <= 0 || columns == null || columns.isEmpty()) {
+            return;
+        }
+        synchronized (_groups) {
+            CacheGroup group = _groups.get(cacheKey);
+            if (group == null) {
+                group = new CacheGroup(new ArrayList<>(columns), _maxEntities);
+                _groups.put(cacheKey, group);
+            }
+            group.extensions.putAll(extensions);
+        }
+    }
+
+    public void flush() {
+        synchronized (_groups) {
+            _groups.clear();
+        }
+    }
+
+    static protected class CacheGroup {
+
+        final List<ColumnInfo> columns;
+        final LinkedHashMap<String, DataExtension> extensions;
+
+        CacheGroup(List<ColumnInfo> columns, int maxEntities) {
+            this.columns = columns;
+            this.extensions = new LinkedHashMap<>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, DataExtension> eldest) {
+                    return size() > maxEntities;
+                }
+            };
+        }
+    }
+}
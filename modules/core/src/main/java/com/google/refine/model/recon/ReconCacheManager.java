@@ -0,0 +1,243 @@
+package com.google.refine.model.recon;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import com.google.refine.model.Recon;
+import com.google.refine.model.Recon.Judgment;
+import com.google.refine.util.ParsingUtilities;
+
+/**
+ * Workspace-wide cache of reconciliation results, shared across reconciliation runs, projects and undo/redo.
+ * <p>
+ * Results are keyed by the cache namespace of the {@link ReconConfig} that produced them (see
+ * {@link ReconConfig#getCacheNamespace()}) and by the string key of the {@link ReconJob}. Since the namespace encodes
+ * the service URL, the type and any other setting influencing the results, changing the reconciliation configuration
+ * never serves stale results: the old entries are simply no longer reachable and get evicted over time.
+ * <p>
+ * The cache is bounded both in number of entries (least recently used entries are evicted first) and in age. It can be
+ * saved and loaded again, so that the results survive a restart of the application.
+ */
+public class ReconCacheManager {
+
+    public static final int DEFAULT_MAX_ENTRIES = 100000;
+    public static final long DEFAULT_MAX_AGE_MILLIS = 24L * 60 * 60 * 1000;
+
+    protected final int _maxEntries;
+    protected final long _maxAgeMillis;
+    protected final LinkedHashMap<CacheKey, CacheEntry> _entries;
+
+    protected long _hits = 0;
+    protected long _misses = 0;
+    protected boolean _dirty = false;
+
+    public ReconCacheManager() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_AGE_MILLIS);
+    }
+
+    /**
+     * @param maxEntries
+     *            the maximum number of reconciliation results to keep (0 disables caching)
+     * @param maxAgeMillis
+     *            the maximum age of a cached result, in milliseconds, after which it is considered stale
+     */
+    public ReconCacheManager(int maxEntries, long maxAgeMillis) {
+        _maxEntries = maxEntries;
+        _maxAgeMillis = maxAgeMillis;
+        _entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+                return size() > _maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Retrieves a previously cached reconciliation result.
+     *
+     * @param namespace
+     *            the cache namespace of the reconciliation config
+     * @param jobKey
+     *            the string key of the reconciliation job
+     * @param historyEntryID
+     *            the history entry the returned recon should be attached to
+     * @return a fresh copy of the cached recon, or null if there is no valid cached result
+     */
+    public Recon get(String namespace, String jobKey, long historyEntryID) {
+        if (namespace == null || jobKey == null) {
+            return null;
+        }
+        CacheKey key = new CacheKey(namespace, jobKey);
+        synchronized (_entries) {
+            CacheEntry entry = _entries.get(key);
+            if (entry != null && System.currentTimeMillis() - entry.timestamp > _maxAgeMillis) {
+                _entries.remove(key);
+                entry = null;
+            }
+            if (entry == null) {
+                _misses++;
+                return null;
+            }
+            _hits++;
+            return entry.recon.dup(historyEntryID);
+        }
+    }
+
+    /**
+     * Stores a reconciliation result. Results representing errors are not cached, so that they get retried on the next
+     * run.
+     */
+    public void put(String namespace, String jobKey, Recon recon) {
+        if (namespace == null || jobKey == null || recon == null || _maxEntries <= 0
+                || recon.judgment == Judgment.Error || recon.error != null) {
+            return;
+        }
+        CacheEntry entry = new CacheEntry(recon.dup(recon.judgmentHistoryEntry), System.currentTimeMillis());
+        synchronized (_entries) {
+            _entries.put(new CacheKey(namespace, jobKey), entry);
+            _dirty = true;
+        }
+    }
+
+    /**
+     * Removes all cached results obtained with the given configuration namespace.
+     */
+    public void flushNamespace(String namespace) {
+        synchronized (_entries) {
+            for (Iterator<CacheKey> it = _entries.keySet().iterator(); it.hasNext();) {
+                if (it.next().namespace.equals(namespace)) {
+                    it.remove();
+                    _dirty = true;
+                }
+            }
+        }
+    }
+
+    public void flushAll() {
+        synchronized (_entries) {
+            _dirty = _dirty || !_entries.isEmpty();
+            _entries.clear();
+        }
+    }
+
+    /**
+     * @return whether cached results were added or removed since the cache was last saved or loaded
+     */
+    public boolean isDirty() {
+        synchronized (_entries) {
+            return _dirty;
+        }
+    }
+
+    /**
+     * Writes the cached results, one JSON object per line, from the least to the most recently used one.
+     */
+    public void save(Writer writer) throws IOException {
+        synchronized (_entries) {
+            for (Map.Entry<CacheKey, CacheEntry> entry : _entries.entrySet()) {
+                JsonGenerator generator = ParsingUtilities.mapper.getFactory().createGenerator(writer);
+                generator.writeStartObject();
+                generator.writeStringField("namespace", entry.getKey().namespace);
+                generator.writeStringField("key", entry.getKey().jobKey);
+                generator.writeNumberField("timestamp", entry.getValue().timestamp);
+                generator.writeFieldName("recon");
+                ParsingUtilities.saveWriter.writeValue(generator, entry.getValue().recon);
+                generator.writeEndObject();
+                generator.close();
+                writer.write('\n');
+            }
+            _dirty = false;
+        }
+    }
+
+    /**
+     * Adds the results written by {@link #save(Writer)} to the cache, skipping the ones which have become stale.
+     */
+    public void load(Reader reader) throws IOException {
+        BufferedReader lineReader = new BufferedReader(reader);
+        long now = System.currentTimeMillis();
+        String line;
+        synchronized (_entries) {
+            while ((line = lineReader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                JsonNode node = ParsingUtilities.mapper.readTree(line);
+                long timestamp = node.get("timestamp").asLong();
+                if (now - timestamp > _maxAgeMillis) {
+                    continue;
+                }
+                Recon recon = ParsingUtilities.mapper.treeToValue(node.get("recon"), Recon.class);
+                _entries.put(new CacheKey(node.get("namespace").asText(), node.get("key").asText()),
+                        new CacheEntry(recon, timestamp));
+            }
+            _dirty = false;
+        }
+    }
+
+    public int size() {
+        synchronized (_entries) {
+            return _entries.size();
+        }
+    }
+
+    public long getHits() {
+        synchronized (_entries) {
+            return _hits;
+        }
+    }
+
+    public long getMisses() {
+        synchronized (_entries) {
+            return _misses;
+        }
+    }
+
+    static protected final class CacheKey {
+
+        final String namespace;
+        final String jobKey;
+
+        CacheKey(String namespace, String jobKey) {
+            this.namespace = namespace;
+            this.jobKey = jobKey;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey otherKey = (CacheKey) other;
+            return namespace.equals(otherKey.namespace) && jobKey.equals(otherKey.jobKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(namespace, jobKey);
+        }
+    }
+
+    static protected final class CacheEntry {
+
+        final Recon recon;
+        final long timestamp;
+
+        CacheEntry(Recon recon, long timestamp) {
+            this.recon = recon;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -145,6 +145,19 @@ abstract public class ReconConfig {
         return Optional.empty();
     }
 
+    /**
+     * Identifies the configuration settings which influence the results of {@link #batchRecon(List, long)} beyond the
+     * contents of each {@link ReconJob}. Results obtained with configs of the same namespace and jobs with the same
+     * {@link ReconJob#getStringKey()} are considered interchangeable, and can be served from the
+     * {@link ReconCacheManager}.
+     *
+     * @return the cache namespace, or null if results of this config should not be cached.
+     */
+    @JsonIgnore
+    public String getCacheNamespace() {
+        return null;
+    }
+
     /**
      * Returns a copy of this recon config, with updated column names.
      * 
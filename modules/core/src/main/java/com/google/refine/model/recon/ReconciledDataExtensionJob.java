@@ -178,11 +178,14 @@ public class ReconciledDataExtensionJob {
 
         ObjectNode o = ParsingUtilities.mapper.readValue(response, ObjectNode.class);
 
-        if (columns.size() == 0) {
-            // Extract the column metadata
-            List<ColumnInfo> newColumns = ParsingUtilities.mapper.convertValue(o.get("meta"), new TypeReference<List<ColumnInfo>>() {
-            });
-            columns.addAll(newColumns);
+        // several batches can be fetched concurrently
+        synchronized (columns) {
+            if (columns.size() == 0) {
+                // Extract the column metadata
+                List<ColumnInfo> newColumns = ParsingUtilities.mapper.convertValue(o.get("meta"), new TypeReference<List<ColumnInfo>>() {
+                });
+                columns.addAll(newColumns);
+            }
         }
 
         Map<String, ReconciledDataExtensionJob.DataExtension> map = new HashMap<String, ReconciledDataExtensionJob.DataExtension>();
@@ -210,7 +213,7 @@ public class ReconciledDataExtensionJob {
         return getHttpClient().postNameValue(endpoint, "extend", query);
     }
 
-    private static HttpClient getHttpClient() {
+    private static synchronized HttpClient getHttpClient() {
         if (httpClient == null) {
             httpClient = new HttpClient();
         }
@@ -290,18 +293,11 @@ public class ReconciledDataExtensionJob {
             ObjectNode obj,
             Map<String, ReconCandidate> reconCandidateMap) {
         String id = obj.get("id").asText();
-        ReconCandidate rc;
-        if (reconCandidateMap.containsKey(id)) {
-            rc = reconCandidateMap.get(id);
-        } else {
-            rc = new ReconCandidate(
-                    obj.get("id").asText(),
-                    obj.get("name").asText(),
-                    JSONUtilities.getStringArray(obj, "type"),
-                    100);
-
-            reconCandidateMap.put(id, rc);
-        }
+        ReconCandidate rc = reconCandidateMap.computeIfAbsent(id, k -> new ReconCandidate(
+                obj.get("id").asText(),
+                obj.get("name").asText(),
+                JSONUtilities.getStringArray(obj, "type"),
+                100));
 
         storeCell(rows, row, col, rc);
     }
@@ -139,6 +139,11 @@ public class StandardReconConfig extends ReconConfig {
             return code.hashCode();
         }
 
+        @Override
+        public String getStringKey() {
+            return code;
+        }
+
         @Override
         public String toString() {
             return code;
@@ -362,6 +367,12 @@ public class StandardReconConfig extends ReconConfig {
                 limit);
     }
 
+    @Override
+    public String getCacheNamespace() {
+        // the properties and limit are part of the job keys, everything else influencing the results goes here
+        return String.join("\n", getMode(), service, identifierSpace, schemaSpace, typeID, Boolean.toString(autoMatch));
+    }
+
     public ReconJob createSimpleJob(String query) {
         /*
          * Same as createJob, but for simpler queries without any properties. This is much easier to generate as there
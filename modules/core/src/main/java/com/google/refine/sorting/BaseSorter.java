@@ -33,9 +33,9 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package com.google.refine.sorting;
 
-import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
 
-import com.google.refine.expr.EvalError;
 import com.google.refine.model.Project;
 import com.google.refine.sorting.Criterion.KeyMaker;
 
@@ -43,74 +43,23 @@ abstract public class BaseSorter {
 
     protected Criterion[] _criteria;
     protected KeyMaker[] _keyMakers;
-    protected ComparatorWrapper[] _comparatorWrappers;
-    protected List<Object[]> _keys;
-
-    public class ComparatorWrapper {
-
-        final public int criterionIndex;
-        final protected int multiplier;
-
-        public ComparatorWrapper(int criterionIndex) {
-            this.criterionIndex = criterionIndex;
-            this.multiplier = _criteria[criterionIndex].reverse ? -1 : 1;
-        }
-
-        public Object getKey(Project project, Object o, int index) {
-            while (index >= _keys.size()) {
-                _keys.add(null);
-            }
-
-            Object[] keys = _keys.get(index);
-            if (keys == null) {
-                keys = makeKeys(project, o, index);
-                _keys.set(index, keys);
-            }
-            return keys[criterionIndex];
-        }
-
-        public int compare(Project project, Object o1, int i1, Object o2, int i2) {
-            Criterion c = _criteria[criterionIndex];
-            Object key1 = getKey(project, o1, i1);
-            Object key2 = getKey(project, o2, i2);
-
-            if (key1 == null) {
-                if (key2 == null) {
-                    return 0;
-                } else if (key2 instanceof EvalError) {
-                    return c.blankPosition - c.errorPosition;
-                } else {
-                    return c.blankPosition;
-                }
-            } else if (key1 instanceof EvalError) {
-                if (key2 == null) {
-                    return c.errorPosition - c.blankPosition;
-                } else if (key2 instanceof EvalError) {
-                    return 0;
-                } else {
-                    return c.errorPosition;
-                }
-            } else {
-                if (key2 == null) {
-                    return -c.blankPosition;
-                } else if (key2 instanceof EvalError) {
-                    return -c.errorPosition;
-                } else {
-                    return _keyMakers[criterionIndex].compareKeys(key1, key2) * multiplier;
-                }
-            }
-        }
-    }
+    /**
+     * The keys of each criterion, for each visited row or record (by order of visit).
+     */
+    protected KeyArray[] _keyArrays;
+    /**
+     * Maximum number of rows or records to return in sorted order.
+     */
+    protected int _limit = Integer.MAX_VALUE;
+    protected boolean _parallel = false;
 
     public void initializeFromConfig(Project project, SortingConfig config) {
         _criteria = config.getCriteria();
         int count = _criteria.length;
         _keyMakers = new KeyMaker[count];
-        _comparatorWrappers = new ComparatorWrapper[count];
 
         for (int i = 0; i < count; i++) {
             _keyMakers[i] = _criteria[i].createKeyMaker();
-            _comparatorWrappers[i] = new ComparatorWrapper(i);
         }
     }
 
@@ -118,22 +67,69 @@ abstract public class BaseSorter {
         return _criteria != null && _criteria.length > 0;
     }
 
+    /**
+     * Only sorts and visits the first rows or records in sorted order, which is much cheaper than a full sort when the
+     * limit is small compared to the number of rows.
+     */
+    public void setLimit(int limit) {
+        _limit = limit;
+    }
+
+    /**
+     * Sorts rows or records on the common fork-join pool, when there are enough of them. Keys are still computed
+     * sequentially.
+     */
+    public void setParallel(boolean parallel) {
+        _parallel = parallel;
+    }
+
     abstract protected Object makeKey(
             Project project, KeyMaker keyMaker, Criterion c, Object o, int index);
 
-    protected Object[] makeKeys(Project project, Object o, int index) {
-        Object[] keys = new Object[_keyMakers.length];
-        for (int i = 0; i < keys.length; i++) {
-            keys[i] = makeKey(project, _keyMakers[i], _criteria[i], o, index);
+    /**
+     * Computes the keys of all criteria for the visited rows or records, which can then be compared by position.
+     *
+     * @param objects
+     *            the visited rows or records, by order of visit
+     * @param indices
+     *            the indices of the visited rows or records
+     */
+    protected void computeKeys(Project project, int count, IntFunction<Object> objects, IntUnaryOperator indices) {
+        _keyArrays = new KeyArray[_keyMakers.length];
+        for (int i = 0; i < _keyMakers.length; i++) {
+            _keyArrays[i] = _keyMakers[i].createKeyArray(count);
+        }
+        for (int position = 0; position < count; position++) {
+            Object o = objects.apply(position);
+            int index = indices.applyAsInt(position);
+            for (int i = 0; i < _keyMakers.length; i++) {
+                _keyArrays[i].set(position, makeKey(project, _keyMakers[i], _criteria[i], o, index));
+            }
         }
-        return keys;
     }
 
-    protected int compare(Project project, Object o1, int i1, Object o2, int i2) {
+    /**
+     * Compares two visited rows or records by position, once their keys have been computed.
+     */
+    protected int compare(int position1, int position2) {
         int c = 0;
-        for (int i = 0; c == 0 && i < _comparatorWrappers.length; i++) {
-            c = _comparatorWrappers[i].compare(project, o1, i1, o2, i2);
+        for (int i = 0; c == 0 && i < _keyArrays.length; i++) {
+            c = _keyArrays[i].compare(position1, position2, _criteria[i]);
         }
         return c;
     }
+
+    /**
+     * Sorts the visited rows or records, once their keys have been computed. Rows or records which compare as equal
+     * remain in the order in which they were visited.
+     *
+     * @return the positions of the first rows or records (up to the limit), in sorted order
+     */
+    protected int[] sortPositions(int count) {
+        if (_limit < count) {
+            return IndexSorter.sortFirst(count, _limit, this::compare);
+        } else {
+            return IndexSorter.sort(count, this::compare, _parallel);
+        }
+    }
 }
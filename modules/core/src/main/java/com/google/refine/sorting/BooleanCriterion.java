@@ -64,6 +64,11 @@ public class BooleanCriterion extends Criterion {
             public int compareKeys(Object key1, Object key2) {
                 return ((Boolean) key1).compareTo((Boolean) key2);
             }
+
+            @Override
+            public KeyArray createKeyArray(int size) {
+                return new KeyArray.BooleanKeyArray(size);
+            }
         };
     }
 
@@ -149,6 +149,13 @@ abstract public class Criterion {
 
         abstract public int compareKeys(Object key1, Object key2);
 
+        /**
+         * Creates an array to store the keys of the given number of rows or records, once computed.
+         */
+        public KeyArray createKeyArray(int size) {
+            return new KeyArray.ObjectKeyArray(size, this);
+        }
+
         abstract protected Object makeKey(Object value);
     }
 
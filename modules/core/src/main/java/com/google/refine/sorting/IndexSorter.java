@@ -0,0 +1,182 @@
+package com.google.refine.sorting;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Sorting algorithms on arrays of positions (row or record positions in the order they were visited), with a
+ * comparator on positions. All of them are stable: positions which compare as equal keep their original order.
+ */
+public class IndexSorter {
+
+    /**
+     * Number of positions below which merge sort switches to insertion sort.
+     */
+    static final int INSERTION_SORT_THRESHOLD = 32;
+    /**
+     * Number of positions below which a parallel sort no longer splits its work into separate tasks.
+     */
+    static final int PARALLEL_SORT_THRESHOLD = 8192;
+
+    /**
+     * Returns the positions from 0 to {@code count} (excluded), in sorted order.
+     *
+     * @param parallel
+     *            whether the sort can be run on the common fork-join pool. The comparator must then be thread-safe.
+     */
+    public static int[] sort(int count, IntBinaryOperator comparator, boolean parallel) {
+        int[] positions = new int[count];
+        Arrays.setAll(positions, i -> i);
+        int[] buffer = new int[count];
+        if (parallel && count > PARALLEL_SORT_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(new ParallelMergeSort(positions, buffer, 0, count, comparator));
+        } else {
+            mergeSort(positions, buffer, 0, count, comparator);
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the first {@code limit} positions from 0 to {@code count} (excluded), in sorted order. This only keeps
+     * {@code limit} positions in memory and runs in O(count * log(limit)).
+     */
+    public static int[] sortFirst(int count, int limit, IntBinaryOperator comparator) {
+        if (limit >= count) {
+            return sort(count, comparator, false);
+        }
+        if (limit <= 0) {
+            return new int[0];
+        }
+        // ties are broken by position to preserve stability
+        IntBinaryOperator total = (p1, p2) -> {
+            int c = comparator.applyAsInt(p1, p2);
+            return c != 0 ? c : Integer.compare(p1, p2);
+        };
+        // max-heap of the smallest positions seen so far
+        int[] heap = new int[limit];
+        for (int i = 0; i < limit; i++) {
+            heap[i] = i;
+            siftUp(heap, i, total);
+        }
+        for (int position = limit; position < count; position++) {
+            if (total.applyAsInt(position, heap[0]) < 0) {
+                heap[0] = position;
+                siftDown(heap, limit, total);
+            }
+        }
+        mergeSort(heap, new int[limit], 0, limit, total);
+        return heap;
+    }
+
+    private static void siftUp(int[] heap, int i, IntBinaryOperator comparator) {
+        int element = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (comparator.applyAsInt(element, heap[parent]) <= 0) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = element;
+    }
+
+    private static void siftDown(int[] heap, int size, IntBinaryOperator comparator) {
+        int element = heap[0];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && comparator.applyAsInt(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (comparator.applyAsInt(element, heap[child]) >= 0) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = element;
+    }
+
+    static void mergeSort(int[] a, int[] buffer, int from, int to, IntBinaryOperator comparator) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(a, from, to, comparator);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(a, buffer, from, mid, comparator);
+        mergeSort(a, buffer, mid, to, comparator);
+        merge(a, buffer, from, mid, to, comparator);
+    }
+
+    private static void insertionSort(int[] a, int from, int to, IntBinaryOperator comparator) {
+        for (int i = from + 1; i < to; i++) {
+            int element = a[i];
+            int j = i - 1;
+            while (j >= from && comparator.applyAsInt(a[j], element) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = element;
+        }
+    }
+
+    /**
+     * Merges the sorted ranges [from, mid) and [mid, to), using the same range of the buffer.
+     */
+    private static void merge(int[] a, int[] buffer, int from, int mid, int to, IntBinaryOperator comparator) {
+        if (comparator.applyAsInt(a[mid - 1], a[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(a, from, buffer, from, mid - from);
+        int i = from;
+        int j = mid;
+        int k = from;
+        while (i < mid && j < to) {
+            if (comparator.applyAsInt(a[j], buffer[i]) < 0) {
+                a[k++] = a[j++];
+            } else {
+                a[k++] = buffer[i++];
+            }
+        }
+        while (i < mid) {
+            a[k++] = buffer[i++];
+        }
+    }
+
+    private static class ParallelMergeSort extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        final int[] a;
+        final int[] buffer;
+        final int from;
+        final int to;
+        final IntBinaryOperator comparator;
+
+        ParallelMergeSort(int[] a, int[] buffer, int from, int to, IntBinaryOperator comparator) {
+            this.a = a;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_SORT_THRESHOLD) {
+                mergeSort(a, buffer, from, to, comparator);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ParallelMergeSort(a, buffer, from, mid, comparator),
+                    new ParallelMergeSort(a, buffer, mid, to, comparator));
+            merge(a, buffer, from, mid, to, comparator);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.google.refine.sorting;
+
+import java.lang.reflect.Array;
+import java.time.Instant;
+
+import com.google.refine.expr.EvalError;
+import com.google.refine.sorting.Criterion.KeyMaker;
+
+/**
+ * The sort keys of a criterion for all the rows (or records) being sorted, computed once and stored by position.
+ * <p>
+ * Subclasses store non-blank keys in primitive arrays where possible, so that comparisons do not need to unbox or
+ * cast them.
+ */
+public abstract class KeyArray {
+
+    protected static final byte VALUE = 0;
+    protected static final byte BLANK = 1;
+    protected static final byte ERROR = 2;
+
+    protected final byte[] _kinds;
+
+    protected KeyArray(int size) {
+        _kinds = new byte[size];
+    }
+
+    /**
+     * Stores the key at the given position, as computed by the key maker of the criterion.
+     */
+    public void set(int position, Object key) {
+        if (key == null) {
+            _kinds[position] = BLANK;
+        } else if (key instanceof EvalError) {
+            _kinds[position] = ERROR;
+        } else {
+            _kinds[position] = VALUE;
+            setValue(position, key);
+        }
+    }
+
+    /**
+     * Compares the keys at two positions, placing blanks and errors as configured in the criterion. Blanks and errors
+     * are not affected by the reverse flag.
+     */
+    public int compare(int position1, int position2, Criterion criterion) {
+        byte kind1 = _kinds[position1];
+        byte kind2 = _kinds[position2];
+        if (kind1 == BLANK) {
+            if (kind2 == BLANK) {
+                return 0;
+            } else if (kind2 == ERROR) {
+                return criterion.blankPosition - criterion.errorPosition;
+            } else {
+                return criterion.blankPosition;
+            }
+        } else if (kind1 == ERROR) {
+            if (kind2 == BLANK) {
+                return criterion.errorPosition - criterion.blankPosition;
+            } else if (kind2 == ERROR) {
+                return 0;
+            } else {
+                return criterion.errorPosition;
+            }
+        } else {
+            if (kind2 == BLANK) {
+                return -criterion.blankPosition;
+            } else if (kind2 == ERROR) {
+                return -criterion.errorPosition;
+            } else {
+                int c = compareValues(position1, position2);
+                return criterion.reverse ? -c : c;
+            }
+        }
+    }
+
+    abstract protected void setValue(int position, Object key);
+
+    abstract protected int compareValues(int position1, int position2);
+
+    /**
+     * Keys of any type, compared with {@link KeyMaker#compareKeys(Object, Object)}.
+     */
+    public static class ObjectKeyArray extends KeyArray {
+
+        protected final KeyMaker _keyMaker;
+        protected final Object[] _values;
+
+        public ObjectKeyArray(int size, KeyMaker keyMaker) {
+            super(size);
+            _keyMaker = keyMaker;
+            _values = new Object[size];
+        }
+
+        @Override
+        protected void setValue(int position, Object key) {
+            _values[position] = key;
+        }
+
+        @Override
+        protected int compareValues(int position1, int position2) {
+            return _keyMaker.compareKeys(_values[position1], _values[position2]);
+        }
+    }
+
+    /**
+     * Keys which are compared with their natural ordering, such as collation keys.
+     */
+    public static class ComparableKeyArray<T extends Comparable<T>> extends KeyArray {
+
+        protected final Class<T> _class;
+        protected final T[] _values;
+
+        @SuppressWarnings("unchecked")
+        public ComparableKeyArray(int size, Class<T> clazz) {
+            super(size);
+            _class = clazz;
+            _values = (T[]) Array.newInstance(clazz, size);
+        }
+
+        @Override
+        protected void setValue(int position, Object key) {
+            _values[position] = _class.cast(key);
+        }
+
+        @Override
+        protected int compareValues(int position1, int position2) {
+            return _values[position1].compareTo(_values[position2]);
+        }
+    }
+
+    /**
+     * Numeric keys, compared by their double value.
+     */
+    public static class DoubleKeyArray extends KeyArray {
+
+        protected final double[] _values;
+
+        public DoubleKeyArray(int size) {
+            super(size);
+            _values = new double[size];
+        }
+
+        @Override
+        protected void setValue(int position, Object key) {
+            _values[position] = ((Number) key).doubleValue();
+        }
+
+        @Override
+        protected int compareValues(int position1, int position2) {
+            double d1 = _values[position1];
+            double d2 = _values[position2];
+            return d1 < d2 ? -1 : (d1 > d2 ? 1 : 0);
+        }
+    }
+
+    /**
+     * Instants, stored as seconds and nanoseconds since the epoch.
+     */
+    public static class InstantKeyArray extends KeyArray {
+
+        protected final long[] _seconds;
+        protected final int[] _nanos;
+
+        public InstantKeyArray(int size) {
+            super(size);
+            _seconds = new long[size];
+            _nanos = new int[size];
+        }
+
+        @Override
+        protected void setValue(int position, Object key) {
+            Instant instant = (Instant) key;
+            _seconds[position] = instant.getEpochSecond();
+            _nanos[position] = instant.getNano();
+        }
+
+        @Override
+        protected int compareValues(int position1, int position2) {
+            int c = Long.compare(_seconds[position1], _seconds[position2]);
+            return c != 0 ? c : Integer.compare(_nanos[position1], _nanos[position2]);
+        }
+    }
+
+    public static class BooleanKeyArray extends KeyArray {
+
+        protected final boolean[] _values;
+
+        public BooleanKeyArray(int size) {
+            super(size);
+            _values = new boolean[size];
+        }
+
+        @Override
+        protected void setValue(int position, Object key) {
+            _values[position] = (Boolean) key;
+        }
+
+        @Override
+        protected int compareValues(int position1, int position2) {
+            return Boolean.compare(_values[position1], _values[position2]);
+        }
+    }
+}
@@ -77,6 +77,11 @@ public class NumberCriterion extends Criterion {
                 double d2 = ((Number) key2).doubleValue();
                 return d1 < d2 ? -1 : (d1 > d2 ? 1 : 0);
             }
+
+            @Override
+            public KeyArray createKeyArray(int size) {
+                return new KeyArray.DoubleKeyArray(size);
+            }
         };
     }
 
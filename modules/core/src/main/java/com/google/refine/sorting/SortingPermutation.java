@@ -0,0 +1,221 @@
+package com.google.refine.sorting;
+
+import java.util.Arrays;
+
+import com.google.refine.browsing.FilteredRecords;
+import com.google.refine.browsing.FilteredRows;
+import com.google.refine.browsing.RecordVisitor;
+import com.google.refine.browsing.RowVisitor;
+import com.google.refine.model.Project;
+import com.google.refine.model.Record;
+import com.google.refine.model.Row;
+
+/**
+ * The order in which filtered rows (or records) appear once sorted, stored as an array of row (or record) indices.
+ * <p>
+ * Computing it requires sorting all filtered rows, but it can then be reused to visit any range of the sorted view
+ * in time proportional to the size of that range, as long as neither the grid, the filters nor the sorting criteria
+ * change. A permutation can also be limited to the beginning of the sorted view, which is cheaper to compute.
+ */
+public class SortingPermutation {
+
+    /**
+     * Row indices (in row mode) or record indices (in record mode), in sorted order.
+     */
+    protected final int[] _indices;
+    /**
+     * For each position in the sorted view, the pagination index of the corresponding row or record, which is the
+     * number of rows displayed before it in the sorted view.
+     */
+    protected final int[] _paginationIndices;
+    /**
+     * Number of rows (or records) in the sorted view, which can be more than the number of indices stored if the
+     * permutation is limited.
+     */
+    protected final int _total;
+    /**
+     * Number of rows in the sorted view.
+     */
+    protected final int _rowCount;
+
+    protected SortingPermutation(int[] indices, int[] paginationIndices, int total, int rowCount) {
+        _indices = indices;
+        _paginationIndices = paginationIndices;
+        _total = total;
+        _rowCount = rowCount;
+    }
+
+    /**
+     * Sorts the given rows.
+     *
+     * @param limit
+     *            the number of rows to sort, from the beginning of the sorted view
+     * @return the permutation of the filtered rows, or null if the sorting config does not have any criterion
+     */
+    public static SortingPermutation ofRows(Project project, FilteredRows filteredRows, SortingConfig config,
+            int limit) {
+        SortingRowVisitor sorter = new SortingRowVisitor(new RowVisitor() {
+
+            @Override
+            public void start(Project project) {
+                // nothing to do
+            }
+
+            @Override
+            public boolean visit(Project project, int rowIndex, Row row) {
+                // rows are only visited once sorted
+                return false;
+            }
+
+            @Override
+            public void end(Project project) {
+                // nothing to do
+            }
+        });
+        sorter.initializeFromConfig(project, config);
+        if (!sorter.hasCriteria()) {
+            return null;
+        }
+        sorter.setLimit(limit);
+        sorter.setParallel(true);
+        filteredRows.accept(project, sorter);
+        int[] indices = sorter.getSortedRowIndices();
+        int[] paginationIndices = new int[indices.length];
+        Arrays.setAll(paginationIndices, i -> i);
+        return new SortingPermutation(indices, paginationIndices, sorter.getCount(), sorter.getCount());
+    }
+
+    /**
+     * Sorts the given records.
+     *
+     * @param limit
+     *            the number of records to sort, from the beginning of the sorted view
+     * @return the permutation of the filtered records, or null if the sorting config does not have any criterion
+     */
+    public static SortingPermutation ofRecords(Project project, FilteredRecords filteredRecords, SortingConfig config,
+            int limit) {
+        SortingRecordVisitor sorter = new SortingRecordVisitor(new RecordVisitor() {
+
+            @Override
+            public void start(Project project) {
+                // nothing to do
+            }
+
+            @Override
+            public boolean visit(Project project, Record record) {
+                // records are only visited once sorted
+                return false;
+            }
+
+            @Override
+            public void end(Project project) {
+                // nothing to do
+            }
+        });
+        sorter.initializeFromConfig(project, config);
+        if (!sorter.hasCriteria()) {
+            return null;
+        }
+        sorter.setLimit(limit);
+        sorter.setParallel(true);
+        filteredRecords.accept(project, sorter);
+        int[] indices = sorter.getSortedRecordIndices();
+        int[] paginationIndices = new int[indices.length];
+        int paginationIndex = 0;
+        for (int i = 0; i < indices.length; i++) {
+            paginationIndices[i] = paginationIndex;
+            Record record = project.recordModel.getRecord(indices[i]);
+            paginationIndex += record.toRowIndex - record.fromRowIndex;
+        }
+        return new SortingPermutation(indices, paginationIndices, sorter.getCount(), sorter.getRowCount());
+    }
+
+    /**
+     * @return the number of rows (or records) stored in this permutation
+     */
+    public int size() {
+        return _indices.length;
+    }
+
+    /**
+     * @return the number of rows (or records) in the sorted view
+     */
+    public int getTotal() {
+        return _total;
+    }
+
+    /**
+     * @return true if the permutation covers the entire sorted view
+     */
+    public boolean isComplete() {
+        return _indices.length == _total;
+    }
+
+    /**
+     * @return the number of rows in the sorted view (including the dependent rows of records in record mode)
+     */
+    public int getRowCount() {
+        return _rowCount;
+    }
+
+    /**
+     * @return the index of the row (or record) at this position of the sorted view
+     */
+    public int getIndex(int position) {
+        return _indices[position];
+    }
+
+    /**
+     * @return the pagination index of the row (or record) at this position of the sorted view
+     */
+    public int getPaginationIndex(int position) {
+        return _paginationIndices[position];
+    }
+
+    /**
+     * @return the first position in the sorted view whose pagination index is greater than or equal to the given one,
+     *         or {@link #size()} if there is no such position
+     */
+    public int getPosition(int paginationIndex) {
+        int position = Arrays.binarySearch(_paginationIndices, paginationIndex);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    /**
+     * Visits the rows of a range of the sorted view.
+     *
+     * @param from
+     *            the first position to visit (inclusive)
+     * @param to
+     *            the last position to visit (exclusive)
+     */
+    public void accept(Project project, RowVisitor visitor, int from, int to) {
+        visitor.start(project);
+        for (int position = from; position < to; position++) {
+            int rowIndex = _indices[position];
+            if (visitor.visit(project, rowIndex, _paginationIndices[position], project.rows.get(rowIndex))) {
+                break;
+            }
+        }
+        visitor.end(project);
+    }
+
+    /**
+     * Visits the records of a range of the sorted view.
+     *
+     * @param from
+     *            the first position to visit (inclusive)
+     * @param to
+     *            the last position to visit (exclusive)
+     */
+    public void accept(Project project, RecordVisitor visitor, int from, int to) {
+        visitor.start(project);
+        for (int position = from; position < to; position++) {
+            Record record = project.recordModel.getRecord(_indices[position]);
+            if (visitor.visit(project, _paginationIndices[position], record)) {
+                break;
+            }
+        }
+        visitor.end(project);
+    }
+}
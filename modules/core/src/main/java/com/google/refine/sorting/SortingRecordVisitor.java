@@ -34,8 +34,7 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package com.google.refine.sorting;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
 
 import com.google.refine.browsing.RecordVisitor;
@@ -47,6 +46,11 @@ public class SortingRecordVisitor extends BaseSorter implements RecordVisitor {
 
     final protected RecordVisitor _visitor;
     protected List<Record> _records;
+    protected int _rowCount;
+    /**
+     * Positions of the visited records in sorted order, once sorted.
+     */
+    protected int[] _sortedPositions;
 
     public SortingRecordVisitor(RecordVisitor visitor) {
         _visitor = visitor;
@@ -56,30 +60,20 @@ public class SortingRecordVisitor extends BaseSorter implements RecordVisitor {
     public void start(Project project) {
         int count = project.recordModel.getRecordCount();
         _records = new ArrayList<Record>(count);
-        _keys = new ArrayList<Object[]>(count);
+        _rowCount = 0;
     }
 
     @Override
     public void end(Project project) {
         _visitor.start(project);
 
-        Collections.sort(_records, new Comparator<Record>() {
-
-            Project project;
-
-            Comparator<Record> init(Project project) {
-                this.project = project;
-                return this;
-            }
-
-            @Override
-            public int compare(Record o1, Record o2) {
-                return SortingRecordVisitor.this.compare(project, o1, o1.recordIndex, o2, o2.recordIndex);
-            }
-        }.init(project));
+        computeKeys(project, _records.size(), position -> _records.get(position),
+                position -> _records.get(position).recordIndex);
+        _sortedPositions = sortPositions(_records.size());
 
         int sortedIndex = 0;
-        for (Record record : _records) {
+        for (int position : _sortedPositions) {
+            Record record = _records.get(position);
             _visitor.visit(project, sortedIndex, record);
             sortedIndex += record.toRowIndex - record.fromRowIndex;
         }
@@ -90,9 +84,32 @@ public class SortingRecordVisitor extends BaseSorter implements RecordVisitor {
     @Override
     public boolean visit(Project project, Record record) {
         _records.add(record);
+        _rowCount += record.toRowIndex - record.fromRowIndex;
         return false;
     }
 
+    /**
+     * @return the number of records visited
+     */
+    public int getCount() {
+        return _records.size();
+    }
+
+    /**
+     * @return the total number of rows in the visited records
+     */
+    public int getRowCount() {
+        return _rowCount;
+    }
+
+    /**
+     * @return the indices of the visited records in sorted order (up to the limit). Only available once all records
+     *         have been visited.
+     */
+    public int[] getSortedRecordIndices() {
+        return Arrays.stream(_sortedPositions).map(position -> _records.get(position).recordIndex).toArray();
+    }
+
     @Override
     protected Object makeKey(
             Project project, KeyMaker keyMaker, Criterion c, Object o, int index) {
@@ -33,10 +33,7 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package com.google.refine.sorting;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
+import java.util.Arrays;
 
 import com.google.refine.browsing.RowVisitor;
 import com.google.refine.model.Project;
@@ -46,18 +43,15 @@ import com.google.refine.sorting.Criterion.KeyMaker;
 public class SortingRowVisitor extends BaseSorter implements RowVisitor {
 
     final protected RowVisitor _visitor;
-    protected List<IndexedRow> _indexedRows;
-
-    static protected class IndexedRow {
-
-        final int index;
-        final Row row;
-
-        IndexedRow(int index, Row row) {
-            this.index = index;
-            this.row = row;
-        }
-    }
+    /**
+     * Indices of the visited rows, by order of visit.
+     */
+    protected int[] _rowIndices;
+    protected int _count;
+    /**
+     * Positions of the visited rows in sorted order, once sorted.
+     */
+    protected int[] _sortedPositions;
 
     public SortingRowVisitor(RowVisitor visitor) {
         _visitor = visitor;
@@ -65,33 +59,22 @@ public class SortingRowVisitor extends BaseSorter implements RowVisitor {
 
     @Override
     public void start(Project project) {
-        int count = project.rows.size();
-        _indexedRows = new ArrayList<IndexedRow>(count);
-        _keys = new ArrayList<Object[]>(count);
+        _rowIndices = new int[project.rows.size()];
+        _count = 0;
     }
 
     @Override
     public void end(Project project) {
         _visitor.start(project);
 
-        Collections.sort(_indexedRows, new Comparator<IndexedRow>() {
-
-            Project project;
-
-            Comparator<IndexedRow> init(Project project) {
-                this.project = project;
-                return this;
-            }
-
-            @Override
-            public int compare(IndexedRow o1, IndexedRow o2) {
-                return SortingRowVisitor.this.compare(project, o1.row, o1.index, o2.row, o2.index);
-            }
-        }.init(project));
+        computeKeys(project, _count, position -> project.rows.get(_rowIndices[position]),
+                position -> _rowIndices[position]);
+        _sortedPositions = sortPositions(_count);
 
         int sortedIndex = 0;
-        for (IndexedRow indexedRow : _indexedRows) {
-            _visitor.visit(project, indexedRow.index, sortedIndex, indexedRow.row);
+        for (int position : _sortedPositions) {
+            int rowIndex = _rowIndices[position];
+            _visitor.visit(project, rowIndex, sortedIndex, project.rows.get(rowIndex));
             sortedIndex++;
         }
 
@@ -100,10 +83,28 @@ public class SortingRowVisitor extends BaseSorter implements RowVisitor {
 
     @Override
     public boolean visit(Project project, int rowIndex, Row row) {
-        _indexedRows.add(new IndexedRow(rowIndex, row));
+        if (_count == _rowIndices.length) {
+            _rowIndices = Arrays.copyOf(_rowIndices, Math.max(16, 2 * _count));
+        }
+        _rowIndices[_count++] = rowIndex;
         return false;
     }
 
+    /**
+     * @return the number of rows visited
+     */
+    public int getCount() {
+        return _count;
+    }
+
+    /**
+     * @return the indices of the visited rows in sorted order (up to the limit). Only available once all rows have
+     *         been visited.
+     */
+    public int[] getSortedRowIndices() {
+        return Arrays.stream(_sortedPositions).map(position -> _rowIndices[position]).toArray();
+    }
+
     @Override
     protected Object makeKey(
             Project project, KeyMaker keyMaker, Criterion c, Object o, int index) {
@@ -36,6 +36,7 @@ package com.google.refine.util;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.text.ParsePosition;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
@@ -43,6 +44,7 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
@@ -234,23 +236,41 @@ public class ParsingUtilities {
      */
     static public OffsetDateTime stringToDate(String s) {
         // Accept timestamps with an explicit time zone
-        try {
-            return OffsetDateTime.parse(s);
-        } catch (DateTimeParseException e) {
-
+        TemporalAccessor parsed = parseExactly(DateTimeFormatter.ISO_OFFSET_DATE_TIME, s);
+        if (parsed != null) {
+            return OffsetDateTime.from(parsed);
         }
 
         // Also accept timestamps without an explicit zone and
         // assume them to be in local time.
-        try {
-            LocalDateTime localTime = LocalDateTime.parse(s);
+        parsed = parseExactly(DateTimeFormatter.ISO_LOCAL_DATE_TIME, s);
+        if (parsed != null) {
+            LocalDateTime localTime = LocalDateTime.from(parsed);
             return OffsetDateTime.of(localTime, ZoneId.systemDefault().getRules().getOffset(localTime));
-        } catch (DateTimeParseException e) {
-
         }
         return null;
     }
 
+    /**
+     * Parses a whole string with a formatter, without the cost of an exception for the strings which do not match
+     * its pattern, as those are common when guessing whether values are dates.
+     *
+     * @return the parsed temporal, or null if the string is not in the format of the formatter
+     */
+    static private TemporalAccessor parseExactly(DateTimeFormatter formatter, String s) {
+        ParsePosition position = new ParsePosition(0);
+        if (formatter.parseUnresolved(s, position) == null || position.getErrorIndex() >= 0
+                || position.getIndex() != s.length()) {
+            return null;
+        }
+        try {
+            // the fields can still be invalid, like on February 30
+            return formatter.parse(s);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
     static public LocalDateTime stringToLocalDate(String s) {
         // parse the string as a date and express it in local time
         OffsetDateTime parsed = stringToDate(s);
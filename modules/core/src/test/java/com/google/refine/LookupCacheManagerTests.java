@@ -0,0 +1,144 @@
+package com.google.refine;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.refine.LookupCacheManager.ProjectLookup;
+import com.google.refine.model.Project;
+import com.google.refine.util.LookupException;
+
+public class LookupCacheManagerTests extends RefineTest {
+
+    Project project;
+
+    @BeforeMethod
+    public void setUp() {
+        project = createProject("lookup project",
+                new String[] { "a", "b" },
+                new Serializable[][] {
+                        { "x", 1 },
+                        { "y", 2 },
+                        { "x", null },
+                        { null, 2 },
+                });
+    }
+
+    @Test
+    public void testLookupOnColumn() throws LookupException {
+        LookupCacheManager manager = new LookupCacheManager();
+
+        ProjectLookup lookup = manager.getLookup(project.id, "a");
+        assertEquals(lookup.getRowIndices("x"), new int[] { 0, 2 });
+        assertEquals(lookup.getRowIndices("y"), new int[] { 1 });
+        assertEquals(lookup.getRowIndices("z"), new int[] {});
+        assertEquals(lookup.getRowIndices(null), new int[] {});
+        assertEquals(lookup.getValueCount(), 2);
+        assertEquals(lookup.getRows("x").size(), 2);
+
+        ProjectLookup numbers = manager.getLookup(project.id, "b");
+        assertEquals(numbers.getRowIndices(2L), new int[] { 1, 3 });
+    }
+
+    @Test
+    public void testLookupOnIndexColumn() throws LookupException {
+        LookupCacheManager manager = new LookupCacheManager();
+
+        ProjectLookup lookup = manager.getLookup(project.id, LookupCacheManager.INDEX_COLUMN_NAME);
+        assertEquals(lookup.getRowIndices("1"), new int[] { 1 });
+        assertEquals(lookup.getRowIndices(3), new int[] { 3 });
+        assertEquals(lookup.getRowIndices("4"), new int[] {});
+        assertEquals(lookup.getRowIndices("01"), new int[] {});
+        assertEquals(lookup.getRowIndices("-1"), new int[] {});
+        assertEquals(lookup.getRowIndices("one"), new int[] {});
+    }
+
+    @Test(expectedExceptions = LookupException.class)
+    public void testLookupOnMissingColumn() throws LookupException {
+        new LookupCacheManager().getLookup(project.id, "missing");
+    }
+
+    @Test
+    public void testConcurrentLookupsAreComputedOnce() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        LookupCacheManager manager = new LookupCacheManager() {
+
+            @Override
+            protected ProjectLookup computeLookup(long targetProjectID, String targetColumnName, long flushCount)
+                    throws LookupException {
+                computations.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.computeLookup(targetProjectID, targetColumnName, flushCount);
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ProjectLookup>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> manager.getLookup(project.id, "a")));
+            }
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            release.countDown();
+
+            ProjectLookup lookup = futures.get(0).get();
+            for (Future<ProjectLookup> future : futures) {
+                assertSame(future.get(), lookup);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(computations.get(), 1);
+        assertEquals(manager.getStats().loadCount(), 1);
+    }
+
+    @Test
+    public void testFlushLookups() throws LookupException {
+        LookupCacheManager manager = new LookupCacheManager();
+        ProjectLookup lookupA = manager.getLookup(project.id, "a");
+        ProjectLookup lookupB = manager.getLookup(project.id, "b");
+        assertSame(manager.getLookup(project.id, "a"), lookupA);
+
+        manager.flushLookupsInvolvingProjectColumn(project.id, "a");
+        assertNotSame(manager.getLookup(project.id, "a"), lookupA);
+        assertSame(manager.getLookup(project.id, "b"), lookupB);
+
+        manager.flushLookupsInvolvingProject(project.id);
+        assertNotSame(manager.getLookup(project.id, "b"), lookupB);
+    }
+
+    @Test
+    public void testLookupsAreEvictedOverMemoryBudget() throws LookupException {
+        ProjectLookup lookup = new LookupCacheManager().getLookup(project.id, "a");
+        // the three lookups do not fit in this budget together
+        LookupCacheManager manager = new LookupCacheManager(lookup.getEstimatedSize() + 1);
+
+        manager.getLookup(project.id, "a");
+        manager.getLookup(project.id, "b");
+        manager.getLookup(project.id, LookupCacheManager.INDEX_COLUMN_NAME);
+
+        assertTrue(manager.getStats().evictionCount() > 0);
+        assertTrue(manager.getEstimatedMemoryUsage() > 0);
+    }
+}
@@ -45,6 +45,7 @@ import org.testng.annotations.Test;
 
 import com.google.refine.RefineTest;
 import com.google.refine.expr.Evaluable;
+import com.google.refine.expr.RowBatch;
 import com.google.refine.model.Cell;
 import com.google.refine.model.ModelException;
 import com.google.refine.model.Project;
@@ -188,6 +189,40 @@ public class ExpressionNominalValueGrouperTests extends RefineTest {
         Assert.assertEquals(grouper.choices.get(dateTimeStringValue).decoratedValue.value.toString(), dateTimeStringValue);
     }
 
+    @Test
+    public void expressionNominalValueGrouperOverSeveralBatches() throws Exception {
+        int rowCount = 2 * RowBatch.DEFAULT_CAPACITY + 10;
+        for (int i = 0; i < rowCount; i++) {
+            Row row = new Row(1);
+            if (i % 3 != 0) {
+                row.setCell(0, new Cell(i % 2 == 0 ? "even" : "odd", null));
+            }
+            project.rows.add(row);
+        }
+
+        grouper = new ExpressionNominalValueGrouper(eval, columnName, cellIndex);
+        try {
+            grouper.start(project);
+            for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+                grouper.visit(project, rowIndex, rowIndex, project.rows.get(rowIndex));
+            }
+        } finally {
+            grouper.end(project);
+        }
+
+        int blankCount = (rowCount + 2) / 3;
+        int evenCount = 0;
+        for (int i = 0; i < rowCount; i++) {
+            if (i % 3 != 0 && i % 2 == 0) {
+                evenCount++;
+            }
+        }
+        Assert.assertEquals(grouper.blankCount, blankCount);
+        Assert.assertEquals(grouper.choices.size(), 2);
+        Assert.assertEquals(grouper.choices.get("even").count, evenCount);
+        Assert.assertEquals(grouper.choices.get("odd").count, rowCount - blankCount - evenCount);
+    }
+
     @Test
     public void expressionNominalValueGrouperRecords() throws Exception {
         project = createProject(
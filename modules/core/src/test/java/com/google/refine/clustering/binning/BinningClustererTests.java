@@ -28,9 +28,12 @@
 package com.google.refine.clustering.binning;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
@@ -39,8 +42,12 @@ import org.testng.annotations.Test;
 
 import com.google.refine.RefineTest;
 import com.google.refine.browsing.Engine;
+import com.google.refine.clustering.ClusteredEntry;
 import com.google.refine.clustering.binning.BinningClusterer.BinningClustererConfig;
+import com.google.refine.model.Cell;
 import com.google.refine.model.Project;
+import com.google.refine.model.changes.CellChange;
+import com.google.refine.model.changes.MassCellChange;
 import com.google.refine.util.ParsingUtilities;
 import com.google.refine.util.TestUtils;
 
@@ -111,4 +118,96 @@ public class BinningClustererTests extends RefineTest {
         clusterer.computeClusters(new Engine(project));
         assertEquals(clusterer.getJsonRepresentation().size(), 1);
     }
+
+    @Test
+    public void testParallelKeying() throws IOException {
+        int rowCount = BinningClusterer.PARALLEL_THRESHOLD * 2;
+        Serializable[][] rows = new Serializable[rowCount][];
+        for (int i = 0; i < rowCount; i++) {
+            // each group has two distinct spellings, plus a value without any other spelling
+            int group = i / 4;
+            String value = (i % 4 == 0) ? "Value " + group : (i % 4 == 3 ? "lonely " + i : "value " + group + ".");
+            rows[i] = new Serializable[] { value };
+        }
+        Project project = createProject(new String[] { "column" }, rows);
+
+        BinningClusterer parallel = new BinningClusterer();
+        BinningClustererConfig config = new BinningClustererConfig();
+        config.setKeyer("fingerprint");
+        config.setColumnName("column");
+        parallel.initializeFromConfig(project, config);
+        parallel.computeClusters(new Engine(project));
+
+        BinningClusterer sequential = new BinningClusterer();
+        sequential.initializeFromConfig(project, config);
+        sequential._keyer = new Keyer() {
+
+            Keyer fingerprint = new FingerprintKeyer();
+
+            @Override
+            public String key(String string, Object... params) {
+                return fingerprint.key(string, params);
+            }
+        };
+        sequential.computeClusters(new Engine(project));
+
+        List<List<ClusteredEntry>> clusters = parallel.getJsonRepresentation();
+        assertEquals(clusters.size(), rowCount / 4);
+        assertEquals(ParsingUtilities.mapper.writeValueAsString(parallel),
+                ParsingUtilities.mapper.writeValueAsString(sequential));
+    }
+
+    @Test
+    public void testKeysAreCachedAcrossEdits() {
+        Project project = createProject(new String[] { "column" },
+                new Serializable[][] {
+                        { "a" },
+                        { "à" },
+                        { "b" },
+                        { "a" }
+                });
+        AtomicInteger keyed = new AtomicInteger();
+        Keyer countingKeyer = new Keyer() {
+
+            Keyer fingerprint = new FingerprintKeyer();
+
+            @Override
+            public String key(String string, Object... params) {
+                keyed.incrementAndGet();
+                return fingerprint.key(string, params);
+            }
+        };
+        BinningClustererConfig config = new BinningClustererConfig();
+        config.setKeyer("fingerprint");
+        config.setColumnName("column");
+
+        BinningClusterer clusterer = new BinningClusterer();
+        clusterer.initializeFromConfig(project, config);
+        clusterer._keyer = countingKeyer;
+        clusterer.computeClusters(new Engine(project));
+        assertEquals(keyed.get(), 3);
+
+        // a second run does not key any value again
+        clusterer.computeClusters(new Engine(project));
+        assertEquals(keyed.get(), 3);
+
+        // after an edit, only the new value is keyed
+        int cellIndex = project.columnModel.getColumnByName("column").getCellIndex();
+        Cell oldCell = project.rows.get(2).getCell(cellIndex);
+        CellChange cellChange = new CellChange(2, cellIndex, oldCell, new Cell("á", null));
+        new MassCellChange(cellChange, "column", false).apply(project);
+        clusterer.computeClusters(new Engine(project));
+        assertEquals(keyed.get(), 4);
+        assertEquals(clusterer.getJsonRepresentation().get(0).size(), 3);
+    }
+
+    @Test
+    public void testKeyCacheIsBounded() {
+        KeyCache cache = new KeyCache(new FingerprintKeyer(), 10);
+        for (int i = 0; i < 100; i++) {
+            cache.put("value " + i, "key " + i);
+        }
+        assertTrue(cache.size() <= 10);
+        assertEquals(cache.get("value 99"), "key 99");
+    }
 }
@@ -51,6 +51,10 @@ public class FingerprintKeyerTests extends RefineTest {
             { " d c b a ", "a b c d" },
             { "\tABC \t DEF ", "abc def" }, // test leading and trailing whitespace
             { "bbb\taaa", "aaa bbb" },
+            { "a-b, c.", "ab c" }, // punctuation is removed
+            { "x + y", "+ x y" }, // but not math symbols
+            { "a^b`c", "abc" }, // modifier symbols are removed
+            { "- a", " a" }, // removing punctuation can expose leading whitespace
 //        {"å","aa"}, // Requested by issue #650, but conflicts with diacritic folding
             { "æø", "aeoe" }, // Norwegian replacements from #650
             { "©ß", "css" }, // issue #409 esszet
@@ -0,0 +1,29 @@
+package com.google.refine.clustering.knn;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+public class LevenshteinDistanceTests {
+
+    LevenshteinDistance SUT = new LevenshteinDistance();
+
+    @Test
+    public void testDistance() {
+        assertEquals(SUT.compute("New York", "NewYork"), 1.0);
+        assertEquals(SUT.compute("M. Makeba", "Miriam Makeba"), 5.0);
+        assertEquals(SUT.compute("", "abc"), 3.0);
+        assertEquals(SUT.compute("abc", "abc"), 0.0);
+    }
+
+    @Test
+    public void testBoundedDistance() {
+        assertEquals(SUT.compute("New York", "NewYork", 2.0), 1.0);
+        // the exact distance is 5, only the fact that it exceeds the bound matters
+        assertTrue(SUT.compute("M. Makeba", "Miriam Makeba", 2.0) > 2.0);
+        assertTrue(SUT.compute("a", "abcdef", 1.5) > 1.5);
+        // negative bounds are ignored
+        assertEquals(SUT.compute("M. Makeba", "Miriam Makeba", -1.0), 5.0);
+    }
+}
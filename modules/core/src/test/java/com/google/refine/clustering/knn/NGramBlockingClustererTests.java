@@ -0,0 +1,84 @@
+package com.google.refine.clustering.knn;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.annotations.Test;
+
+import com.google.refine.clustering.knn.NGramBlockingClusterer.BlockingStatistics;
+
+public class NGramBlockingClustererTests {
+
+    @Test
+    public void testClusters() {
+        NGramBlockingClusterer SUT = new NGramBlockingClusterer(new LevenshteinDistance(), 3, 100);
+        List<Set<Serializable>> clusters = SUT.getClusters(
+                new String[] { "New York", "NewYork", "new york", "Boston", "Bostn", "Paris" }, 1.0, 0);
+
+        assertEquals(clusters.size(), 2);
+        assertEquals(clusters.get(0), new HashSet<>(Arrays.asList("New York", "NewYork")));
+        assertEquals(clusters.get(1), new HashSet<>(Arrays.asList("Boston", "Bostn")));
+        assertFalse(SUT.getStatistics().isTimedOut());
+        assertEquals(SUT.getStatistics().getComparedValues(), 6);
+    }
+
+    @Test
+    public void testOversizedBlocksAreSplit() {
+        String[] values = new String[200];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = "common prefix " + i;
+        }
+        values[0] = "common prefx 1";
+
+        NGramBlockingClusterer SUT = new NGramBlockingClusterer(new LevenshteinDistance(), 6, 50);
+        List<Set<Serializable>> clusters = SUT.getClusters(values, 1.0, 0);
+
+        BlockingStatistics statistics = SUT.getStatistics();
+        assertTrue(statistics.getSplitBlocks() > 0);
+        // the block of "common prefix " cannot be split within the maximum extension of its n-gram
+        assertTrue(statistics.getOversizedBlocks() > 0);
+        // "common prefx 1" is in no sub-block of "common pref", so it is compared to all of its values
+        assertTrue(statistics.getUnsplitValues() > 0);
+        assertTrue(clusters.stream().anyMatch(cluster -> cluster.contains("common prefx 1")
+                && cluster.contains("common prefix 1")));
+    }
+
+    @Test
+    public void testOversizedBlocksAreKept() {
+        // these values only share n-grams of the repeated character, even once extended to the maximum
+        String[] values = { "aaaaaaaaaaaa1", "aaaaaaaaaaaa2", "aaaaaaaaaaaa3" };
+        NGramBlockingClusterer SUT = new NGramBlockingClusterer(new LevenshteinDistance(), 1, 2);
+        List<Set<Serializable>> clusters = SUT.getClusters(values, 1.0, 0);
+
+        assertEquals(SUT.getStatistics().getOversizedBlocks(), 1);
+        assertEquals(SUT.getStatistics().getLargestBlock(), 3);
+        assertEquals(clusters.size(), 1);
+        assertEquals(clusters.get(0), new HashSet<>(Arrays.asList((Serializable[]) values)));
+    }
+
+    @Test
+    public void testTimeLimit() {
+        AtomicLong clock = new AtomicLong();
+        // each comparison takes 20ms on this clock
+        SimilarityDistance slowDistance = (a, b) -> {
+            clock.addAndGet(20000000L);
+            return 0;
+        };
+        NGramBlockingClusterer SUT = new NGramBlockingClusterer(slowDistance, 1, 100, clock::get);
+        List<Set<Serializable>> clusters = SUT.getClusters(new String[] { "a", "ab", "abc", "abcd" }, 1.0, 10);
+
+        // the first value is compared to all others before the time limit is reached
+        assertEquals(clusters.size(), 1);
+        assertEquals(clusters.get(0).size(), 4);
+        assertTrue(SUT.getStatistics().isTimedOut());
+        assertEquals(SUT.getStatistics().getComparedValues(), 1);
+    }
+}
@@ -53,9 +53,14 @@ public class kNNClustererTests extends RefineTest {
             + "\"column\":\"values\","
             + "\"params\":{\"radius\":1,\"blocking-ngram-size\":2}"
             + "}";
-    public static String clustererJson = "["
+    public static String clustererJson = "{\"clusters\":["
             + "   [{\"v\":\"ab\",\"c\":1},{\"v\":\"abc\",\"c\":1}]"
-            + "]";
+            + "],"
+            + "\"blockingStatistics\":{"
+            + "   \"values\":4,\"comparedValues\":4,\"blocks\":1,\"largestBlock\":2,"
+            + "   \"splitBlocks\":0,\"oversizedBlocks\":0,\"unsplitValues\":0,\"comparisons\":2,"
+            + "   \"elapsedMillis\":%d,\"timedOut\":false,\"blockSizeHistogram\":{\"2\":1}"
+            + "}}";
 
     @BeforeTest
     public void registerDistance() {
@@ -68,6 +73,18 @@ public class kNNClustererTests extends RefineTest {
         TestUtils.isSerializedTo(config, configJson);
     }
 
+    @Test
+    public void serializeBlockingLimits() throws JsonParseException, JsonMappingException, IOException {
+        String json = "{"
+                + "\"type\":\"knn\","
+                + "\"function\":\"PPM\","
+                + "\"column\":\"values\","
+                + "\"params\":{\"radius\":1,\"blocking-ngram-size\":2,\"max-block-size\":100,\"time-limit\":5000}"
+                + "}";
+        kNNClustererConfig config = ParsingUtilities.mapper.readValue(json, kNNClustererConfig.class);
+        TestUtils.isSerializedTo(config, json);
+    }
+
     @Test
     public void serializekNNClusterer() throws JsonParseException, JsonMappingException, IOException {
         Project project = createProject(
@@ -83,7 +100,9 @@ public class kNNClustererTests extends RefineTest {
         kNNClusterer clusterer = config.apply(project);
         clusterer.computeClusters(new Engine(project));
 
-        TestUtils.isSerializedTo(clusterer, clustererJson);
+        // the only block is the one of the "ab" bigram, the time taken is not predictable
+        long elapsedMillis = clusterer.getBlockingStatistics().getElapsedMillis();
+        TestUtils.isSerializedTo(clusterer, String.format(clustererJson, elapsedMillis));
     }
 
     @Test
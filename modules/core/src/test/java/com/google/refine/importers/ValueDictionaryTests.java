@@ -0,0 +1,72 @@
+package com.google.refine.importers;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+public class ValueDictionaryTests {
+
+    @Test
+    public void testSharesRepeatedStrings() {
+        ValueDictionary dictionary = new ValueDictionary();
+        String first = new String("open");
+        String second = new String("open");
+        assertSame(dictionary.deduplicate(first), first);
+        assertSame(dictionary.deduplicate(second), first);
+        assertEquals(dictionary.getSavedBytes(), ValueDictionary.estimateSize("open"));
+    }
+
+    @Test
+    public void testIgnoresOtherValues() {
+        ValueDictionary dictionary = new ValueDictionary();
+        Long first = Long.valueOf(123456789L);
+        Long second = Long.valueOf(123456789L);
+        dictionary.deduplicate(first);
+        assertSame(dictionary.deduplicate(second), second);
+        assertEquals(dictionary.getSavedBytes(), 0L);
+    }
+
+    @Test
+    public void testKeepsLowCardinalityColumns() {
+        ValueDictionary dictionary = new ValueDictionary();
+        for (int i = 0; i < 100000; i++) {
+            dictionary.deduplicate(Integer.toString(i % 100));
+        }
+        assertTrue(dictionary.isEnabled());
+        assertTrue(dictionary.getSavedBytes() > 0);
+    }
+
+    @Test
+    public void testBacksOffOnHighCardinalityColumns() {
+        ValueDictionary dictionary = new ValueDictionary();
+        for (int i = 0; i < ValueDictionary.SAMPLE_SIZE; i++) {
+            dictionary.deduplicate("value " + i);
+        }
+        assertFalse(dictionary.isEnabled());
+
+        String first = new String("value 0");
+        String second = new String("value 0");
+        dictionary.deduplicate(first);
+        assertNotSame(dictionary.deduplicate(second), first);
+    }
+
+    @Test
+    public void testChecksCardinalityOnRepeatedValues() {
+        ValueDictionary dictionary = new ValueDictionary();
+        int distinct = ValueDictionary.SAMPLE_SIZE * 3 / 4;
+        for (int i = 0; i < distinct; i++) {
+            dictionary.deduplicate("value " + i);
+        }
+        // the value reaching the first checkpoint is a repeated one
+        for (int i = distinct; i < ValueDictionary.SAMPLE_SIZE - 1; i++) {
+            dictionary.deduplicate("value 0");
+        }
+        assertTrue(dictionary.isEnabled());
+        dictionary.deduplicate("value 0");
+        assertFalse(dictionary.isEnabled());
+    }
+}
@@ -0,0 +1,66 @@
+package com.google.refine.importing;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class FileSampleTests {
+
+    File file;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        file = Files.createTempFile("sample", ".csv").toFile();
+        Files.write(file.toPath(), "a,b\n1,2\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void readsWholeSmallFile() throws IOException {
+        FileSample sample = FileSample.read(file, 1024);
+
+        assertTrue(sample.isComplete());
+        assertEquals(sample.size(), 8);
+        assertEquals(IOUtils.toString(sample.openReader("UTF-8")), "a,b\n1,2\n");
+    }
+
+    @Test
+    public void readsPrefixOfLargeFile() throws IOException {
+        FileSample sample = FileSample.read(file, 4);
+
+        assertFalse(sample.isComplete());
+        assertEquals(sample.size(), 4);
+        try (InputStream is = sample.openStream()) {
+            assertEquals(new String(is.readAllBytes(), StandardCharsets.UTF_8), "a,b\n");
+        }
+    }
+
+    @Test
+    public void sharesSampleOfUnmodifiedFile() throws IOException {
+        FileSample sample = FileSample.of(file);
+
+        assertSame(FileSample.of(file), sample);
+
+        Files.write(file.toPath(), "a,b\n1,2\n3,4\n".getBytes(StandardCharsets.UTF_8));
+        FileSample updated = FileSample.of(file);
+        assertNotSame(updated, sample);
+        assertEquals(updated.size(), 12);
+    }
+}
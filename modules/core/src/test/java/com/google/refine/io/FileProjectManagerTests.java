@@ -47,6 +47,9 @@ import org.testng.annotations.Test;
 
 import com.google.refine.ProjectMetadata;
 import com.google.refine.model.Project;
+import com.google.refine.model.Recon;
+import com.google.refine.model.Recon.Judgment;
+import com.google.refine.model.ReconCandidate;
 import com.google.refine.util.ParsingUtilities;
 import com.google.refine.util.TestUtils;
 
@@ -106,6 +109,21 @@ public class FileProjectManagerTests {
         assertEquals(manager.getPreferenceStore().get("testPref"), "Refiné");
     }
 
+    @Test
+    public void saveReloadReconCache() {
+        FileProjectManager manager = new FileProjectManagerStub(workspaceDir);
+        Recon recon = new Recon(1234L, "http://www.wikidata.org/entity/", "http://www.wikidata.org/prop/direct/");
+        recon.judgment = Judgment.Matched;
+        recon.match = new ReconCandidate("Q42", "Douglas Adams", new String[] { "Q5" }, 100.0);
+        manager.getReconCacheManager().put("ns", "Douglas Adams", recon);
+        manager.saveWorkspace();
+
+        manager = new FileProjectManagerStub(workspaceDir);
+        Recon cached = manager.getReconCacheManager().get("ns", "Douglas Adams", 5678L);
+        assertEquals(cached.judgment, Judgment.Matched);
+        assertEquals(cached.match.id, "Q42");
+    }
+
     /**
      * Issue fix Issue #1418 Issue #3719 Issue #3277 deleting the only existing project and saving the workspace should
      * remove the projectID from workspace.json
@@ -29,6 +29,8 @@ package com.google.refine.model;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 
 import edu.mit.simile.butterfly.ButterflyModule;
 import org.testng.annotations.Test;
@@ -80,4 +82,19 @@ public class ColumnTests {
                 + "}}";
         TestUtils.isSerializedTo(Column.load(json), json);
     }
+
+    @Test
+    public void testClearPrecomputesKeepsCellValuePrecomputes() {
+        Column column = new Column(0, "name");
+        Object rowDependent = new Object();
+        Column.CellValuePrecompute valueDependent = new Column.CellValuePrecompute() {
+        };
+        column.setPrecompute("rows", rowDependent);
+        column.setPrecompute("values", valueDependent);
+
+        column.clearPrecomputes();
+
+        assertNull(column.getPrecompute("rows"));
+        assertEquals(column.getPrecompute("values"), valueDependent);
+    }
 }
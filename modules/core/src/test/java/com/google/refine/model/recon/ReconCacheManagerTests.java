@@ -0,0 +1,129 @@
+package com.google.refine.model.recon;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.testng.annotations.Test;
+
+import com.google.refine.model.Recon;
+import com.google.refine.model.Recon.Judgment;
+import com.google.refine.model.ReconCandidate;
+
+public class ReconCacheManagerTests {
+
+    private Recon makeRecon(long historyEntryID) {
+        Recon recon = new Recon(historyEntryID, "http://www.wikidata.org/entity/", "http://www.wikidata.org/prop/direct/");
+        ReconCandidate candidate = new ReconCandidate("Q42", "Douglas Adams", new String[] { "Q5" }, 100.0);
+        recon.addCandidate(candidate);
+        recon.match = candidate;
+        recon.judgment = Judgment.Matched;
+        return recon;
+    }
+
+    @Test
+    public void testGetReturnsFreshCopy() {
+        ReconCacheManager SUT = new ReconCacheManager();
+        Recon recon = makeRecon(1234L);
+        SUT.put("ns", "key", recon);
+
+        Recon cached = SUT.get("ns", "key", 5678L);
+        assertEquals(cached.judgment, Judgment.Matched);
+        assertEquals(cached.match.id, "Q42");
+        assertEquals(cached.judgmentHistoryEntry, 5678L);
+        assertNotEquals(cached.id, recon.id);
+        assertEquals(SUT.getHits(), 1);
+
+        // changes to the cells' recon objects do not affect the cache
+        cached.judgment = Judgment.None;
+        assertEquals(SUT.get("ns", "key", 5678L).judgment, Judgment.Matched);
+    }
+
+    @Test
+    public void testNamespacesAreIsolated() {
+        ReconCacheManager SUT = new ReconCacheManager();
+        SUT.put("ns", "key", makeRecon(1234L));
+
+        assertNull(SUT.get("other ns", "key", 1234L));
+        assertNull(SUT.get(null, "key", 1234L));
+        assertEquals(SUT.getMisses(), 1);
+
+        SUT.flushNamespace("ns");
+        assertNull(SUT.get("ns", "key", 1234L));
+    }
+
+    @Test
+    public void testErrorsAreNotCached() {
+        ReconCacheManager SUT = new ReconCacheManager();
+        Recon recon = new Recon(1234L, null, null);
+        recon.error = "service unavailable";
+        recon.judgment = Judgment.Error;
+        SUT.put("ns", "key", recon);
+
+        assertEquals(SUT.size(), 0);
+    }
+
+    @Test
+    public void testSizeBudget() {
+        ReconCacheManager SUT = new ReconCacheManager(2, ReconCacheManager.DEFAULT_MAX_AGE_MILLIS);
+        SUT.put("ns", "a", makeRecon(1L));
+        SUT.put("ns", "b", makeRecon(1L));
+        SUT.get("ns", "a", 2L);
+        SUT.put("ns", "c", makeRecon(1L));
+
+        assertEquals(SUT.size(), 2);
+        // the least recently used entry was evicted
+        assertNull(SUT.get("ns", "b", 2L));
+        assertNotNull(SUT.get("ns", "a", 2L));
+    }
+
+    @Test
+    public void testMaxAge() throws InterruptedException {
+        ReconCacheManager SUT = new ReconCacheManager(10, 0L);
+        SUT.put("ns", "a", makeRecon(1L));
+        Thread.sleep(5);
+
+        assertNull(SUT.get("ns", "a", 2L));
+        assertEquals(SUT.size(), 0);
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        ReconCacheManager SUT = new ReconCacheManager();
+        SUT.put("ns", "a", makeRecon(1L));
+        SUT.put("ns", "b\nwith \"quotes\"", makeRecon(1L));
+        assertTrue(SUT.isDirty());
+        StringWriter writer = new StringWriter();
+        SUT.save(writer);
+        assertFalse(SUT.isDirty());
+
+        ReconCacheManager loaded = new ReconCacheManager();
+        loaded.load(new StringReader(writer.toString()));
+        assertEquals(loaded.size(), 2);
+        assertFalse(loaded.isDirty());
+        Recon recon = loaded.get("ns", "b\nwith \"quotes\"", 2L);
+        assertEquals(recon.judgment, Judgment.Matched);
+        assertEquals(recon.match.id, "Q42");
+        assertEquals(recon.candidates.size(), 1);
+
+        // stale results are not loaded
+        ReconCacheManager expiring = new ReconCacheManager(10, -1L);
+        expiring.load(new StringReader(writer.toString()));
+        assertEquals(expiring.size(), 0);
+    }
+
+    @Test
+    public void testStandardReconConfigNamespace() {
+        StandardReconConfig config = new StandardReconConfig("http://service", null, null, "Q5", "human", true, null);
+        StandardReconConfig otherType = new StandardReconConfig("http://service", null, null, "Q6", "other", true, null);
+
+        assertNotEquals(config.getCacheNamespace(), otherType.getCacheNamespace());
+    }
+}
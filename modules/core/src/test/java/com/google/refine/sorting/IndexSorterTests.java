@@ -0,0 +1,66 @@
+package com.google.refine.sorting;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.function.IntBinaryOperator;
+
+import org.testng.annotations.Test;
+
+public class IndexSorterTests {
+
+    private static int[] randomKeys(int count, int range, long seed) {
+        Random random = new Random(seed);
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = random.nextInt(range);
+        }
+        return keys;
+    }
+
+    private static int[] expectedOrder(int[] keys) {
+        // Arrays.sort on objects is stable
+        Integer[] positions = new Integer[keys.length];
+        Arrays.setAll(positions, i -> i);
+        Arrays.sort(positions, Comparator.comparingInt(p -> keys[p]));
+        return Arrays.stream(positions).mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    public void testSortIsStable() {
+        int[] keys = randomKeys(1000, 10, 1L);
+        IntBinaryOperator comparator = (p1, p2) -> Integer.compare(keys[p1], keys[p2]);
+
+        assertEquals(IndexSorter.sort(keys.length, comparator, false), expectedOrder(keys));
+    }
+
+    @Test
+    public void testParallelSort() {
+        int[] keys = randomKeys(100000, 1000, 2L);
+        IntBinaryOperator comparator = (p1, p2) -> Integer.compare(keys[p1], keys[p2]);
+
+        assertEquals(IndexSorter.sort(keys.length, comparator, true), expectedOrder(keys));
+    }
+
+    @Test
+    public void testSortFirst() {
+        int[] keys = randomKeys(5000, 50, 3L);
+        IntBinaryOperator comparator = (p1, p2) -> Integer.compare(keys[p1], keys[p2]);
+        int[] expected = expectedOrder(keys);
+
+        for (int limit : new int[] { 0, 1, 20, 500, 5000, 10000 }) {
+            int[] first = IndexSorter.sortFirst(keys.length, limit, comparator);
+            assertEquals(first, Arrays.copyOf(expected, Math.min(limit, keys.length)));
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        IntBinaryOperator comparator = (p1, p2) -> 0;
+
+        assertEquals(IndexSorter.sort(0, comparator, true), new int[0]);
+        assertEquals(IndexSorter.sortFirst(0, 10, comparator), new int[0]);
+    }
+}
@@ -85,6 +85,10 @@ public class ParsingUtilitiesTests extends RefineTest {
         Assert.assertEquals(2017, ParsingUtilities.stringToDate("2017-04-03T08:09:43Z").getYear());
         Assert.assertEquals(2017, ParsingUtilities.stringToDate("2017-04-03T08:09:43.123Z").getYear());
         Assert.assertEquals(2017, ParsingUtilities.stringToDate("2017-04-03T08:09:43+00:00").getYear());
+        Assert.assertNull(ParsingUtilities.stringToDate("2017-04-03"));
+        Assert.assertNull(ParsingUtilities.stringToDate("2017-02-30T08:09:43Z"));
+        Assert.assertNull(ParsingUtilities.stringToDate("2017-04-03T08:09:43Z and more"));
+        Assert.assertNull(ParsingUtilities.stringToDate("not a date"));
     }
 
     @Test
@@ -58,6 +58,11 @@ public class Coalesce implements Function {
         return new EvalError(EvalErrorMessage.expects_at_least_two_args(ControlFunctionRegistry.getFunctionName(this)));
     }
 
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return FunctionDescription.fun_coalesce();
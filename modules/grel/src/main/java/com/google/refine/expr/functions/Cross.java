@@ -33,17 +33,20 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package com.google.refine.expr.functions;
 
+import java.util.Objects;
 import java.util.Properties;
 
 import com.google.refine.LookupCacheManager;
 import com.google.refine.LookupCacheManager.ProjectLookup;
 import com.google.refine.ProjectManager;
 import com.google.refine.expr.EvalError;
+import com.google.refine.expr.ExpressionUtils;
 import com.google.refine.expr.WrappedCell;
 import com.google.refine.grel.ControlFunctionRegistry;
 import com.google.refine.grel.EvalErrorMessage;
 import com.google.refine.grel.Function;
 import com.google.refine.grel.FunctionDescription;
+import com.google.refine.model.Column;
 import com.google.refine.model.Project;
 import com.google.refine.util.GetProjectIDException;
 import com.google.refine.util.LookupException;
@@ -58,6 +61,103 @@ public class Cross implements Function {
 
     @Override
     public Object call(Properties bindings, Object[] args) {
+        Object lookup = getLookup(bindings, args);
+        if (lookup instanceof ProjectLookup) {
+            return ((ProjectLookup) lookup).getRows(getLookupValue(args[0]));
+        }
+        return lookup;
+    }
+
+    /**
+     * Evaluates <code>cross(...).cells.foo.value</code> for a batch of rows, by reading the values of the target column
+     * from the rows of the lookup, without wrapping the matching rows and cells. The lookup is only resolved again when
+     * the project or column arguments change from one row to the next.
+     *
+     * @param argValues
+     *            the values of the arguments of this function, by argument then by row
+     * @param targetColumnName
+     *            the name of the column read in the matching rows
+     * @param rowCount
+     *            the number of rows in the batch
+     * @param results
+     *            where the values read for each row are stored: an array of the values of the matching rows, null if
+     *            there are none, or an error
+     */
+    public void evaluateBatch(Properties bindings, Object[][] argValues, String targetColumnName, int rowCount,
+            Object[] results) {
+        Object[] args = new Object[argValues.length];
+        Object[] lookupArgs = null;
+        Object lookup = null;
+        Project targetProject = null;
+        int targetCellIndex = -1;
+        nextRow: for (int i = 0; i < rowCount; i++) {
+            for (int j = 0; j < args.length; j++) {
+                Object v = argValues[j][i];
+                if (ExpressionUtils.isError(v)) {
+                    results[i] = v; // bubble the error up
+                    continue nextRow;
+                }
+                args[j] = v;
+            }
+
+            if (args.length == 0 || args[0] == null) {
+                results[i] = call(bindings, args);
+                continue;
+            }
+            if (lookupArgs == null || !sameLookupArgs(lookupArgs, args)) {
+                lookup = getLookup(bindings, args);
+                lookupArgs = args.clone();
+                if (lookup instanceof ProjectLookup) {
+                    targetProject = ProjectManager.singleton.getProject(((ProjectLookup) lookup).targetProjectID);
+                    Column column = targetProject != null ? targetProject.columnModel.getColumnByName(targetColumnName)
+                            : null;
+                    targetCellIndex = column != null ? column.getCellIndex() : -1;
+                }
+            }
+
+            if (!(lookup instanceof ProjectLookup)) {
+                results[i] = lookup;
+                continue;
+            }
+            int[] rowIndices = targetProject != null ? ((ProjectLookup) lookup).getRowIndices(getLookupValue(args[0]))
+                    : null;
+            if (rowIndices == null || rowIndices.length == 0) {
+                // no matching rows: there are no cells to read the field from
+                results[i] = null;
+            } else {
+                Object[] values = new Object[rowIndices.length];
+                for (int k = 0; k < rowIndices.length; k++) {
+                    values[k] = targetProject.rows.get(rowIndices[k]).getCellValue(targetCellIndex);
+                }
+                results[i] = values;
+            }
+        }
+    }
+
+    /**
+     * @return whether two argument lists of this function resolve to the same lookup, given that their first arguments
+     *         are not null
+     */
+    static private boolean sameLookupArgs(Object[] args1, Object[] args2) {
+        if (args1.length != args2.length) {
+            return false;
+        }
+        for (int j = 1; j < args1.length; j++) {
+            if (!Objects.equals(args1[j], args2[j])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resolves the lookup a call of this function with the given arguments reads its matching rows from. It only
+     * depends on the first argument through whether it is null, so it can be shared by calls which only differ by the
+     * value they look up.
+     *
+     * @return the {@link ProjectLookup}, or an {@link EvalError} which is the result of the call
+     */
+    public Object getLookup(Properties bindings, Object[] args) {
         if (1 <= args.length && args.length <= 3) {
             // 1st argument can take either value or cell(for backward compatibility)
             Object v = args[0];
@@ -73,7 +173,6 @@ public class Cross implements Function {
             Object targetColumnName = args.length < 3 || "".equals(args[2]) ? LookupCacheManager.INDEX_COLUMN_NAME : args[2];
 
             long targetProjectID;
-            ProjectLookup lookup;
 
             if (v != null && targetProjectName instanceof String && targetColumnName instanceof String) {
                 try {
@@ -84,16 +183,10 @@ public class Cross implements Function {
                 }
 
                 try {
-                    lookup = ProjectManager.singleton.getLookupCacheManager().getLookup(targetProjectID, (String) targetColumnName);
+                    return ProjectManager.singleton.getLookupCacheManager().getLookup(targetProjectID, (String) targetColumnName);
                 } catch (LookupException e) {
                     return new EvalError(e.getMessage());
                 }
-
-                if (v instanceof WrappedCell) {
-                    return lookup.getRows(((WrappedCell) v).cell.value);
-                } else {
-                    return lookup.getRows(v);
-                }
             }
         }
 
@@ -101,6 +194,18 @@ public class Cross implements Function {
         return new EvalError(EvalErrorMessage.fun_cross_expects_value_project_column(ControlFunctionRegistry.getFunctionName(this)));
     }
 
+    /**
+     * @return the value looked up for the first argument of this function, which can be a cell or a value
+     */
+    static public Object getLookupValue(Object v) {
+        return v instanceof WrappedCell ? ((WrappedCell) v).cell.value : v;
+    }
+
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return FunctionDescription.fun_cross();
@@ -85,6 +85,11 @@ public class FacetCount implements Function {
         return new EvalError(EvalErrorMessage.fun_facet_expects_value_expression_column(ControlFunctionRegistry.getFunctionName(this)));
     }
 
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return FunctionDescription.fun_facet_count();
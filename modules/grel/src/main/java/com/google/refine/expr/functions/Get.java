@@ -152,6 +152,11 @@ public class Get implements Function {
         return null;
     }
 
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return FunctionDescription.fun_get();
@@ -61,6 +61,11 @@ public class HasField implements Function {
         return false;
     }
 
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return FunctionDescription.fun_has_field();
@@ -124,6 +124,11 @@ public class Slice implements Function {
         return null;
     }
 
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return FunctionDescription.fun_slice();
@@ -47,6 +47,11 @@ public class TimeSinceUnixEpochToDate implements Function {
         return new EvalError(EvalErrorMessage.fun_time_since_unix_epoch_to_date(ControlFunctionRegistry.getFunctionName(this)));
     }
 
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return FunctionDescription.fun_time_since_unix_epoch_to_date();
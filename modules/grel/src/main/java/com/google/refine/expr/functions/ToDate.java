@@ -38,13 +38,18 @@ import java.text.SimpleDateFormat;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.HashSet;
 import java.util.IllformedLocaleException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.TimeZone;
 
 import com.google.common.base.CharMatcher;
@@ -61,6 +66,27 @@ import com.google.refine.util.ParsingUtilities;
 
 public class ToDate implements Function {
 
+    /**
+     * Maximum number of date formats kept by each thread.
+     */
+    static final int MAX_CACHED_FORMATS = 64;
+
+    // the locales supported by date formats
+    private static final Set<Locale> dateLocales = new HashSet<>(Arrays.asList(DateFormat.getAvailableLocales()));
+
+    // date formats are not thread-safe, so each thread keeps the ones it used last rather than creating them for
+    // every value
+    private static final ThreadLocal<Map<String, DateFormat>> formatters = ThreadLocal
+            .withInitial(() -> new LinkedHashMap<String, DateFormat>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, DateFormat> eldest) {
+                    return size() > MAX_CACHED_FORMATS;
+                }
+            });
+
     @Override
     public Object call(Properties bindings, Object[] args) {
         String o1;
@@ -139,11 +165,9 @@ public class ToDate implements Function {
             try {
                 Locale possibleLocale = new Locale.Builder().setLanguageTag(possibleLanguageTag).build();
                 // Check if it's in our list of supported date locales
-                for (Locale l : DateFormat.getAvailableLocales()) {
-                    if (l.equals(possibleLocale)) {
-                        locale = possibleLocale;
-                        formats.remove(0);
-                    }
+                if (dateLocales.contains(possibleLocale)) {
+                    locale = possibleLocale;
+                    formats.remove(0);
                 }
             } catch (IllformedLocaleException e) {
                 // We ignore this. It PROBABLY means we got a date format string, not a language code,
@@ -161,7 +185,7 @@ public class ToDate implements Function {
         if (formats.size() > 0) {
             for (int i = 0; i < formats.size(); i++) {
                 try {
-                    formatter = new SimpleDateFormat(formats.get(i), locale);
+                    formatter = getFormatter(formats.get(i), locale);
                 } catch (IllegalArgumentException e) {
                     throw new DateFormatException("Unable to parse date format " + formats.get(i));
                 }
@@ -174,7 +198,7 @@ public class ToDate implements Function {
         date = ParsingUtilities.stringToDate(o1);
         if (date != null) {
             return date;
-        } else {
+        } else if (mayBeXmlDateTime(o1)) {
             try {
                 Calendar parsedDate = javax.xml.bind.DatatypeConverter.parseDateTime(o1);
                 int offsetMillis = parsedDate.getTimeZone().getOffset(parsedDate.getTimeInMillis());
@@ -183,11 +207,37 @@ public class ToDate implements Function {
                 return null;
             }
         }
+        return null;
+    }
+
+    /**
+     * @return a date format in the UTC time zone, shared with the previous calls from the same thread
+     * @throws IllegalArgumentException
+     *             if the format is not valid
+     */
+    static DateFormat getFormatter(String format, Locale locale) {
+        Map<String, DateFormat> cache = formatters.get();
+        String key = locale + "\u0000" + format;
+        DateFormat formatter = cache.get(key);
+        if (formatter == null) {
+            formatter = new SimpleDateFormat(format, locale);
+            formatter.setTimeZone(TimeZone.getTimeZone("Z"));
+            cache.put(key, formatter);
+        }
+        return formatter;
+    }
+
+    /**
+     * Checks the first character of a string, to only try parsing it as an XML Schema date time, which throws an
+     * exception when it fails, if it starts with a year.
+     */
+    private static boolean mayBeXmlDateTime(String s) {
+        String trimmed = s.trim();
+        return !trimmed.isEmpty() && (Character.isDigit(trimmed.charAt(0)) || trimmed.charAt(0) == '-');
     }
 
     private OffsetDateTime parse(String o1, DateFormat formatter) {
         try {
-            formatter.setTimeZone(TimeZone.getTimeZone("Z"));
             Date date = formatter.parse(o1);
             GregorianCalendar c = new GregorianCalendar();
             c.setTime(date);
@@ -197,6 +247,11 @@ public class ToDate implements Function {
         }
     }
 
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return FunctionDescription.fun_to_date();
@@ -45,6 +45,11 @@ public class ArgsToArray implements Function {
         return args;
     }
 
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return FunctionDescription.arr_args_to_array();
@@ -141,6 +141,11 @@ public class DatePart implements Function {
         }
     }
 
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return FunctionDescription.date_part();
@@ -50,6 +50,11 @@ public class Now implements Function {
         return null;
     }
 
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return FunctionDescription.date_now();
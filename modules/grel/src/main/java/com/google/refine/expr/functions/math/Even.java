@@ -56,6 +56,11 @@ public class Even implements Function {
         return ((temp % 2) == 0) ? temp : temp + 1;
     }
 
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return FunctionDescription.math_even();
@@ -55,6 +55,11 @@ public class GreatestCommonDenominator implements Function {
         return b == 0 ? a : GCD(b, a % b);
     }
 
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return FunctionDescription.math_gcd();
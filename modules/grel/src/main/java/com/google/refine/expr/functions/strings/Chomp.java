@@ -54,6 +54,11 @@ public class Chomp implements Function {
         return null;
     }
 
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return FunctionDescription.str_chomp();
@@ -65,6 +65,11 @@ public class LevenshteinDistance implements Function {
         return new EvalError(EvalErrorMessage.expects_two_strings(ControlFunctionRegistry.getFunctionName(this)));
     }
 
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return "Calculate the number of edits required to make one value match another.";
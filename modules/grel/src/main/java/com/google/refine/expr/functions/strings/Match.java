@@ -36,12 +36,14 @@ package com.google.refine.expr.functions.strings;
 import java.util.Properties;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import com.google.refine.expr.EvalError;
 import com.google.refine.grel.ControlFunctionRegistry;
 import com.google.refine.grel.EvalErrorMessage;
 import com.google.refine.grel.Function;
 import com.google.refine.grel.FunctionDescription;
+import com.google.refine.grel.PatternCache;
 
 public class Match implements Function {
 
@@ -53,7 +55,7 @@ public class Match implements Function {
 
             if (s != null && p != null && (p instanceof String || p instanceof Pattern)) {
 
-                Pattern pattern = (p instanceof String) ? Pattern.compile((String) p) : (Pattern) p;
+                Pattern pattern = (p instanceof String) ? PatternCache.compile((String) p) : (Pattern) p;
 
                 Matcher matcher = pattern.matcher(s.toString());
 
@@ -76,6 +78,27 @@ public class Match implements Function {
         return new EvalError(EvalErrorMessage.expects_one_regex(ControlFunctionRegistry.getFunctionName(this)));
     }
 
+    /**
+     * Compiles a regular expression passed as a string literal when the expression is parsed, so that it is not looked
+     * up for each row.
+     */
+    @Override
+    public Object foldLiteralArgument(int index, int argCount, Object value) {
+        if (index == 1 && argCount == 2 && value instanceof String) {
+            try {
+                return Pattern.compile((String) value);
+            } catch (PatternSyntaxException e) {
+                // reported when the function is evaluated
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return FunctionDescription.str_match();
@@ -100,6 +100,11 @@ public class Reinterpret implements Function {
         return result;
     }
 
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return FunctionDescription.str_reinterpret();
@@ -65,6 +65,11 @@ public class Replace implements Function {
         return new EvalError(EvalErrorMessage.expects_three_strings_as_string_regex_string(ControlFunctionRegistry.getFunctionName(this)));
     }
 
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return FunctionDescription.str_replace();
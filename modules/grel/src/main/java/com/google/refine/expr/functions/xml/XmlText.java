@@ -66,6 +66,11 @@ public class XmlText implements Function {
                 new Type().call(bindings, args)));
     }
 
+    @Override
+    public boolean isRowIndependent() {
+        return true;
+    }
+
     @Override
     public String getDescription() {
         return FunctionDescription.xml_xmltext();
@@ -35,6 +35,7 @@ package com.google.refine.grel;
 
 import java.util.Properties;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -58,4 +59,32 @@ public interface Function {
 
     @JsonProperty("returns")
     public String getReturns();
+
+    /**
+     * Whether the result of this function only depends on its arguments and on the project, and not on the row being
+     * evaluated, which a function could otherwise read from the bindings. Calls to such functions can be evaluated on a
+     * batch of rows without binding each row in turn. Only override this after checking that the function does not
+     * read any row variable.
+     */
+    @JsonIgnore
+    default public boolean isRowIndependent() {
+        return false;
+    }
+
+    /**
+     * Called when an expression is parsed, for each argument of a call to this function which is a literal, so that
+     * the function can convert it once to a form which is cheaper to evaluate for each row, such as a compiled regular
+     * expression. The converted value must be accepted by {@link #call(Properties, Object[])} in place of the literal.
+     *
+     * @param index
+     *            the position of the argument in the call
+     * @param argCount
+     *            the number of arguments of the call
+     * @param value
+     *            the value of the literal
+     * @return the value to pass to the function instead of the literal, or the literal itself to keep it
+     */
+    default public Object foldLiteralArgument(int index, int argCount, Object value) {
+        return value;
+    }
 }
@@ -238,7 +238,7 @@ public class Parser {
                     }
                     eval = new ControlCallExpr(argsA, c, text);
                 } else {
-                    eval = new FunctionCallExpr(makeArray(args), f, text, false);
+                    eval = new FunctionCallExpr(foldArguments(f, makeArray(args)), f, text, false);
                 }
             }
         } else if (_token.type == TokenType.Delimiter && _token.text.equals("(")) {
@@ -285,7 +285,7 @@ public class Parser {
                     List<Evaluable> args = parseExpressionList(")");
                     args.add(0, eval);
 
-                    eval = new FunctionCallExpr(makeArray(args), f, identifier, true);
+                    eval = new FunctionCallExpr(foldArguments(f, makeArray(args)), f, identifier, true);
                 } else {
                     eval = new FieldAccessorExpr(eval, identifier);
                 }
@@ -336,6 +336,25 @@ public class Parser {
         return l;
     }
 
+    /**
+     * Lets the function precompute its literal arguments once, when the expression is parsed, rather than for each row.
+     * The source of the literals is kept.
+     *
+     * @see Function#foldLiteralArgument(int, int, Object)
+     */
+    protected Evaluable[] foldArguments(Function f, Evaluable[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof LiteralExpr) {
+                Object value = args[i].evaluate(null);
+                Object folded = f.foldLiteralArgument(i, args.length, value);
+                if (folded != value) {
+                    args[i] = new LiteralExpr(folded, args[i].toString());
+                }
+            }
+        }
+        return args;
+    }
+
     protected Evaluable[] makeArray(List<Evaluable> l) {
         Evaluable[] a = new Evaluable[l.size()];
         l.toArray(a);
@@ -0,0 +1,38 @@
+package com.google.refine.grel;
+
+import java.util.regex.Pattern;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Compiled regular expressions shared by the GREL functions which accept regular expressions as strings, so that an
+ * expression evaluated on each row of a project does not compile the same pattern again for every row.
+ * <p>
+ * The cache is bounded and can be used from several threads.
+ */
+public class PatternCache {
+
+    /**
+     * Maximum number of patterns kept.
+     */
+    static final int MAX_SIZE = 256;
+
+    private static final Cache<String, Pattern> patterns = CacheBuilder.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .build();
+
+    /**
+     * @return the compiled pattern, which is shared with the other callers compiling the same regular expression
+     * @throws java.util.regex.PatternSyntaxException
+     *             if the regular expression is not valid
+     */
+    public static Pattern compile(String regex) {
+        Pattern pattern = patterns.getIfPresent(regex);
+        if (pattern == null) {
+            pattern = Pattern.compile(regex);
+            patterns.put(regex, pattern);
+        }
+        return pattern;
+    }
+}
@@ -8,6 +8,7 @@ import java.util.Properties;
 import java.util.Set;
 
 import com.google.refine.expr.Evaluable;
+import com.google.refine.expr.RowBatch;
 
 /**
  * An AST node which represents a bracketed expression. This is introduced to enable faithful printing of a parsed
@@ -30,6 +31,16 @@ public class BracketedExpr extends GrelExpr {
         return inner.evaluate(bindings);
     }
 
+    @Override
+    boolean isBatchable() {
+        return isBatchable(inner);
+    }
+
+    @Override
+    void evaluateColumn(Properties bindings, RowBatch rows, String columnName, int cellIndex, Object[] results) {
+        ((GrelExpr) inner).evaluateColumn(bindings, rows, columnName, cellIndex, results);
+    }
+
     @Override
     public Optional<Set<String>> getColumnDependencies(Optional<String> baseColumn) {
         return inner.getColumnDependencies(baseColumn);
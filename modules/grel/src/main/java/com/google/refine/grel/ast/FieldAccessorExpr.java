@@ -46,7 +46,13 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.refine.expr.Evaluable;
 import com.google.refine.expr.ExpressionUtils;
 import com.google.refine.expr.HasFields;
+import com.google.refine.expr.RowBatch;
+import com.google.refine.expr.functions.Cross;
+import com.google.refine.expr.functions.Get;
 import com.google.refine.expr.util.JsonValueConverter;
+import com.google.refine.model.Cell;
+import com.google.refine.model.Column;
+import com.google.refine.model.Project;
 
 /**
  * An abstract syntax tree node encapsulating a field accessor, e.g., "cell.value" is accessing the field named "value"
@@ -64,7 +70,85 @@ public class FieldAccessorExpr extends GrelExpr {
 
     @Override
     public Object evaluate(Properties bindings) {
-        Object o = _inner.evaluate(bindings);
+        return access(_inner.evaluate(bindings), bindings);
+    }
+
+    @Override
+    boolean isBatchable() {
+        return isBatchable(_inner);
+    }
+
+    @Override
+    void evaluateColumn(Properties bindings, RowBatch rows, String columnName, int cellIndex, Object[] results) {
+        Evaluable cellTuple = "value".equals(_fieldName) ? getCellTuple(_inner) : null;
+        FunctionCallExpr crossCall = getCrossCall(cellTuple);
+        if (new VariableExpr("cells").equals(cellTuple)) {
+            // cells.foo.value or cells["foo"].value: read the values from the rows without wrapping the cells
+            Project project = (Project) bindings.get("project");
+            Column column = project.columnModel.getColumnByName(getCellTupleColumnName(_inner));
+            int referencedCellIndex = column != null ? column.getCellIndex() : -1;
+            for (int i = 0; i < rows.size(); i++) {
+                Cell cell = rows.getCell(i, referencedCellIndex);
+                results[i] = cell != null ? cell.value : null;
+            }
+        } else if (crossCall != null) {
+            // cross(...).cells.foo.value: let cross() read the values from the matching rows
+            Object[][] argValues = new Object[crossCall._args.length][];
+            for (int j = 0; j < crossCall._args.length; j++) {
+                argValues[j] = evaluateColumn(crossCall._args[j], bindings, rows, columnName, cellIndex);
+            }
+            String targetColumnName = getCellTupleColumnName(_inner);
+            ((Cross) crossCall._function).evaluateBatch(bindings, argValues, targetColumnName, rows.size(), results);
+        } else {
+            Object[] values = evaluateColumn(_inner, bindings, rows, columnName, cellIndex);
+            for (int i = 0; i < values.length; i++) {
+                results[i] = access(values[i], bindings);
+            }
+        }
+    }
+
+    /**
+     * @return the expression the cell tuple is read from if the expression is <code>x.foo</code> or
+     *         <code>x["foo"]</code>, null otherwise
+     */
+    static private Evaluable getCellTuple(Evaluable expr) {
+        if (expr instanceof FieldAccessorExpr) {
+            return ((FieldAccessorExpr) expr)._inner;
+        } else if (expr instanceof FunctionCallExpr) {
+            FunctionCallExpr call = (FunctionCallExpr) expr;
+            if (call._function instanceof Get && call._args.length == 2 &&
+                    call._args[1] instanceof LiteralExpr && ((LiteralExpr) call._args[1])._value instanceof String) {
+                return call._args[0];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the name of the column read by an expression for which {@link #getCellTuple(Evaluable)} is not null
+     */
+    static private String getCellTupleColumnName(Evaluable expr) {
+        if (expr instanceof FieldAccessorExpr) {
+            return ((FieldAccessorExpr) expr)._fieldName;
+        } else {
+            return (String) ((LiteralExpr) ((FunctionCallExpr) expr)._args[1])._value;
+        }
+    }
+
+    /**
+     * @return the call to cross() if the expression is <code>cross(...).cells</code>, null otherwise
+     */
+    static private FunctionCallExpr getCrossCall(Evaluable expr) {
+        if (expr instanceof FieldAccessorExpr && "cells".equals(((FieldAccessorExpr) expr)._fieldName)) {
+            Evaluable inner = ((FieldAccessorExpr) expr)._inner;
+            if (inner instanceof FunctionCallExpr && ((FunctionCallExpr) inner)._function instanceof Cross) {
+                return (FunctionCallExpr) inner;
+            }
+        }
+        return null;
+    }
+
+    private Object access(Object o, Properties bindings) {
         if (ExpressionUtils.isError(o)) {
             return o; // bubble the error up
         } else if (o == null) {
@@ -48,6 +48,7 @@ import org.apache.commons.lang3.Validate;
 import com.google.refine.expr.EvalError;
 import com.google.refine.expr.Evaluable;
 import com.google.refine.expr.ExpressionUtils;
+import com.google.refine.expr.RowBatch;
 import com.google.refine.expr.functions.Get;
 import com.google.refine.grel.Function;
 
@@ -112,6 +113,44 @@ public class FunctionCallExpr extends GrelExpr {
         }
     }
 
+    @Override
+    boolean isBatchable() {
+        if (!_function.isRowIndependent()) {
+            return false;
+        }
+        for (Evaluable arg : _args) {
+            if (!isBatchable(arg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    void evaluateColumn(Properties bindings, RowBatch rows, String columnName, int cellIndex, Object[] results) {
+        Object[][] argValues = new Object[_args.length][];
+        for (int j = 0; j < _args.length; j++) {
+            argValues[j] = evaluateColumn(_args[j], bindings, rows, columnName, cellIndex);
+        }
+
+        nextRow: for (int i = 0; i < rows.size(); i++) {
+            Object[] args = new Object[_args.length];
+            for (int j = 0; j < _args.length; j++) {
+                Object v = argValues[j][i];
+                if (ExpressionUtils.isError(v)) {
+                    results[i] = v;
+                    continue nextRow;
+                }
+                args[j] = v;
+            }
+            try {
+                results[i] = _function.call(bindings, args);
+            } catch (Exception e) {
+                results[i] = new EvalError(e);
+            }
+        }
+    }
+
     @Override
     public final Optional<Set<String>> getColumnDependencies(Optional<String> baseColumn) {
         // special case to handle "get(cells, "foo")" which only depends on the "foo" column
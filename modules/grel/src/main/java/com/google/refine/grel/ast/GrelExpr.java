@@ -1,10 +1,11 @@
-
 package com.google.refine.grel.ast;
 
 import java.util.Map;
+import java.util.Properties;
 
 import com.google.refine.expr.Evaluable;
 import com.google.refine.expr.MetaParser;
+import com.google.refine.expr.RowBatch;
 
 abstract class GrelExpr implements Evaluable {
 
@@ -21,4 +22,46 @@ abstract class GrelExpr implements Evaluable {
     // make sure all subclasses implement this method
     @Override
     public abstract Evaluable renameColumnDependencies(Map<String, String> substitutions);
+
+    @Override
+    public void evaluateBatch(Properties bindings, RowBatch rows, String columnName, int cellIndex, Object[] results) {
+        if (isBatchable()) {
+            evaluateColumn(bindings, rows, columnName, cellIndex, results);
+        } else {
+            Evaluable.super.evaluateBatch(bindings, rows, columnName, cellIndex, results);
+        }
+    }
+
+    /**
+     * Whether {@link #evaluateColumn(Properties, RowBatch, String, int, Object[])} can be used on this expression, that
+     * is to say whether it can be evaluated on a batch of rows without binding each of them. This is not the case for
+     * expressions which read variables set by controls or by binders, or which call functions that are not
+     * {@link com.google.refine.grel.Function#isRowIndependent() row independent}.
+     */
+    boolean isBatchable() {
+        return false;
+    }
+
+    /**
+     * Evaluates this expression on each row of the batch, computing the values of the row variables it uses directly
+     * from the batch. Expressions which override {@link #isBatchable()} override this method too: by default, each
+     * row is bound and evaluated in turn.
+     */
+    void evaluateColumn(Properties bindings, RowBatch rows, String columnName, int cellIndex, Object[] results) {
+        Evaluable.super.evaluateBatch(bindings, rows, columnName, cellIndex, results);
+    }
+
+    static boolean isBatchable(Evaluable evaluable) {
+        return evaluable instanceof GrelExpr && ((GrelExpr) evaluable).isBatchable();
+    }
+
+    /**
+     * Evaluates a batchable sub-expression on each row of the batch.
+     */
+    static Object[] evaluateColumn(Evaluable evaluable, Properties bindings, RowBatch rows, String columnName,
+            int cellIndex) {
+        Object[] values = new Object[rows.size()];
+        ((GrelExpr) evaluable).evaluateColumn(bindings, rows, columnName, cellIndex, values);
+        return values;
+    }
 }
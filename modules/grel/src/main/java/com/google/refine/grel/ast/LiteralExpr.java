@@ -33,6 +33,7 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package com.google.refine.grel.ast;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
@@ -43,6 +44,7 @@ import java.util.Set;
 import com.fasterxml.jackson.databind.node.TextNode;
 
 import com.google.refine.expr.Evaluable;
+import com.google.refine.expr.RowBatch;
 
 /**
  * An abstract syntax tree node encapsulating a literal value.
@@ -75,6 +77,16 @@ public class LiteralExpr extends GrelExpr {
         return _value;
     }
 
+    @Override
+    boolean isBatchable() {
+        return true;
+    }
+
+    @Override
+    void evaluateColumn(Properties bindings, RowBatch rows, String columnName, int cellIndex, Object[] results) {
+        Arrays.fill(results, 0, rows.size(), _value);
+    }
+
     @Override
     public Optional<Set<String>> getColumnDependencies(Optional<String> baseColumn) {
         return Optional.of(Collections.emptySet());
@@ -44,6 +44,7 @@ import java.util.Set;
 
 import com.google.refine.expr.Evaluable;
 import com.google.refine.expr.ExpressionUtils;
+import com.google.refine.expr.RowBatch;
 
 /**
  * An abstract syntax tree node encapsulating an operator call, such as "+".
@@ -68,7 +69,42 @@ public class OperatorCallExpr extends GrelExpr {
             }
             args[i] = v;
         }
+        return apply(args);
+    }
+
+    @Override
+    boolean isBatchable() {
+        for (Evaluable arg : _args) {
+            if (!isBatchable(arg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    void evaluateColumn(Properties bindings, RowBatch rows, String columnName, int cellIndex, Object[] results) {
+        Object[][] argValues = new Object[_args.length][];
+        for (int j = 0; j < _args.length; j++) {
+            argValues[j] = evaluateColumn(_args[j], bindings, rows, columnName, cellIndex);
+        }
+
+        // the arguments are not retained by apply(), so the same array can be used for all rows
+        Object[] args = new Object[_args.length];
+        nextRow: for (int i = 0; i < rows.size(); i++) {
+            for (int j = 0; j < _args.length; j++) {
+                Object v = argValues[j][i];
+                if (ExpressionUtils.isError(v)) {
+                    results[i] = v;
+                    continue nextRow;
+                }
+                args[j] = v;
+            }
+            results[i] = apply(args);
+        }
+    }
 
+    private Object apply(Object[] args) {
         if (args.length == 2) {
             if (args[0] != null && args[1] != null) {
                 if (isIntegral(args[0]) && isIntegral(args[1])) {
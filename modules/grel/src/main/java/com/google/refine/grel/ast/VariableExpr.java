@@ -33,19 +33,33 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package com.google.refine.grel.ast;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 
+import com.google.refine.expr.CellTuple;
 import com.google.refine.expr.Evaluable;
+import com.google.refine.expr.RowBatch;
+import com.google.refine.expr.WrappedCell;
+import com.google.refine.expr.WrappedRow;
+import com.google.refine.model.Cell;
+import com.google.refine.model.Project;
 
 /**
  * An abstract syntax tree node encapsulating the retrieval of a variable's content.
  */
 public class VariableExpr extends GrelExpr {
 
+    /**
+     * The variables which can be computed from a batch of rows, either because they are bound for each row by
+     * {@link com.google.refine.expr.ExpressionUtils#bind} or because they are the same for all rows of the project.
+     */
+    static final private Set<String> s_batchableNames = Set.of(
+            "value", "cell", "cells", "row", "rowIndex", "columnName", "true", "false", "PI", "project");
+
     final protected String _name;
 
     public VariableExpr(String name) {
@@ -61,6 +75,44 @@ public class VariableExpr extends GrelExpr {
         return bindings.get(_name);
     }
 
+    @Override
+    boolean isBatchable() {
+        return s_batchableNames.contains(_name);
+    }
+
+    @Override
+    void evaluateColumn(Properties bindings, RowBatch rows, String columnName, int cellIndex, Object[] results) {
+        Project project = (Project) bindings.get("project");
+        int size = rows.size();
+        if ("value".equals(_name)) {
+            for (int i = 0; i < size; i++) {
+                Cell cell = rows.getCell(i, cellIndex);
+                results[i] = cell != null ? cell.value : null;
+            }
+        } else if ("cell".equals(_name)) {
+            for (int i = 0; i < size; i++) {
+                Cell cell = rows.getCell(i, cellIndex);
+                results[i] = cell != null ? new WrappedCell(project, columnName, cell) : null;
+            }
+        } else if ("cells".equals(_name)) {
+            for (int i = 0; i < size; i++) {
+                results[i] = new CellTuple(project, rows.getRow(i));
+            }
+        } else if ("row".equals(_name)) {
+            for (int i = 0; i < size; i++) {
+                results[i] = new WrappedRow(project, rows.getRowIndex(i), rows.getRow(i));
+            }
+        } else if ("rowIndex".equals(_name)) {
+            for (int i = 0; i < size; i++) {
+                results[i] = rows.getRowIndex(i);
+            }
+        } else if ("columnName".equals(_name) && columnName != null) {
+            Arrays.fill(results, 0, size, columnName);
+        } else {
+            Arrays.fill(results, 0, size, bindings.get(_name));
+        }
+    }
+
     @Override
     public Optional<Set<String>> getColumnDependencies(Optional<String> baseColumn) {
         if (("value".equals(_name) || "cell".equals(_name) || "recon".equals(_name)) && baseColumn.isPresent()) {
@@ -40,7 +40,11 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import com.google.refine.expr.EvalError;
+import com.google.refine.expr.Evaluable;
+import com.google.refine.expr.ExpressionUtils;
 import com.google.refine.expr.HasFieldsListImpl;
+import com.google.refine.expr.MetaParser;
+import com.google.refine.expr.RowBatch;
 import com.google.refine.expr.WrappedCell;
 import com.google.refine.expr.WrappedRow;
 import com.google.refine.grel.EvalErrorMessage;
@@ -406,4 +410,45 @@ public class CrossTests extends GrelTestBase {
         assertEquals(((EvalError) invoke("cross", "dummy", 1.0, 1)).message, ERROR_MSG);
     }
 
+    @Test
+    public void crossFunctionBatchEvaluation() throws Exception {
+        RowBatch rows = new RowBatch();
+        for (int i = 0; i < projectGift.rows.size(); i++) {
+            rows.add(i, projectGift.rows.get(i));
+        }
+        int cellIndex = projectGift.columnModel.getColumnByName("recipient").getCellIndex();
+
+        String tests[] = {
+                "value.cross('My Address Book', 'friend').cells['address'].value",
+                "cell.cross('My Address Book', 'friend').cells.address.value",
+                "value.cross('My Address Book', 'friend').cells['address'].value[0]",
+                "value.cross('My Address Book', 'friend').cells.missing.value",
+                "cells.gift.value.cross('My Address Book', 'friend').cells.address.value",
+                "rowIndex.cross().cells.gift.value",
+                "value.cross('No Such Project', 'friend').cells.address.value",
+                "value.cross('My Address Book', 'missing').cells.address.value",
+                "value.cross('My Address Book', 1).cells.address.value",
+        };
+        for (String test : tests) {
+            Evaluable eval = MetaParser.parse("grel:" + test);
+            Object[] results = new Object[rows.size()];
+            eval.evaluateBatch(ExpressionUtils.createBindings(projectGift), rows, "recipient", cellIndex, results);
+
+            for (int i = 0; i < rows.size(); i++) {
+                Properties rowBindings = ExpressionUtils.createBindings(projectGift);
+                rows.bind(rowBindings, i, "recipient", cellIndex);
+                Object expected = eval.evaluate(rowBindings);
+                String message = "for expression: " + test + " on row " + i;
+                if (expected instanceof EvalError) {
+                    Assert.assertTrue(results[i] instanceof EvalError, message);
+                    assertEquals(((EvalError) results[i]).message, ((EvalError) expected).message, message);
+                } else if (expected instanceof Object[]) {
+                    assertEquals((Object[]) results[i], (Object[]) expected, message);
+                } else {
+                    assertEquals(results[i], expected, message);
+                }
+            }
+        }
+    }
+
 }
@@ -107,4 +107,13 @@ public class ToDateTests extends GrelTestBase {
         }
     }
 
+    @Test
+    public void testToDateWithCachedFormats() throws CalendarParserException {
+        // the same format is used with several locales, and again after a value it could not parse
+        assertEquals(invoke("toDate", "01-juin-2013", "fr", "dd-MMM-yyyy"), CalendarParser.parseAsOffsetDateTime("2013-06-01"));
+        assertEquals(invoke("toDate", "01-Jun-2013", "en", "dd-MMM-yyyy"), CalendarParser.parseAsOffsetDateTime("2013-06-01"));
+        assertTrue(invoke("toDate", "not a date", "en", "dd-MMM-yyyy") instanceof EvalError);
+        assertEquals(invoke("toDate", "02-Jun-2013", "en", "dd-MMM-yyyy"), CalendarParser.parseAsOffsetDateTime("2013-06-02"));
+    }
+
 }
@@ -37,6 +37,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.fail;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Optional;
@@ -54,6 +55,7 @@ import com.google.refine.expr.Evaluable;
 import com.google.refine.expr.ExpressionUtils;
 import com.google.refine.expr.MetaParser;
 import com.google.refine.expr.ParsingException;
+import com.google.refine.expr.RowBatch;
 import com.google.refine.model.Project;
 
 public class GrelTests extends GrelTestBase {
@@ -344,6 +346,110 @@ public class GrelTests extends GrelTestBase {
         }
     }
 
+    @Test
+    public void testMatchWithStringLiteralRegex() throws ParsingException {
+        String test = "value.match('a(.)c')";
+        Evaluable eval = MetaParser.parse("grel:" + test);
+        assertEquals(eval.getSource(), test);
+        assertEquals(MetaParser.parse(eval.getSource()), eval);
+
+        bindings.put("value", "abc");
+        Assert.assertEquals((Object[]) eval.evaluate(bindings), new String[] { "b" });
+        bindings.put("value", "abd");
+        Assert.assertNull(eval.evaluate(bindings));
+
+        // invalid regular expressions are still reported when evaluating
+        Evaluable invalid = MetaParser.parse("grel:value.match('(')");
+        Assert.assertTrue(invalid.evaluate(bindings) instanceof EvalError);
+    }
+
+    @Test
+    public void testEvaluateBatch() throws ParsingException {
+        Project project = createProject(new String[] { "a", "b" },
+                new Serializable[][] {
+                        { "foo", 1 },
+                        { null, 2 },
+                        { "Bar", null },
+                        { "", 3.5 },
+                });
+        RowBatch rows = new RowBatch();
+        for (int i = 0; i < project.rows.size(); i++) {
+            rows.add(i, project.rows.get(i));
+        }
+
+        String tests[] = {
+                "value",
+                "cell.value",
+                "value.toUppercase()",
+                "cells.b.value * 2",
+                "cells['b'].value + 1",
+                "(cells.b.value + 1) / 2",
+                "value + '-' + rowIndex + '-' + columnName",
+                "[value, cells.a.value, row.index].join(',')",
+                "value.match('(.)ar')",
+                "1 + 2",
+                // not evaluated natively
+                "if(isBlank(value), 'blank', value)",
+                "with(cells.b.value, x, x * 3)",
+        };
+        for (String test : tests) {
+            Evaluable eval = MetaParser.parse("grel:" + test);
+            Object[] results = new Object[rows.size()];
+            eval.evaluateBatch(ExpressionUtils.createBindings(project), rows, "a", 0, results);
+
+            for (int i = 0; i < rows.size(); i++) {
+                Properties rowBindings = ExpressionUtils.createBindings(project);
+                rows.bind(rowBindings, i, "a", 0);
+                Object expected = eval.evaluate(rowBindings);
+                String message = "for expression: " + test + " on row " + i;
+                if (expected instanceof EvalError) {
+                    Assert.assertTrue(results[i] instanceof EvalError, message);
+                } else if (expected instanceof Object[]) {
+                    Assert.assertEquals((Object[]) results[i], (Object[]) expected, message);
+                } else {
+                    Assert.assertEquals(results[i], expected, message);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testEvaluateBatchWithRowDependentFunction() throws ParsingException {
+        // like functions contributed by extensions, this function reads the current row from the bindings
+        ControlFunctionRegistry.registerFunction("testBoundValue", new Function() {
+
+            @Override
+            public Object call(Properties bindings, Object[] args) {
+                return bindings.get("value");
+            }
+
+            @Override
+            public String getDescription() {
+                return "Returns the value bound for the current row";
+            }
+
+            @Override
+            public String getReturns() {
+                return "string";
+            }
+        });
+        Project project = createProject(new String[] { "a" },
+                new Serializable[][] {
+                        { "foo" },
+                        { "bar" },
+                });
+        RowBatch rows = new RowBatch();
+        for (int i = 0; i < project.rows.size(); i++) {
+            rows.add(i, project.rows.get(i));
+        }
+
+        Evaluable eval = MetaParser.parse("grel:testBoundValue() + '-' + value.toUppercase()");
+        Object[] results = new Object[rows.size()];
+        eval.evaluateBatch(ExpressionUtils.createBindings(project), rows, "a", 0, results);
+
+        assertEquals(results, new Object[] { "foo-FOO", "bar-BAR" });
+    }
+
     @Test
     public void testGetters() throws ParsingException {
         Evaluable evaluable = MetaParser.parse("grel:value + \" foo\"");
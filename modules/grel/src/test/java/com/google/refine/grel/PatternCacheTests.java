@@ -0,0 +1,26 @@
+package com.google.refine.grel;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertThrows;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.testng.annotations.Test;
+
+public class PatternCacheTests {
+
+    @Test
+    public void sharesCompiledPatterns() {
+        Pattern pattern = PatternCache.compile("a+b");
+
+        assertEquals(pattern.pattern(), "a+b");
+        assertSame(PatternCache.compile("a+b"), pattern);
+    }
+
+    @Test
+    public void rejectsInvalidPatterns() {
+        assertThrows(PatternSyntaxException.class, () -> PatternCache.compile("("));
+    }
+}